@@ -0,0 +1,75 @@
+package art.boyko.fiatlux.core.energy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * One balancing step over many networks, through the serial path the mod used before and the fork-join path
+ * it uses now. {@code threads} 0 is the serial path; other values are the fork-join pool size, which shows how
+ * the parallel path scales across cores. Run with {@code gradlew :core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnergyNetworkSolverBenchmark {
+    // Same values as the mod's energy storage block
+    private static final int CAPACITY = 100000;
+    private static final int MAX_TRANSFER = 1000;
+
+    @Param({"1000", "10000"})
+    public int networks;
+
+    @Param({"16"})
+    public int cells;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private List<EnergyNetworkSnapshot> snapshots;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(28);
+        snapshots = new ArrayList<>(networks);
+        for (int n = 0; n < networks; n++) {
+            long[] positions = new long[cells];
+            int[] stored = new int[cells];
+            int[] capacity = new int[cells];
+            for (int c = 0; c < cells; c++) {
+                positions[c] = c;
+                stored[c] = random.nextInt(CAPACITY + 1);
+                capacity[c] = CAPACITY;
+            }
+            snapshots.add(new EnergyNetworkSnapshot(positions, stored, capacity, MAX_TRANSFER, MAX_TRANSFER));
+        }
+        pool = threads > 0 ? new ForkJoinPool(threads) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    // Solving is pure, so every invocation balances the same snapshots
+    @Benchmark
+    public int[][] solve() {
+        return pool == null ? EnergyNetworkSolver.solveSerial(snapshots) : EnergyNetworkSolver.solveParallel(snapshots, pool);
+    }
+}
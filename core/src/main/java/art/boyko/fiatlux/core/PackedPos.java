@@ -0,0 +1,54 @@
+package art.boyko.fiatlux.core;
+
+/**
+ * Block positions packed into a long, bit-compatible with Minecraft's {@code BlockPos.asLong}:
+ * 26 bits x, 26 bits z, 12 bits y.
+ */
+public final class PackedPos {
+    private static final int BITS_X = 26;
+    private static final int BITS_Z = 26;
+    private static final int BITS_Y = 12;
+    private static final long MASK_X = (1L << BITS_X) - 1;
+    private static final long MASK_Y = (1L << BITS_Y) - 1;
+    private static final long MASK_Z = (1L << BITS_Z) - 1;
+    private static final int OFFSET_Z = BITS_Y;
+    private static final int OFFSET_X = BITS_Y + BITS_Z;
+
+    // Offsets of the six face neighbours: down, up, north, south, west, east
+    private static final int[][] FACES = {{0, -1, 0}, {0, 1, 0}, {0, 0, -1}, {0, 0, 1}, {-1, 0, 0}, {1, 0, 0}};
+
+    private PackedPos() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((x & MASK_X) << OFFSET_X) | ((z & MASK_Z) << OFFSET_Z) | (y & MASK_Y);
+    }
+
+    public static int getX(long pos) {
+        return (int) (pos << (64 - OFFSET_X - BITS_X) >> (64 - BITS_X));
+    }
+
+    public static int getY(long pos) {
+        return (int) (pos << (64 - BITS_Y) >> (64 - BITS_Y));
+    }
+
+    public static int getZ(long pos) {
+        return (int) (pos << (64 - OFFSET_Z - BITS_Z) >> (64 - BITS_Z));
+    }
+
+    public static long offset(long pos, int dx, int dy, int dz) {
+        return pack(getX(pos) + dx, getY(pos) + dy, getZ(pos) + dz);
+    }
+
+    /**
+     * Returns the face neighbour of {@code pos} in direction {@code face} (0-5, Minecraft's direction order).
+     */
+    public static long neighbour(long pos, int face) {
+        int[] offset = FACES[face];
+        return offset(pos, offset[0], offset[1], offset[2]);
+    }
+
+    public static int faceCount() {
+        return FACES.length;
+    }
+}
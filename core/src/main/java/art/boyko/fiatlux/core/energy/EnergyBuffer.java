@@ -0,0 +1,62 @@
+package art.boyko.fiatlux.core.energy;
+
+/**
+ * Energy stored in one cell, with per-operation transfer limits.
+ */
+public class EnergyBuffer {
+    private final int capacity;
+    private final int maxReceive;
+    private final int maxExtract;
+    private int stored;
+
+    public EnergyBuffer(int capacity, int maxReceive, int maxExtract) {
+        this.capacity = capacity;
+        this.maxReceive = maxReceive;
+        this.maxExtract = maxExtract;
+    }
+
+    public int getStored() {
+        return stored;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxReceive() {
+        return maxReceive;
+    }
+
+    public int getMaxExtract() {
+        return maxExtract;
+    }
+
+    /**
+     * Sets the stored energy directly, clamped to the capacity and bypassing transfer limits.
+     */
+    public void setStored(int energy) {
+        stored = Math.max(0, Math.min(capacity, energy));
+    }
+
+    /**
+     * @return the energy accepted, limited by free space and the receive rate
+     */
+    public int receive(int amount, boolean simulate) {
+        int received = Math.max(0, Math.min(capacity - stored, Math.min(maxReceive, amount)));
+        if (!simulate) {
+            stored += received;
+        }
+        return received;
+    }
+
+    /**
+     * @return the energy removed, limited by the stored energy and the extract rate
+     */
+    public int extract(int amount, boolean simulate) {
+        int extracted = Math.max(0, Math.min(stored, Math.min(maxExtract, amount)));
+        if (!simulate) {
+            stored -= extracted;
+        }
+        return extracted;
+    }
+}
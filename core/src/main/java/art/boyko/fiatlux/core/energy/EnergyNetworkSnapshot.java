@@ -0,0 +1,18 @@
+package art.boyko.fiatlux.core.energy;
+
+/**
+ * Immutable view of one energy network, captured on the thread that owns the cells.
+ * The arrays are owned by the snapshot and must not be modified after creation.
+ *
+ * @param positions  packed member positions, sorted ascending
+ * @param stored     energy stored in each member
+ * @param capacity   maximum energy of each member
+ * @param maxReceive per-member receive limit per tick
+ * @param maxExtract per-member extract limit per tick
+ */
+public record EnergyNetworkSnapshot(long[] positions, int[] stored, int[] capacity, int maxReceive, int maxExtract) {
+
+    public int size() {
+        return positions.length;
+    }
+}
@@ -0,0 +1,151 @@
+package art.boyko.fiatlux.core.energy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes one balancing step for energy networks.
+ * Solving is a pure function of the snapshot, so the serial and parallel paths produce identical results.
+ */
+public class EnergyNetworkSolver {
+    // Below this many networks per task, forking costs more than it saves
+    private static final int SPLIT_THRESHOLD = 64;
+
+    private static ForkJoinPool pool;
+
+    /**
+     * Moves energy towards an equal fill ratio across the network, limited by each member's transfer rates.
+     * Donors and receivers are served in position order, which keeps the result deterministic.
+     *
+     * @return the new stored value of each member, or {@code null} if nothing changes
+     */
+    public static int[] solve(EnergyNetworkSnapshot snapshot) {
+        int size = snapshot.size();
+        if (size < 2) {
+            return null;
+        }
+
+        int[] stored = snapshot.stored();
+        int[] capacity = snapshot.capacity();
+        long totalStored = 0;
+        long totalCapacity = 0;
+        for (int i = 0; i < size; i++) {
+            totalStored += stored[i];
+            totalCapacity += capacity[i];
+        }
+        if (totalCapacity == 0) {
+            return null;
+        }
+
+        // Clamped surplus (positive) or deficit (negative) of each member relative to its fair share
+        long[] delta = new long[size];
+        long surplus = 0;
+        long deficit = 0;
+        for (int i = 0; i < size; i++) {
+            long target = totalStored * capacity[i] / totalCapacity;
+            long d = stored[i] - target;
+            if (d > 0) {
+                d = Math.min(d, snapshot.maxExtract());
+                surplus += d;
+            } else if (d < 0) {
+                d = -Math.min(-d, snapshot.maxReceive());
+                deficit -= d;
+            }
+            delta[i] = d;
+        }
+
+        long flow = Math.min(surplus, deficit);
+        if (flow == 0) {
+            return null;
+        }
+
+        int[] result = Arrays.copyOf(stored, size);
+        long toExtract = flow;
+        long toInsert = flow;
+        for (int i = 0; i < size && (toExtract > 0 || toInsert > 0); i++) {
+            if (delta[i] > 0 && toExtract > 0) {
+                long moved = Math.min(delta[i], toExtract);
+                result[i] -= (int) moved;
+                toExtract -= moved;
+            } else if (delta[i] < 0 && toInsert > 0) {
+                long moved = Math.min(-delta[i], toInsert);
+                result[i] += (int) moved;
+                toInsert -= moved;
+            }
+        }
+        return result;
+    }
+
+    public static int[][] solveSerial(List<EnergyNetworkSnapshot> snapshots) {
+        int[][] results = new int[snapshots.size()][];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = solve(snapshots.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Solves all networks on the shared fork-join pool. Each network writes only its own result slot,
+     * so no synchronization is needed beyond the join.
+     */
+    public static int[][] solveParallel(List<EnergyNetworkSnapshot> snapshots) {
+        return solveParallel(snapshots, getPool());
+    }
+
+    /**
+     * Solves all networks on the given pool, e.g. to compare pool sizes.
+     */
+    public static int[][] solveParallel(List<EnergyNetworkSnapshot> snapshots, ForkJoinPool pool) {
+        int[][] results = new int[snapshots.size()][];
+        pool.invoke(new SolveTask(snapshots, results, 0, results.length));
+        return results;
+    }
+
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("FiatLux-EnergySolver-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    private static class SolveTask extends RecursiveAction {
+        private final List<EnergyNetworkSnapshot> snapshots;
+        private final int[][] results;
+        private final int from;
+        private final int to;
+
+        SolveTask(List<EnergyNetworkSnapshot> snapshots, int[][] results, int from, int to) {
+            this.snapshots = snapshots;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = solve(snapshots.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SolveTask(snapshots, results, from, mid), new SolveTask(snapshots, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package art.boyko.fiatlux.core.energy;
+
+/**
+ * Passive behaviour of an energy cell: it generates energy at a fixed interval while below one threshold
+ * and decays at another interval while above a second threshold. Evaluated in closed form, so a cell
+ * never needs to tick.
+ *
+ * @param capacity            maximum energy of the cell
+ * @param generationThreshold generation happens while the energy is below this
+ * @param generationInterval  ticks between generation steps
+ * @param generationAmount    energy added per generation step
+ * @param decayThreshold      decay happens while the energy is above this
+ * @param decayInterval       ticks between decay steps
+ * @param decayAmount         energy removed per decay step
+ */
+public record PassiveEnergyModel(int capacity, int generationThreshold, int generationInterval, int generationAmount,
+                                 int decayThreshold, int decayInterval, int decayAmount) {
+
+    /**
+     * Energy after passive behaviour between two game times: the number of generation or decay steps is the
+     * number of interval boundaries crossed, capped by the steps needed to reach the threshold.
+     */
+    public int evaluate(int energy, long from, long to) {
+        if (energy < generationThreshold) {
+            long needed = (generationThreshold - energy + generationAmount - 1) / generationAmount;
+            long steps = Math.min(needed, intervalsBetween(from, to, generationInterval));
+            return (int) Math.min(capacity, energy + steps * generationAmount);
+        }
+        if (energy > decayThreshold) {
+            long needed = (energy - decayThreshold + decayAmount - 1) / decayAmount;
+            long steps = Math.min(needed, intervalsBetween(from, to, decayInterval));
+            return (int) Math.max(0, energy - steps * decayAmount);
+        }
+        return energy;
+    }
+
+    /**
+     * Ticks after which passive behaviour has reached its threshold from any energy level.
+     */
+    public long horizon() {
+        long generation = (long) (generationThreshold / generationAmount + 1) * generationInterval;
+        long decay = (long) (capacity / decayAmount + 1) * decayInterval;
+        return Math.max(generation, decay);
+    }
+
+    // Number of multiples of interval in (from, to]
+    private static long intervalsBetween(long from, long to, int interval) {
+        return Math.floorDiv(to, interval) - Math.floorDiv(from, interval);
+    }
+}
@@ -0,0 +1,60 @@
+package art.boyko.fiatlux.core.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import art.boyko.fiatlux.core.PackedPos;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+/**
+ * Connectivity of blocks on the grid, where two nodes are connected if they share a face.
+ */
+public final class GridTopology {
+
+    private GridTopology() {
+    }
+
+    /**
+     * Splits the nodes into face-connected components by breadth-first flood fill.
+     *
+     * @param nodes   packed positions of all nodes
+     * @param minSize smallest component to return; smaller ones are left out
+     * @return the members of each component, sorted ascending
+     */
+    public static List<long[]> connectedComponents(LongSet nodes, int minSize) {
+        List<long[]> components = new ArrayList<>();
+        LongOpenHashSet visited = new LongOpenHashSet(nodes.size());
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+
+        LongIterator starts = nodes.iterator();
+        while (starts.hasNext()) {
+            long start = starts.nextLong();
+            if (!visited.add(start)) {
+                continue;
+            }
+            LongArrayList members = new LongArrayList();
+            queue.enqueue(start);
+            while (!queue.isEmpty()) {
+                long current = queue.dequeueLong();
+                members.add(current);
+                for (int face = 0; face < PackedPos.faceCount(); face++) {
+                    long neighbour = PackedPos.neighbour(current, face);
+                    if (nodes.contains(neighbour) && visited.add(neighbour)) {
+                        queue.enqueue(neighbour);
+                    }
+                }
+            }
+            if (members.size() >= minSize) {
+                long[] sorted = members.toLongArray();
+                Arrays.sort(sorted);
+                components.add(sorted);
+            }
+        }
+        return components;
+    }
+}
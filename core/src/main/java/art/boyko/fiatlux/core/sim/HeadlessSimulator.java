@@ -0,0 +1,130 @@
+package art.boyko.fiatlux.core.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import art.boyko.fiatlux.core.energy.EnergyBuffer;
+import art.boyko.fiatlux.core.energy.EnergyNetworkSnapshot;
+import art.boyko.fiatlux.core.energy.EnergyNetworkSolver;
+import art.boyko.fiatlux.core.energy.PassiveEnergyModel;
+
+/**
+ * Runs energy networks without a game for capacity planning. Each tick, every network gets one generator
+ * and one consumer event on random cells, passive behaviour is applied, and the network is balanced
+ * with the same solver the mod uses.
+ * <pre>
+ * HeadlessSimulator [--networks N] [--cells M] [--ticks T] [--load FE] [--seed S] [--parallel]
+ * </pre>
+ */
+public final class HeadlessSimulator {
+    // Same values as the mod's energy storage block
+    private static final int CAPACITY = 100000;
+    private static final int MAX_RECEIVE = 1000;
+    private static final int MAX_EXTRACT = 1000;
+    private static final PassiveEnergyModel PASSIVE =
+            new PassiveEnergyModel(CAPACITY, CAPACITY / 4, 20, 10, CAPACITY * 3 / 4, 40, 5);
+
+    private final EnergyBuffer[][] networks;
+    private final long[][] positions;
+    private final SplittableRandom random;
+    private final int load;
+    private final boolean parallel;
+    private long tick = 0;
+    private long generated = 0;
+    private long consumed = 0;
+
+    public HeadlessSimulator(int networkCount, int cellsPerNetwork, int load, long seed, boolean parallel) {
+        this.random = new SplittableRandom(seed);
+        this.load = load;
+        this.parallel = parallel;
+        this.networks = new EnergyBuffer[networkCount][cellsPerNetwork];
+        this.positions = new long[networkCount][cellsPerNetwork];
+        for (int n = 0; n < networkCount; n++) {
+            for (int c = 0; c < cellsPerNetwork; c++) {
+                EnergyBuffer buffer = new EnergyBuffer(CAPACITY, MAX_RECEIVE, MAX_EXTRACT);
+                buffer.setStored(random.nextInt(CAPACITY + 1));
+                networks[n][c] = buffer;
+                positions[n][c] = c;
+            }
+        }
+    }
+
+    public void tick() {
+        tick++;
+        List<EnergyNetworkSnapshot> snapshots = new ArrayList<>(networks.length);
+        for (int n = 0; n < networks.length; n++) {
+            EnergyBuffer[] cells = networks[n];
+            generated += cells[random.nextInt(cells.length)].receive(load, false);
+            consumed += cells[random.nextInt(cells.length)].extract(load, false);
+
+            int[] stored = new int[cells.length];
+            int[] capacity = new int[cells.length];
+            for (int c = 0; c < cells.length; c++) {
+                cells[c].setStored(PASSIVE.evaluate(cells[c].getStored(), tick - 1, tick));
+                stored[c] = cells[c].getStored();
+                capacity[c] = cells[c].getCapacity();
+            }
+            snapshots.add(new EnergyNetworkSnapshot(positions[n], stored, capacity, MAX_RECEIVE, MAX_EXTRACT));
+        }
+
+        int[][] results = parallel ? EnergyNetworkSolver.solveParallel(snapshots) : EnergyNetworkSolver.solveSerial(snapshots);
+        for (int n = 0; n < results.length; n++) {
+            if (results[n] != null) {
+                for (int c = 0; c < results[n].length; c++) {
+                    networks[n][c].setStored(results[n][c]);
+                }
+            }
+        }
+    }
+
+    public long getTotalStored() {
+        long total = 0;
+        for (EnergyBuffer[] cells : networks) {
+            for (EnergyBuffer cell : cells) {
+                total += cell.getStored();
+            }
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        int networkCount = 1000;
+        int cellsPerNetwork = 16;
+        long ticks = 10000;
+        int load = 500;
+        long seed = 1;
+        boolean parallel = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--networks" -> networkCount = Integer.parseInt(args[++i]);
+                case "--cells" -> cellsPerNetwork = Integer.parseInt(args[++i]);
+                case "--ticks" -> ticks = Long.parseLong(args[++i]);
+                case "--load" -> load = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--parallel" -> parallel = true;
+                default -> {
+                    System.err.println("Usage: HeadlessSimulator [--networks N] [--cells M] [--ticks T] [--load FE] [--seed S] [--parallel]");
+                    System.exit(1);
+                }
+            }
+        }
+
+        HeadlessSimulator simulator = new HeadlessSimulator(networkCount, cellsPerNetwork, load, seed, parallel);
+        long initial = simulator.getTotalStored();
+        long start = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            simulator.tick();
+        }
+        long elapsed = System.nanoTime() - start;
+        EnergyNetworkSolver.shutdown();
+
+        double seconds = elapsed / 1e9;
+        long capacity = (long) networkCount * cellsPerNetwork * CAPACITY;
+        System.out.printf("%d networks x %d cells, %d ticks in %.3f s%n", networkCount, cellsPerNetwork, ticks, seconds);
+        System.out.printf("%.0f ticks/s, %.0f network-ticks/s%n", ticks / seconds, ticks * (double) networkCount / seconds);
+        System.out.printf("Stored: %d -> %d of %d FE (%.1f%%)%n", initial, simulator.getTotalStored(), capacity,
+                100.0 * simulator.getTotalStored() / capacity);
+        System.out.printf("Generated %d FE, consumed %d FE%n", simulator.generated, simulator.consumed);
+    }
+}
@@ -0,0 +1,141 @@
+package art.boyko.fiatlux.core.storage;
+
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+
+/**
+ * Counts per item type with a shared capacity across all types. Types keep their insertion order.
+ *
+ * @param <K> item type key; must implement {@code equals} and {@code hashCode}
+ */
+public class CountStore<K> {
+    private final Object2LongLinkedOpenHashMap<K> counts = new Object2LongLinkedOpenHashMap<>();
+    private final long capacity;
+    private long total = 0;
+    // Bumped on every change / only when a type appears or disappears
+    private int version = 0;
+    private int typesVersion = 0;
+    private TypeListener<K> listener = TypeListener.none();
+
+    /**
+     * Notified when a type appears in or disappears from the store.
+     */
+    public interface TypeListener<K> {
+        void onTypeAdded(K key);
+
+        void onTypeRemoved(K key);
+
+        static <K> TypeListener<K> none() {
+            return new TypeListener<>() {
+                @Override
+                public void onTypeAdded(K key) {
+                }
+
+                @Override
+                public void onTypeRemoved(K key) {
+                }
+            };
+        }
+    }
+
+    public CountStore(long capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setListener(TypeListener<K> listener) {
+        this.listener = listener;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getFree() {
+        return Math.max(0, capacity - total);
+    }
+
+    public int getTypeCount() {
+        return counts.size();
+    }
+
+    public long getCount(K key) {
+        return counts.getLong(key);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getTypesVersion() {
+        return typesVersion;
+    }
+
+    public Object2LongMap<K> getCounts() {
+        return Object2LongMaps.unmodifiable(counts);
+    }
+
+    /**
+     * @return the amount accepted, limited by the free capacity
+     */
+    public long insert(K key, long amount, boolean simulate) {
+        long accepted = Math.min(amount, getFree());
+        if (accepted <= 0) {
+            return 0;
+        }
+        if (!simulate) {
+            long before = counts.getLong(key);
+            counts.put(key, before + accepted);
+            total += accepted;
+            version++;
+            if (before == 0) {
+                typesVersion++;
+                listener.onTypeAdded(key);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * @return the amount removed, limited by the stored count of the type
+     */
+    public long extract(K key, long amount, boolean simulate) {
+        long available = counts.getLong(key);
+        long extracted = Math.min(available, amount);
+        if (extracted <= 0) {
+            return 0;
+        }
+        if (!simulate) {
+            if (available == extracted) {
+                counts.removeLong(key);
+                typesVersion++;
+                listener.onTypeRemoved(key);
+            } else {
+                counts.put(key, available - extracted);
+            }
+            total -= extracted;
+            version++;
+        }
+        return extracted;
+    }
+
+    /**
+     * Replaces the contents, e.g. when loading. Does not notify the listener and ignores the capacity.
+     */
+    public void replaceAll(Object2LongMap<K> contents) {
+        counts.clear();
+        total = 0;
+        for (Object2LongMap.Entry<K> entry : contents.object2LongEntrySet()) {
+            if (entry.getLongValue() > 0) {
+                counts.addTo(entry.getKey(), entry.getLongValue());
+                total += entry.getLongValue();
+            }
+        }
+        version++;
+        typesVersion++;
+    }
+}
@@ -0,0 +1,38 @@
+package art.boyko.fiatlux.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+
+class PackedPosTest {
+
+    @Property
+    void packRoundTrips(@ForAll @IntRange(min = -(1 << 25), max = (1 << 25) - 1) int x,
+                        @ForAll @IntRange(min = -2048, max = 2047) int y,
+                        @ForAll @IntRange(min = -(1 << 25), max = (1 << 25) - 1) int z) {
+        long pos = PackedPos.pack(x, y, z);
+        assertEquals(x, PackedPos.getX(pos));
+        assertEquals(y, PackedPos.getY(pos));
+        assertEquals(z, PackedPos.getZ(pos));
+    }
+
+    // Faces come in opposite pairs (down/up, north/south, west/east), as in Minecraft's direction order
+    @Property
+    void neighbourOfNeighbourIsSelf(@ForAll @IntRange(min = -30000000, max = 30000000) int x,
+                                    @ForAll @IntRange(min = -2000, max = 2000) int y,
+                                    @ForAll @IntRange(min = -30000000, max = 30000000) int z,
+                                    @ForAll @IntRange(min = 0, max = 5) int face) {
+        long pos = PackedPos.pack(x, y, z);
+        assertEquals(pos, PackedPos.neighbour(PackedPos.neighbour(pos, face), face ^ 1));
+    }
+
+    // Same bits as BlockPos.asLong: x in the top 26 bits, then z, then y in the low 12
+    @Example
+    void matchesMinecraftLayout() {
+        assertEquals((1L << 38) | (3L << 12) | 2L, PackedPos.pack(1, 2, 3));
+        assertEquals(-1L, PackedPos.pack(-1, -1, -1));
+    }
+}
@@ -0,0 +1,35 @@
+package art.boyko.fiatlux.core.energy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class EnergyBufferTest {
+
+    @Test
+    void transfersAreLimitedPerCall() {
+        EnergyBuffer buffer = new EnergyBuffer(5000, 1000, 400);
+        assertEquals(1000, buffer.receive(3000, false));
+        assertEquals(400, buffer.extract(3000, false));
+        assertEquals(600, buffer.getStored());
+    }
+
+    @Test
+    void simulateDoesNotChangeStoredEnergy() {
+        EnergyBuffer buffer = new EnergyBuffer(5000, 1000, 1000);
+        buffer.setStored(2500);
+        assertEquals(1000, buffer.receive(1000, true));
+        assertEquals(1000, buffer.extract(1000, true));
+        assertEquals(2500, buffer.getStored());
+    }
+
+    @Test
+    void setStoredClampsToCapacity() {
+        EnergyBuffer buffer = new EnergyBuffer(5000, 1000, 1000);
+        buffer.setStored(9000);
+        assertEquals(5000, buffer.getStored());
+        assertEquals(0, buffer.receive(100, false));
+        buffer.setStored(-5);
+        assertEquals(0, buffer.getStored());
+    }
+}
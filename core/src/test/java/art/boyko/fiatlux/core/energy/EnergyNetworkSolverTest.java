@@ -0,0 +1,102 @@
+package art.boyko.fiatlux.core.energy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.lifecycle.AfterContainer;
+
+class EnergyNetworkSolverTest {
+
+    @AfterContainer
+    static void shutdownPool() {
+        EnergyNetworkSolver.shutdown();
+    }
+
+    @Property
+    void conservesEnergy(@ForAll("networks") EnergyNetworkSnapshot snapshot) {
+        int[] result = EnergyNetworkSolver.solve(snapshot);
+        if (result != null) {
+            assertEquals(sum(snapshot.stored()), sum(result));
+        }
+    }
+
+    @Property
+    void respectsCapacityAndTransferLimits(@ForAll("networks") EnergyNetworkSnapshot snapshot) {
+        int[] result = EnergyNetworkSolver.solve(snapshot);
+        if (result == null) {
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            int change = result[i] - snapshot.stored()[i];
+            assertTrue(result[i] >= 0 && result[i] <= snapshot.capacity()[i], "member " + i + " out of bounds");
+            assertTrue(change <= snapshot.maxReceive() && -change <= snapshot.maxExtract(), "member " + i + " moved too much");
+        }
+    }
+
+    @Property(tries = 50)
+    void parallelMatchesSerial(@ForAll("networkLists") List<EnergyNetworkSnapshot> snapshots) {
+        int[][] serial = EnergyNetworkSolver.solveSerial(snapshots);
+        int[][] parallel = EnergyNetworkSolver.solveParallel(snapshots);
+        assertEquals(serial.length, parallel.length);
+        for (int i = 0; i < serial.length; i++) {
+            assertArrayEquals(serial[i], parallel[i], "network " + i);
+        }
+    }
+
+    @Example
+    void movesTowardsEqualFill() {
+        EnergyNetworkSnapshot snapshot = new EnergyNetworkSnapshot(
+                new long[]{1, 2}, new int[]{1000, 0}, new int[]{1000, 1000}, 100, 100);
+        assertArrayEquals(new int[]{900, 100}, EnergyNetworkSolver.solve(snapshot));
+    }
+
+    @Example
+    void balancedNetworkIsUnchanged() {
+        EnergyNetworkSnapshot snapshot = new EnergyNetworkSnapshot(
+                new long[]{1, 2, 3}, new int[]{500, 500, 1000}, new int[]{1000, 1000, 2000}, 100, 100);
+        assertNull(EnergyNetworkSolver.solve(snapshot));
+    }
+
+    @Provide
+    Arbitrary<EnergyNetworkSnapshot> networks() {
+        return Arbitraries.integers().between(0, 40).flatMap(size -> Combinators.combine(
+                Arbitraries.integers().between(1, 100000).array(int[].class).ofSize(size),
+                Arbitraries.doubles().between(0, 1).array(double[].class).ofSize(size),
+                Arbitraries.integers().between(1, 5000),
+                Arbitraries.integers().between(1, 5000)
+        ).as((capacity, fill, maxReceive, maxExtract) -> {
+            long[] positions = new long[size];
+            int[] stored = new int[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = i;
+                stored[i] = (int) (capacity[i] * fill[i]);
+            }
+            return new EnergyNetworkSnapshot(positions, stored, capacity, maxReceive, maxExtract);
+        }));
+    }
+
+    // Enough networks to cross the parallel split threshold
+    @Provide
+    Arbitrary<List<EnergyNetworkSnapshot>> networkLists() {
+        return networks().list().ofMaxSize(300);
+    }
+
+    private static long sum(int[] values) {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
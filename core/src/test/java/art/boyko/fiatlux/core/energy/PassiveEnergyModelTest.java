@@ -0,0 +1,86 @@
+package art.boyko.fiatlux.core.energy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+
+class PassiveEnergyModelTest {
+    // The model the energy cell uses
+    private static final PassiveEnergyModel CELL = new PassiveEnergyModel(100000, 25000, 20, 10, 75000, 40, 5);
+
+    @Property
+    void closedFormMatchesTickLoop(@ForAll("models") PassiveEnergyModel model,
+                                   @ForAll @IntRange(min = 0, max = 1000) int fill,
+                                   @ForAll @LongRange(min = -1000, max = 1000000) long from,
+                                   @ForAll @IntRange(min = 0, max = 5000) int ticks) {
+        int energy = (int) ((long) model.capacity() * fill / 1000);
+        assertEquals(tickLoop(model, energy, from, from + ticks), model.evaluate(energy, from, from + ticks));
+    }
+
+    // Lazy evaluation relies on evaluating in pieces giving the same result as evaluating at once
+    @Property
+    void evaluationComposes(@ForAll("models") PassiveEnergyModel model,
+                            @ForAll @IntRange(min = 0, max = 1000) int fill,
+                            @ForAll @LongRange(min = 0, max = 1000000) long from,
+                            @ForAll @IntRange(min = 0, max = 5000) int first,
+                            @ForAll @IntRange(min = 0, max = 5000) int second) {
+        int energy = (int) ((long) model.capacity() * fill / 1000);
+        long middle = from + first;
+        long to = middle + second;
+        assertEquals(model.evaluate(energy, from, to), model.evaluate(model.evaluate(energy, from, middle), middle, to));
+    }
+
+    @Property
+    void cellModelMatchesTickLoop(@ForAll @IntRange(min = 0, max = 100000) int energy,
+                                  @ForAll @LongRange(min = 0, max = 1000000) long from,
+                                  @ForAll @IntRange(min = 0, max = 20000) int ticks) {
+        assertEquals(tickLoop(CELL, energy, from, from + ticks), CELL.evaluate(energy, from, from + ticks));
+    }
+
+    @Example
+    void reachesThresholdWithinHorizon() {
+        assertEquals(25000, CELL.evaluate(0, 0, CELL.horizon()));
+        assertEquals(75000, CELL.evaluate(100000, 0, CELL.horizon()));
+    }
+
+    /**
+     * Thresholds are kept far enough apart that one generation or decay step never crosses into the other
+     * band, which the cell's model also guarantees.
+     */
+    @Provide
+    Arbitrary<PassiveEnergyModel> models() {
+        return Combinators.combine(
+                Arbitraries.integers().between(100, 200000),
+                Arbitraries.integers().between(1, 100),
+                Arbitraries.integers().between(1, 1000),
+                Arbitraries.integers().between(1, 100),
+                Arbitraries.integers().between(1, 1000)
+        ).as((capacity, generationInterval, generationAmount, decayInterval, decayAmount) -> {
+            int generationThreshold = capacity / 4;
+            int decayThreshold = capacity * 3 / 4;
+            int amountLimit = Math.max(1, (decayThreshold - generationThreshold) / 2);
+            return new PassiveEnergyModel(capacity, generationThreshold, generationInterval,
+                    Math.min(generationAmount, amountLimit), decayThreshold, decayInterval, Math.min(decayAmount, amountLimit));
+        });
+    }
+
+    // Reference behaviour: one step at every interval boundary in (from, to] while outside the thresholds
+    private static int tickLoop(PassiveEnergyModel model, int energy, long from, long to) {
+        for (long tick = from + 1; tick <= to; tick++) {
+            if (energy < model.generationThreshold() && Math.floorMod(tick, model.generationInterval()) == 0) {
+                energy = Math.min(model.capacity(), energy + model.generationAmount());
+            } else if (energy > model.decayThreshold() && Math.floorMod(tick, model.decayInterval()) == 0) {
+                energy = Math.max(0, energy - model.decayAmount());
+            }
+        }
+        return energy;
+    }
+}
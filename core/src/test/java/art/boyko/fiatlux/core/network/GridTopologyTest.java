@@ -0,0 +1,109 @@
+package art.boyko.fiatlux.core.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import art.boyko.fiatlux.core.PackedPos;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+class GridTopologyTest {
+
+    @Property
+    void componentsPartitionTheNodes(@ForAll("nodes") LongSet nodes) {
+        List<long[]> components = GridTopology.connectedComponents(nodes, 1);
+        LongOpenHashSet seen = new LongOpenHashSet();
+        for (long[] component : components) {
+            for (int i = 0; i < component.length; i++) {
+                assertTrue(nodes.contains(component[i]), "component holds a position that is not a node");
+                assertTrue(seen.add(component[i]), "node in more than one component");
+                assertTrue(i == 0 || component[i - 1] < component[i], "component is not sorted");
+            }
+        }
+        assertEquals(nodes.size(), seen.size());
+    }
+
+    @Property
+    void componentsAreConnectedAndSeparate(@ForAll("nodes") LongSet nodes) {
+        List<long[]> components = GridTopology.connectedComponents(nodes, 1);
+        Long2IntOpenHashMap componentOf = new Long2IntOpenHashMap();
+        for (int c = 0; c < components.size(); c++) {
+            for (long node : components.get(c)) {
+                componentOf.put(node, c);
+            }
+        }
+        for (int c = 0; c < components.size(); c++) {
+            long[] component = components.get(c);
+            // Every face neighbour that is a node belongs to the same component
+            for (long node : component) {
+                for (int face = 0; face < PackedPos.faceCount(); face++) {
+                    long neighbour = PackedPos.neighbour(node, face);
+                    if (nodes.contains(neighbour)) {
+                        assertEquals(c, componentOf.get(neighbour));
+                    }
+                }
+            }
+            // And the whole component is reachable from its first member without leaving it
+            assertEquals(component.length, reachable(component[0], LongOpenHashSet.of(component)));
+        }
+    }
+
+    @Property
+    void smallComponentsAreLeftOut(@ForAll("nodes") LongSet nodes, @ForAll @IntRange(min = 1, max = 8) int minSize) {
+        List<long[]> all = GridTopology.connectedComponents(nodes, 1);
+        List<long[]> filtered = GridTopology.connectedComponents(nodes, minSize);
+        assertEquals(all.stream().filter(component -> component.length >= minSize).count(), filtered.size());
+        filtered.forEach(component -> assertTrue(component.length >= minSize));
+    }
+
+    @Example
+    void diagonalNodesAreNotConnected() {
+        LongSet nodes = LongOpenHashSet.of(PackedPos.pack(0, 0, 0), PackedPos.pack(1, 1, 0), PackedPos.pack(1, 0, 0));
+        assertEquals(1, GridTopology.connectedComponents(nodes, 1).size());
+        nodes.remove(PackedPos.pack(1, 0, 0));
+        assertEquals(2, GridTopology.connectedComponents(nodes, 1).size());
+        assertTrue(GridTopology.connectedComponents(nodes, 2).isEmpty());
+    }
+
+    // Random subsets of a small cube, dense enough to form both large and single-node components
+    @Provide
+    Arbitrary<LongSet> nodes() {
+        Arbitrary<Long> position = Arbitraries.integers().between(0, 6 * 6 * 6 - 1)
+                .map(i -> PackedPos.pack(i % 6 - 3, i / 36 - 3, i / 6 % 6 - 3));
+        return position.set().ofMaxSize(150).map(GridTopologyTest::toLongSet);
+    }
+
+    private static LongSet toLongSet(Set<Long> positions) {
+        LongOpenHashSet set = new LongOpenHashSet();
+        positions.forEach(set::add);
+        return set;
+    }
+
+    private static int reachable(long start, LongSet within) {
+        LongOpenHashSet visited = LongOpenHashSet.of(start);
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        queue.enqueue(start);
+        while (!queue.isEmpty()) {
+            long current = queue.dequeueLong();
+            for (int face = 0; face < PackedPos.faceCount(); face++) {
+                long neighbour = PackedPos.neighbour(current, face);
+                if (within.contains(neighbour) && visited.add(neighbour)) {
+                    queue.enqueue(neighbour);
+                }
+            }
+        }
+        return visited.size();
+    }
+}
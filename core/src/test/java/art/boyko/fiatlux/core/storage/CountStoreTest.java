@@ -0,0 +1,116 @@
+package art.boyko.fiatlux.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.LongRange;
+
+class CountStoreTest {
+
+    record Operation(boolean insert, String key, long amount, boolean simulate) {
+    }
+
+    /**
+     * Runs random inserts and extracts against a plain map model and checks the totals, the capacity and
+     * that the versions move exactly when the contents or the set of types change.
+     */
+    @Property
+    void matchesModel(@ForAll @LongRange(min = 1, max = 500) long capacity, @ForAll("operations") List<Operation> operations) {
+        CountStore<String> store = new CountStore<>(capacity);
+        int[] typeEvents = new int[1];
+        store.setListener(new CountStore.TypeListener<>() {
+            @Override
+            public void onTypeAdded(String key) {
+                typeEvents[0]++;
+            }
+
+            @Override
+            public void onTypeRemoved(String key) {
+                typeEvents[0]++;
+            }
+        });
+        Map<String, Long> model = new HashMap<>();
+        long total = 0;
+
+        for (Operation operation : operations) {
+            int version = store.getVersion();
+            int typesVersion = store.getTypesVersion();
+            int typesBefore = model.size();
+            long stored = model.getOrDefault(operation.key(), 0L);
+            long expected = operation.insert()
+                    ? Math.min(operation.amount(), capacity - total)
+                    : Math.min(operation.amount(), stored);
+
+            long moved = operation.insert()
+                    ? store.insert(operation.key(), operation.amount(), operation.simulate())
+                    : store.extract(operation.key(), operation.amount(), operation.simulate());
+            assertEquals(expected, moved);
+
+            if (!operation.simulate() && moved > 0) {
+                long updated = operation.insert() ? stored + moved : stored - moved;
+                if (updated == 0) {
+                    model.remove(operation.key());
+                } else {
+                    model.put(operation.key(), updated);
+                }
+                total += operation.insert() ? moved : -moved;
+            }
+            boolean changed = !operation.simulate() && moved > 0;
+            boolean typesChanged = model.size() != typesBefore;
+            assertEquals(version + (changed ? 1 : 0), store.getVersion());
+            assertEquals(typesVersion + (typesChanged ? 1 : 0), store.getTypesVersion());
+            assertEquals(total, store.getTotal());
+            assertEquals(model.size(), store.getTypeCount());
+            assertTrue(store.getTotal() <= capacity, "total exceeds capacity");
+        }
+        for (Map.Entry<String, Long> entry : model.entrySet()) {
+            assertEquals(entry.getValue(), store.getCount(entry.getKey()));
+        }
+        assertEquals(store.getTypesVersion(), typeEvents[0]);
+    }
+
+    @Example
+    void capacityIsSharedAcrossTypes() {
+        CountStore<String> store = new CountStore<>(100);
+        assertEquals(60, store.insert("a", 60, false));
+        assertEquals(40, store.insert("b", 60, false));
+        assertEquals(0, store.insert("c", 1, false));
+        assertEquals(0, store.getFree());
+    }
+
+    @Example
+    void replaceAllIgnoresCapacityAndBumpsVersions() {
+        CountStore<String> store = new CountStore<>(10);
+        Object2LongOpenHashMap<String> contents = new Object2LongOpenHashMap<>();
+        contents.put("a", 50);
+        contents.put("b", 0);
+        store.replaceAll(contents);
+        assertEquals(50, store.getTotal());
+        assertEquals(1, store.getTypeCount());
+        assertEquals(1, store.getVersion());
+        assertEquals(1, store.getTypesVersion());
+        assertEquals(0, store.insert("a", 1, false));
+    }
+
+    @Provide
+    Arbitrary<List<Operation>> operations() {
+        return Combinators.combine(
+                Arbitraries.of(true, false),
+                Arbitraries.of("a", "b", "c", "d"),
+                Arbitraries.longs().between(0, 200),
+                Arbitraries.of(true, false)
+        ).as(Operation::new).list().ofMaxSize(100);
+    }
+}
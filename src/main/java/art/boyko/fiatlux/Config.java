@@ -2,6 +2,8 @@ package art.boyko.fiatlux;
 
 import java.util.List;
 
+import art.boyko.fiatlux.metrics.MetricsExporter;
+
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.common.ModConfigSpec;
@@ -28,9 +30,150 @@ public class Config {
             .comment("A list of items to log on common setup.")
             .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), () -> "", Config::validateItemName);
 
+    public static final ModConfigSpec.IntValue ILLUMINATOR_RADIUS = BUILDER
+            .comment("Half-size of the cube in which an illuminator suppresses monster spawns")
+            .defineInRange("illuminatorRadius", 32, 1, 128);
+
+    public static final ModConfigSpec.BooleanValue ILLUMINATOR_PLACE_LIGHTS = BUILDER
+            .comment("Whether illuminators also place a sparse grid of invisible light sources for visible light")
+            .define("illuminatorPlaceLights", false);
+
+    public static final ModConfigSpec.IntValue ILLUMINATOR_LIGHT_SPACING = BUILDER
+            .comment("Distance between the invisible light sources placed by an illuminator")
+            .defineInRange("illuminatorLightSpacing", 12, 4, 32);
+
+    public static final ModConfigSpec.DoubleValue LIGHT_SWORD_BEAM_RANGE = BUILDER
+            .comment("Maximum length of the light sword beam attack in blocks")
+            .defineInRange("lightSwordBeamRange", 24.0, 1.0, 64.0);
+
+    public static final ModConfigSpec.DoubleValue LIGHT_SWORD_BEAM_RADIUS = BUILDER
+            .comment("Radius of the light sword beam in blocks")
+            .defineInRange("lightSwordBeamRadius", 1.0, 0.1, 8.0);
+
+    public static final ModConfigSpec.IntValue LIGHT_SWORD_BEAM_MAX_TARGETS = BUILDER
+            .comment("Maximum number of entities a single light sword beam can hit")
+            .defineInRange("lightSwordBeamMaxTargets", 64, 1, 1024);
+
+    public static final ModConfigSpec.BooleanValue ENERGY_PARALLEL_SOLVE = BUILDER
+            .comment("Whether independent energy networks are balanced in parallel. Results are identical to serial mode")
+            .define("energyParallelSolve", true);
+
+    public static final ModConfigSpec.IntValue ENERGY_PARALLEL_THRESHOLD = BUILDER
+            .comment("Minimum number of energy networks in a level before parallel solving is used")
+            .defineInRange("energyParallelThreshold", 256, 1, Integer.MAX_VALUE);
+
+    public static final ModConfigSpec.BooleanValue ENERGY_CATCH_UP_UNLOADED = BUILDER
+            .comment("Whether energy cells apply passive generation and decay for the time their chunk was unloaded")
+            .define("energyCatchUpUnloaded", false);
+
+    public static final ModConfigSpec.BooleanValue COMPACT_STORAGE = BUILDER
+            .comment("Whether empty storage blocks exist without a block entity until something is stored in them")
+            .define("compactStorage", true);
+
+    public static final ModConfigSpec.IntValue STORAGE_CAPACITY = BUILDER
+            .comment("Maximum number of items a single storage block can hold, across all item types")
+            .defineInRange("storageCapacity", 1000000, 1, Integer.MAX_VALUE);
+
+    public static final ModConfigSpec.ConfigValue<String> STORAGE_LEGACY_ITEM = BUILDER
+            .comment("Item that untyped counts in storage blocks saved by older versions are converted to. Empty, the default, discards them, since they were never real items")
+            .define("storageLegacyItem", "", Config::validateOptionalItemId);
+
+    public static final ModConfigSpec.BooleanValue TICK_BUDGET_ENABLED = BUILDER
+            .comment("Whether block syncs and energy network solves run within a per-tick time budget")
+            .define("tickBudgetEnabled", true);
+
+    public static final ModConfigSpec.LongValue TICK_BUDGET_NANOS = BUILDER
+            .comment("Time in nanoseconds Fiat Lux may spend on budgeted work per server tick. Leftover work carries over")
+            .defineInRange("tickBudgetNanos", 2000000L, 10000L, 50000000L);
+
+    public static final ModConfigSpec.BooleanValue JOURNAL_ENABLED = BUILDER
+            .comment("Whether energy and item transactions are written to a binary journal in the world's fiatlux-journal folder")
+            .define("journalEnabled", false);
+
+    public static final ModConfigSpec.IntValue JOURNAL_SEGMENT_MB = BUILDER
+            .comment("Size in megabytes of each journal segment file before a new one is started")
+            .defineInRange("journalSegmentMb", 64, 1, 1024);
+
+    public static final ModConfigSpec.IntValue CONDUIT_TRANSFER_INTERVAL = BUILDER
+            .comment("Ticks between item conduit transfers")
+            .defineInRange("conduitTransferInterval", 10, 1, 1200);
+
+    public static final ModConfigSpec.IntValue CONDUIT_ITEMS_PER_TRANSFER = BUILDER
+            .comment("Maximum number of items an extracting conduit moves out of each adjacent storage per transfer")
+            .defineInRange("conduitItemsPerTransfer", 64, 1, 4096);
+
+    public static final ModConfigSpec.IntValue CHARGING_PAD_RADIUS = BUILDER
+            .comment("Distance in blocks within which a charging pad charges players' energy items")
+            .defineInRange("chargingPadRadius", 8, 1, 64);
+
+    public static final ModConfigSpec.IntValue CHARGING_PAD_INTERVAL = BUILDER
+            .comment("Ticks between charging pad runs")
+            .defineInRange("chargingPadInterval", 20, 1, 1200);
+
+    public static final ModConfigSpec.IntValue CHARGING_PAD_RATE = BUILDER
+            .comment("Energy in FE per tick a charging pad gives each item")
+            .defineInRange("chargingPadRate", 200, 1, 100000);
+
+    public static final ModConfigSpec.IntValue CHARGING_PAD_SCAN_INTERVAL = BUILDER
+            .comment("Ticks between full scans of a player's inventory for energy items. Inventory changes trigger an earlier scan")
+            .defineInRange("chargingPadScanInterval", 100, 1, 72000);
+
+    public static final ModConfigSpec.IntValue CHUNK_LOADER_MAX_RADIUS = BUILDER
+            .comment("Largest radius in chunks a chunk loader can be set to; 0 loads only the loader's own chunk")
+            .defineInRange("chunkLoaderMaxRadius", 2, 0, 8);
+
+    public static final ModConfigSpec.IntValue CHUNK_LOADER_FE_PER_CHUNK = BUILDER
+            .comment("Energy in FE per tick a chunk loader uses for each chunk in its area")
+            .defineInRange("chunkLoaderFePerChunk", 4, 0, 100000);
+
+    public static final ModConfigSpec.IntValue CHUNK_LOADER_INTERVAL = BUILDER
+            .comment("Ticks between chunk loader payments. A loader that cannot pay releases its chunks")
+            .defineInRange("chunkLoaderInterval", 20, 1, 1200);
+
+    public static final ModConfigSpec.IntValue VACUUM_RADIUS = BUILDER
+            .comment("Distance in blocks around a storage with a vacuum upgrade within which item entities are collected")
+            .defineInRange("vacuumRadius", 6, 1, 16);
+
+    public static final ModConfigSpec.IntValue VACUUM_INTERVAL = BUILDER
+            .comment("Ticks between vacuum sweeps. Each sweep is one entity query per storage")
+            .defineInRange("vacuumInterval", 20, 1, 1200);
+
+    public static final ModConfigSpec.BooleanValue STORAGE_ASYNC_SAVE = BUILDER
+            .comment("Whether the contents of large storage blocks are encoded in parallel on background threads when the level saves")
+            .define("storageAsyncSave", true);
+
+    public static final ModConfigSpec.IntValue STORAGE_ASYNC_SAVE_THRESHOLD = BUILDER
+            .comment("Minimum number of item types for a storage block to be encoded in the background")
+            .defineInRange("storageAsyncSaveThreshold", 64, 1, Integer.MAX_VALUE);
+
+    public static final ModConfigSpec.BooleanValue METRICS_ENABLED = BUILDER
+            .comment("Whether runtime metrics are exported in OpenMetrics (Prometheus) text format")
+            .define("metricsEnabled", false);
+
+    public static final ModConfigSpec.EnumValue<MetricsExporter.Mode> METRICS_MODE = BUILDER
+            .comment("HTTP serves the metrics on 127.0.0.1 at /metrics, FILE writes them to metricsFile")
+            .defineEnum("metricsMode", MetricsExporter.Mode.HTTP);
+
+    public static final ModConfigSpec.IntValue METRICS_PORT = BUILDER
+            .comment("Localhost port of the metrics endpoint")
+            .defineInRange("metricsPort", 9464, 1, 65535);
+
+    public static final ModConfigSpec.ConfigValue<String> METRICS_FILE = BUILDER
+            .comment("Metrics file, relative to the server directory")
+            .define("metricsFile", "fiatlux-metrics.prom");
+
+    public static final ModConfigSpec.IntValue METRICS_INTERVAL = BUILDER
+            .comment("Ticks between gauge updates and metrics file writes")
+            .defineInRange("metricsInterval", 100, 20, 72000);
+
     static final ModConfigSpec SPEC = BUILDER.build();
 
     private static boolean validateItemName(final Object obj) {
         return obj instanceof String itemName && BuiltInRegistries.ITEM.containsKey(ResourceLocation.parse(itemName));
     }
+
+    // Only checks the syntax, the item is looked up when it is needed
+    private static boolean validateOptionalItemId(final Object obj) {
+        return obj instanceof String itemId && (itemId.isEmpty() || ResourceLocation.tryParse(itemId) != null);
+    }
 }
\ No newline at end of file
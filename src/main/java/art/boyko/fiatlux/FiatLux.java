@@ -4,10 +4,14 @@ import org.slf4j.Logger;
 
 import com.mojang.logging.LogUtils;
 
+import art.boyko.fiatlux.chunkloading.ChunkLoaderManager;
 import art.boyko.fiatlux.init.ModBlockEntities;
 import art.boyko.fiatlux.init.ModBlocks;
 import art.boyko.fiatlux.init.ModCreativeTabs;
+import art.boyko.fiatlux.init.ModDataComponents;
 import art.boyko.fiatlux.init.ModItems;
+import art.boyko.fiatlux.init.ModMenuTypes;
+import art.boyko.fiatlux.init.ModPayloads;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.item.CreativeModeTabs;
 import net.minecraft.world.level.block.Blocks;
@@ -19,6 +23,7 @@ import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.common.world.chunk.RegisterTicketControllersEvent;
 import net.neoforged.neoforge.event.BuildCreativeModeTabContentsEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
 
@@ -34,12 +39,16 @@ public class FiatLux {
     public FiatLux(IEventBus modEventBus, ModContainer modContainer) {
         // Register the commonSetup method for modloading
         modEventBus.addListener(this::commonSetup);
+        modEventBus.addListener(this::registerTicketControllers);
 
         // Register all mod content
         ModBlocks.register(modEventBus);
         ModItems.register(modEventBus);
+        ModDataComponents.register(modEventBus);
         ModBlockEntities.register(modEventBus); // Register block entities
         ModCreativeTabs.register(modEventBus);
+        ModMenuTypes.register(modEventBus);
+        ModPayloads.register(modEventBus);
 
         // Note that this is necessary if and only if we want *this* class (FiatLux) to respond directly to events.
         NeoForge.EVENT_BUS.register(this);
@@ -63,6 +72,10 @@ public class FiatLux {
         Config.ITEM_STRINGS.get().forEach((item) -> LOGGER.info("ITEM >> {}", item));
     }
 
+    private void registerTicketControllers(RegisterTicketControllersEvent event) {
+        event.register(ChunkLoaderManager.TICKETS);
+    }
+
     // Add the mod block items to existing vanilla creative tabs
     private void addCreative(BuildCreativeModeTabContentsEvent event) {
         if (event.getTabKey() == CreativeModeTabs.BUILDING_BLOCKS) {
@@ -73,11 +86,16 @@ public class FiatLux {
             // Add new blocks with BlockEntity
             event.accept(ModItems.SIMPLE_STORAGE_BLOCK_ITEM);
             event.accept(ModItems.ENERGY_STORAGE_BLOCK_ITEM);
+            event.accept(ModItems.ILLUMINATOR_BLOCK_ITEM);
+            event.accept(ModItems.ITEM_CONDUIT_BLOCK_ITEM);
+            event.accept(ModItems.CHARGING_PAD_BLOCK_ITEM);
+            event.accept(ModItems.CHUNK_LOADER_BLOCK_ITEM);
         }
         
         if (event.getTabKey() == CreativeModeTabs.TOOLS_AND_UTILITIES) {
             event.accept(ModItems.LIGHT_SWORD);
             event.accept(ModItems.TORCH_ITEM);
+            event.accept(ModItems.VACUUM_UPGRADE);
         }
         
         if (event.getTabKey() == CreativeModeTabs.INGREDIENTS) {
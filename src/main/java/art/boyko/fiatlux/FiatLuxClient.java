@@ -1,5 +1,7 @@
 package art.boyko.fiatlux;
 
+import art.boyko.fiatlux.client.StorageTerminalScreen;
+import art.boyko.fiatlux.init.ModMenuTypes;
 import net.minecraft.client.Minecraft;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
@@ -8,6 +10,7 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.neoforge.client.gui.ConfigurationScreen;
+import net.neoforged.neoforge.client.event.RegisterMenuScreensEvent;
 import net.neoforged.neoforge.client.gui.IConfigScreenFactory;
 
 // This class will not load on dedicated servers. Accessing client side code from here is safe.
@@ -27,4 +30,9 @@ public class FiatLuxClient {
         FiatLux.LOGGER.info("HELLO FROM CLIENT SETUP");
         FiatLux.LOGGER.info("MINECRAFT NAME >> {}", Minecraft.getInstance().getUser().getName());
     }
+
+    @SubscribeEvent
+    static void onRegisterMenuScreens(RegisterMenuScreensEvent event) {
+        event.register(ModMenuTypes.STORAGE_TERMINAL.get(), StorageTerminalScreen::new);
+    }
 }
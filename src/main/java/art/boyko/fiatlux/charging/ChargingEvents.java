@@ -0,0 +1,41 @@
+package art.boyko.fiatlux.charging;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class ChargingEvents {
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level
+                && level.getGameTime() % Config.CHARGING_PAD_INTERVAL.getAsInt() == 0) {
+            TickBudgetScheduler.submit(level, BlockPos.ZERO, TickBudgetScheduler.WorkType.CHARGING,
+                    () -> ChargingPadManager.get(level).tick(level));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PlayerEnergySlots.remove(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        ChargingPadManager.remove(event.getLevel());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PlayerEnergySlots.clear();
+    }
+}
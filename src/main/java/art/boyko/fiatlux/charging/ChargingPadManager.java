@@ -0,0 +1,130 @@
+package art.boyko.fiatlux.charging;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * Charges the energy items of players near the charging pads of a level, drawing from energy cells adjacent
+ * to each pad. Runs every {@code chargingPadInterval} ticks for all pads at once; which inventory slots can be
+ * charged comes from {@link PlayerEnergySlots}, so inventories are not scanned on every run.
+ */
+public class ChargingPadManager {
+    private static final Map<LevelAccessor, ChargingPadManager> MANAGERS = new IdentityHashMap<>();
+
+    private final LongOpenHashSet pads = new LongOpenHashSet();
+
+    public static ChargingPadManager get(LevelAccessor level) {
+        return MANAGERS.computeIfAbsent(level, key -> new ChargingPadManager());
+    }
+
+    public static void remove(LevelAccessor level) {
+        MANAGERS.remove(level);
+    }
+
+    public void add(BlockPos pos) {
+        pads.add(pos.asLong());
+    }
+
+    public void remove(BlockPos pos) {
+        pads.remove(pos.asLong());
+    }
+
+    public int getPadCount() {
+        return pads.size();
+    }
+
+    public void tick(ServerLevel level) {
+        if (pads.isEmpty() || level.players().isEmpty()) {
+            return;
+        }
+        double radius = Config.CHARGING_PAD_RADIUS.getAsInt();
+        // Each run makes up for the ticks since the previous one; long since the product can exceed an int
+        long perItem = (long) Config.CHARGING_PAD_RATE.getAsInt() * Config.CHARGING_PAD_INTERVAL.getAsInt();
+        long gameTime = level.getGameTime();
+
+        LongIterator iterator = pads.iterator();
+        while (iterator.hasNext()) {
+            BlockPos pos = BlockPos.of(iterator.nextLong());
+            Vec3 center = pos.getCenter();
+            List<ServerPlayer> inRange = new ArrayList<>();
+            for (ServerPlayer player : level.players()) {
+                if (!player.isSpectator() && player.distanceToSqr(center) <= radius * radius) {
+                    inRange.add(player);
+                }
+            }
+            if (inRange.isEmpty()) {
+                continue;
+            }
+            List<EnergyStorageBlockEntity> cells = getAdjacentCells(level, pos);
+            if (cells.isEmpty()) {
+                continue;
+            }
+            for (ServerPlayer player : inRange) {
+                for (IEnergyStorage storage : PlayerEnergySlots.getChargeable(player, gameTime)) {
+                    charge(storage, cells, perItem);
+                }
+            }
+        }
+    }
+
+    /**
+     * Energy cells directly adjacent to a pad, in loaded chunks only.
+     */
+    public static List<EnergyStorageBlockEntity> getAdjacentCells(Level level, BlockPos pos) {
+        List<EnergyStorageBlockEntity> cells = new ArrayList<>(2);
+        for (Direction direction : Direction.values()) {
+            BlockPos neighbour = pos.relative(direction);
+            if (level.isLoaded(neighbour) && level.getBlockEntity(neighbour) instanceof EnergyStorageBlockEntity cell) {
+                cells.add(cell);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Moves up to {@code budget} FE from the cells into the item. Items and cells cap what a single call moves, so
+     * this keeps calling until the budget is spent or a full pass over the cells moves nothing. Only what the item
+     * actually accepts is taken from the cells.
+     */
+    private static void charge(IEnergyStorage storage, List<EnergyStorageBlockEntity> cells, long budget) {
+        long remaining = budget;
+        while (remaining > 0) {
+            long movedThisPass = 0;
+            for (EnergyStorageBlockEntity cell : cells) {
+                int wanted = storage.receiveEnergy((int) Math.min(remaining, Integer.MAX_VALUE), true);
+                if (wanted <= 0) {
+                    return;
+                }
+                int available = cell.extractEnergy(wanted, true);
+                if (available <= 0) {
+                    continue;
+                }
+                int accepted = storage.receiveEnergy(available, false);
+                cell.extractEnergy(accepted, false);
+                remaining -= accepted;
+                movedThisPass += accepted;
+                if (remaining <= 0) {
+                    return;
+                }
+            }
+            if (movedThisPass <= 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package art.boyko.fiatlux.charging;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import art.boyko.fiatlux.Config;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * Per-player cache of the inventory slots holding items that can receive energy.
+ * <p>
+ * A player's inventory is scanned in full at most once every {@code chargingPadScanInterval} ticks, or earlier
+ * when the inventory reports a change. In between, only the cached slots are looked at; a cached slot that no
+ * longer holds an energy item marks the entry for a rescan on the next run.
+ */
+public final class PlayerEnergySlots {
+    private static final Map<UUID, Entry> CACHE = new HashMap<>();
+
+    private static final class Entry {
+        final int[] slots;
+        final int timesChanged;
+        final long scannedAt;
+        boolean stale = false;
+
+        Entry(int[] slots, int timesChanged, long scannedAt) {
+            this.slots = slots;
+            this.timesChanged = timesChanged;
+            this.scannedAt = scannedAt;
+        }
+    }
+
+    private PlayerEnergySlots() {
+    }
+
+    /**
+     * Energy storages in the player's inventory that are not yet full.
+     */
+    public static List<IEnergyStorage> getChargeable(Player player, long gameTime) {
+        Inventory inventory = player.getInventory();
+        Entry entry = CACHE.get(player.getUUID());
+        if (entry == null || entry.stale || entry.timesChanged != inventory.getTimesChanged()
+                || gameTime - entry.scannedAt >= Config.CHARGING_PAD_SCAN_INTERVAL.getAsInt()) {
+            entry = scan(inventory, gameTime);
+            CACHE.put(player.getUUID(), entry);
+        }
+        if (entry.slots.length == 0) {
+            return List.of();
+        }
+
+        List<IEnergyStorage> storages = new ArrayList<>(entry.slots.length);
+        for (int slot : entry.slots) {
+            IEnergyStorage storage = inventory.getItem(slot).getCapability(Capabilities.EnergyStorage.ITEM);
+            if (storage == null) {
+                entry.stale = true;
+            } else if (storage.canReceive() && storage.getEnergyStored() < storage.getMaxEnergyStored()) {
+                storages.add(storage);
+            }
+        }
+        return storages;
+    }
+
+    public static void remove(Player player) {
+        CACHE.remove(player.getUUID());
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static Entry scan(Inventory inventory, long gameTime) {
+        IntArrayList slots = new IntArrayList();
+        for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
+            if (!inventory.getItem(slot).isEmpty()
+                    && inventory.getItem(slot).getCapability(Capabilities.EnergyStorage.ITEM) != null) {
+                slots.add(slot);
+            }
+        }
+        return new Entry(slots.toIntArray(), inventory.getTimesChanged(), gameTime);
+    }
+}
@@ -0,0 +1,30 @@
+package art.boyko.fiatlux.chunkloading;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class ChunkLoaderEvents {
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level
+                && level.getGameTime() % Config.CHUNK_LOADER_INTERVAL.getAsInt() == 0) {
+            TickBudgetScheduler.submit(level, BlockPos.ZERO, TickBudgetScheduler.WorkType.CHUNK_LOADING,
+                    () -> ChunkLoaderManager.get(level).tick(level));
+        }
+    }
+
+    // Tickets are saved with the level and validated when it loads again, so nothing is released here
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        ChunkLoaderManager.remove(event.getLevel());
+    }
+}
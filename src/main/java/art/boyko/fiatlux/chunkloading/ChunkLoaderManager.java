@@ -0,0 +1,275 @@
+package art.boyko.fiatlux.chunkloading;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.mojang.datafixers.util.Pair;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.blockentity.ChunkLoaderBlockEntity;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.common.world.chunk.TicketController;
+import net.neoforged.neoforge.common.world.chunk.TicketHelper;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * Keeps the areas of powered chunk loaders force-loaded.
+ * <p>
+ * All loaders of a level share one ticket owner and a reference count per chunk, so overlapping areas hold a
+ * single ticket per chunk, taken when the first loader covering it is powered and released when the last one
+ * stops. Every {@code chunkLoaderInterval} ticks each loader pays for its area from adjacent energy storages;
+ * a loader that cannot pay in full loses power and its area is released.
+ */
+public class ChunkLoaderManager {
+    private static final Map<LevelAccessor, ChunkLoaderManager> MANAGERS = new IdentityHashMap<>();
+    private static final UUID TICKET_OWNER = UUID.nameUUIDFromBytes((FiatLux.MODID + ":chunk_loader").getBytes());
+    // Runs after which restored tickets are released even if some of their chunks never finished loading
+    private static final int RESTORE_GRACE_RUNS = 30;
+
+    public static final TicketController TICKETS = new TicketController(
+            ResourceLocation.fromNamespaceAndPath(FiatLux.MODID, "chunk_loader"), ChunkLoaderManager::validateTickets);
+
+    private final Long2ObjectOpenHashMap<ChunkLoaderBlockEntity> loaders = new Long2ObjectOpenHashMap<>();
+    // Force-loaded chunk (packed) -> number of powered loaders covering it
+    private final Long2IntOpenHashMap chunkRefs = new Long2IntOpenHashMap();
+    // Tickets restored with the level that no loader has claimed yet; released once their chunks have loaded
+    private final LongOpenHashSet restored = new LongOpenHashSet();
+    // Whether every restored chunk was loaded at the previous run, and how many runs they have been waiting
+    private boolean restoredLoaded = false;
+    private int restoredRuns = 0;
+
+    public static ChunkLoaderManager get(LevelAccessor level) {
+        return MANAGERS.computeIfAbsent(level, key -> new ChunkLoaderManager());
+    }
+
+    public static void remove(LevelAccessor level) {
+        MANAGERS.remove(level);
+    }
+
+    /**
+     * Loaders are re-claimed when their block entities load, so only tickets of the shared owner are kept
+     * until then; anything else left over from older versions is dropped.
+     */
+    private static void validateTickets(ServerLevel level, TicketHelper ticketHelper) {
+        for (BlockPos owner : List.copyOf(ticketHelper.getBlockTickets().keySet())) {
+            ticketHelper.removeAllTickets(owner);
+        }
+        for (Map.Entry<UUID, Pair<LongSet, LongSet>> entry : List.copyOf(ticketHelper.getEntityTickets().entrySet())) {
+            if (entry.getKey().equals(TICKET_OWNER)) {
+                get(level).restore(entry.getValue().getSecond());
+            } else {
+                ticketHelper.removeAllTickets(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Keeps force-loaded chunks restored with the level until their loaders claim them again.
+     */
+    public void restore(LongCollection chunks) {
+        restored.addAll(chunks);
+        restoredLoaded = false;
+        restoredRuns = 0;
+    }
+
+    /**
+     * Number of restored chunks no loader has claimed yet.
+     */
+    public int getRestoredChunkCount() {
+        return restored.size();
+    }
+
+    /**
+     * Number of chunks in the square area of a loader with the given radius.
+     */
+    public static int getAreaChunks(int radius) {
+        return (2 * radius + 1) * (2 * radius + 1);
+    }
+
+    public void add(ServerLevel level, ChunkLoaderBlockEntity loader) {
+        loaders.put(loader.getBlockPos().asLong(), loader);
+        // A loader saved while powered keeps its area until its first payment decides otherwise
+        if (loader.isPowered()) {
+            claim(level, loader.getBlockPos(), loader.getRadius());
+        }
+    }
+
+    /**
+     * Called when a loader's chunk unloads, which for a powered loader only happens with its level. The tickets
+     * stay so the area is restored with the level.
+     */
+    public void unload(ChunkLoaderBlockEntity loader) {
+        loaders.remove(loader.getBlockPos().asLong(), loader);
+    }
+
+    public void remove(ServerLevel level, ChunkLoaderBlockEntity loader) {
+        if (loaders.remove(loader.getBlockPos().asLong()) == loader && loader.isPowered()) {
+            release(level, loader.getBlockPos(), loader.getRadius());
+        }
+    }
+
+    /**
+     * Moves a powered loader's claim to its new radius. The new area is claimed first so shared chunks never drop.
+     */
+    public void onRadiusChanged(ServerLevel level, ChunkLoaderBlockEntity loader, int oldRadius) {
+        if (loader.isPowered() && loaders.get(loader.getBlockPos().asLong()) == loader) {
+            claim(level, loader.getBlockPos(), loader.getRadius());
+            release(level, loader.getBlockPos(), oldRadius);
+        }
+    }
+
+    public List<ChunkLoaderBlockEntity> getLoaders() {
+        return List.copyOf(loaders.values());
+    }
+
+    /**
+     * Number of distinct chunks force-loaded by all loaders of the level.
+     */
+    public int getForcedChunkCount() {
+        return chunkRefs.size();
+    }
+
+    public void tick(ServerLevel level) {
+        // In long: the largest area, cost and interval together overflow an int
+        long costPerChunk = (long) Config.CHUNK_LOADER_FE_PER_CHUNK.getAsInt() * Config.CHUNK_LOADER_INTERVAL.getAsInt();
+        // Releasing an area may unload loaders, so iterate over a copy
+        for (ChunkLoaderBlockEntity loader : new ArrayList<>(loaders.values())) {
+            if (loader.isRemoved()) {
+                continue;
+            }
+            boolean paid = pay(level, loader.getBlockPos(), getAreaChunks(loader.getRadius()) * costPerChunk);
+            if (paid && !loader.isPowered()) {
+                loader.setPowered(true);
+                claim(level, loader.getBlockPos(), loader.getRadius());
+            } else if (!paid && loader.isPowered()) {
+                loader.setPowered(false);
+                release(level, loader.getBlockPos(), loader.getRadius());
+            }
+        }
+
+        if (!restored.isEmpty()) {
+            releaseUnclaimedRestored(level);
+        }
+    }
+
+    /**
+     * Loaders claim their area again in onLoad, which only runs once their own chunk is loaded, and every powered
+     * loader's chunk is either restored or already claimed. So once all restored chunks have been loaded for a full
+     * run, whatever is still unclaimed belongs to no loader. The wait is bounded in case a chunk never loads.
+     */
+    private void releaseUnclaimedRestored(ServerLevel level) {
+        if (!restoredLoaded && ++restoredRuns <= RESTORE_GRACE_RUNS) {
+            restoredLoaded = true;
+            LongIterator chunks = restored.iterator();
+            while (chunks.hasNext() && restoredLoaded) {
+                long chunk = chunks.nextLong();
+                restoredLoaded = level.getChunkSource().hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk));
+            }
+            return;
+        }
+        LongIterator chunks = restored.iterator();
+        while (chunks.hasNext()) {
+            long chunk = chunks.nextLong();
+            TICKETS.forceChunk(level, TICKET_OWNER, ChunkPos.getX(chunk), ChunkPos.getZ(chunk), false, true);
+        }
+        restored.clear();
+    }
+
+    /**
+     * Takes the cost from adjacent energy storages only if they can cover all of it. Storages limit how much a
+     * single extraction may take, so each one is drained over as many calls as needed.
+     */
+    private static boolean pay(ServerLevel level, BlockPos pos, long cost) {
+        if (cost <= 0) {
+            return true;
+        }
+        List<IEnergyStorage> sources = new ArrayList<>(2);
+        long available = 0;
+        for (Direction direction : Direction.values()) {
+            BlockPos neighbour = pos.relative(direction);
+            if (!level.isLoaded(neighbour)) {
+                continue;
+            }
+            IEnergyStorage storage = level.getCapability(Capabilities.EnergyStorage.BLOCK, neighbour, direction.getOpposite());
+            if (storage != null && storage.canExtract()) {
+                sources.add(storage);
+                available += storage.getEnergyStored();
+            }
+        }
+        if (available < cost) {
+            return false;
+        }
+        long remaining = cost;
+        for (IEnergyStorage storage : sources) {
+            remaining -= move(storage, remaining, true);
+            if (remaining <= 0) {
+                return true;
+            }
+        }
+        // A storage gave less than it reported; the partial payment goes back where it came from
+        long refund = cost - remaining;
+        for (IEnergyStorage storage : sources) {
+            refund -= move(storage, refund, false);
+            if (refund <= 0) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    // Extracts or inserts up to the amount, one capped call after another until the storage stops taking part
+    private static long move(IEnergyStorage storage, long amount, boolean extract) {
+        long moved = 0;
+        while (moved < amount) {
+            int request = (int) Math.min(amount - moved, Integer.MAX_VALUE);
+            int step = extract ? storage.extractEnergy(request, false) : storage.receiveEnergy(request, false);
+            if (step <= 0) {
+                break;
+            }
+            moved += step;
+        }
+        return moved;
+    }
+
+    private void claim(ServerLevel level, BlockPos pos, int radius) {
+        ChunkPos center = new ChunkPos(pos);
+        for (int x = center.x - radius; x <= center.x + radius; x++) {
+            for (int z = center.z - radius; z <= center.z + radius; z++) {
+                long chunk = ChunkPos.asLong(x, z);
+                // A ticket restored with the level is adopted instead of being forced again
+                if (chunkRefs.addTo(chunk, 1) == 0 && !restored.remove(chunk)) {
+                    TICKETS.forceChunk(level, TICKET_OWNER, x, z, true, true);
+                }
+            }
+        }
+    }
+
+    private void release(ServerLevel level, BlockPos pos, int radius) {
+        ChunkPos center = new ChunkPos(pos);
+        for (int x = center.x - radius; x <= center.x + radius; x++) {
+            for (int z = center.z - radius; z <= center.z + radius; z++) {
+                long chunk = ChunkPos.asLong(x, z);
+                if (chunkRefs.addTo(chunk, -1) <= 1) {
+                    chunkRefs.remove(chunk);
+                    TICKETS.forceChunk(level, TICKET_OWNER, x, z, false, true);
+                }
+            }
+        }
+    }
+}
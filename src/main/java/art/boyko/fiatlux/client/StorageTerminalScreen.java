@@ -0,0 +1,148 @@
+package art.boyko.fiatlux.client;
+
+import art.boyko.fiatlux.custom.menu.StorageTerminalMenu;
+import art.boyko.fiatlux.custom.menu.TerminalSortMode;
+import art.boyko.fiatlux.network.TerminalExtractPayload;
+import art.boyko.fiatlux.network.TerminalViewPayload;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.EditBox;
+import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.network.PacketDistributor;
+import org.lwjgl.glfw.GLFW;
+
+public class StorageTerminalScreen extends AbstractContainerScreen<StorageTerminalMenu> {
+    private static final int GRID_X = 8;
+    private static final int GRID_Y = 18;
+
+    private EditBox searchBox;
+    private TerminalSortMode sortMode = TerminalSortMode.NAME;
+
+    public StorageTerminalScreen(StorageTerminalMenu menu, Inventory playerInventory, Component title) {
+        super(menu, playerInventory, title);
+        this.imageHeight = 222;
+        this.inventoryLabelY = this.imageHeight - 94;
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        searchBox = new EditBox(font, leftPos + 82, topPos + 5, 60, 10, Component.translatable("container.fiatlux.storage_terminal.search"));
+        searchBox.setMaxLength(TerminalViewPayload.MAX_QUERY_LENGTH);
+        searchBox.setResponder(query -> requestView(0));
+        addRenderableWidget(searchBox);
+
+        addRenderableWidget(Button.builder(Component.literal(sortMode.getLabel()), button -> {
+            sortMode = sortMode.next();
+            button.setMessage(Component.literal(sortMode.getLabel()));
+            requestView(0);
+        }).bounds(leftPos + 144, topPos + 3, 26, 13).build());
+
+        addRenderableWidget(Button.builder(Component.literal("<"), button -> requestView(menu.getPage() - 1))
+                .bounds(leftPos + 110, topPos + imageHeight - 96, 12, 12).build());
+        addRenderableWidget(Button.builder(Component.literal(">"), button -> requestView(menu.getPage() + 1))
+                .bounds(leftPos + 158, topPos + imageHeight - 96, 12, 12).build());
+    }
+
+    private void requestView(int page) {
+        int clamped = Math.max(0, Math.min(page, menu.getPageTotal() - 1));
+        PacketDistributor.sendToServer(new TerminalViewPayload(menu.containerId, searchBox.getValue(), sortMode.ordinal(), clamped));
+    }
+
+    @Override
+    protected void renderBg(GuiGraphics guiGraphics, float partialTick, int mouseX, int mouseY) {
+        guiGraphics.fill(leftPos, topPos, leftPos + imageWidth, topPos + imageHeight, 0xFFC6C6C6);
+        for (int i = 0; i < StorageTerminalMenu.PAGE_SIZE; i++) {
+            int x = leftPos + GRID_X + (i % StorageTerminalMenu.COLUMNS) * 18;
+            int y = topPos + GRID_Y + (i / StorageTerminalMenu.COLUMNS) * 18;
+            guiGraphics.fill(x - 1, y - 1, x + 17, y + 17, 0xFF8B8B8B);
+        }
+        for (Slot slot : menu.slots) {
+            guiGraphics.fill(leftPos + slot.x - 1, topPos + slot.y - 1, leftPos + slot.x + 17, topPos + slot.y + 17, 0xFF8B8B8B);
+        }
+
+        // Entries are not slots, they are drawn from the page the server sent
+        for (int i = 0; i < StorageTerminalMenu.PAGE_SIZE; i++) {
+            ItemStack stack = menu.getPageStack(i);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            int x = leftPos + GRID_X + (i % StorageTerminalMenu.COLUMNS) * 18;
+            int y = topPos + GRID_Y + (i / StorageTerminalMenu.COLUMNS) * 18;
+            guiGraphics.renderItem(stack, x, y);
+            guiGraphics.renderItemDecorations(font, stack, x, y, formatCount(menu.getPageCount(i)));
+        }
+    }
+
+    @Override
+    protected void renderLabels(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+        guiGraphics.drawString(font, title, titleLabelX, titleLabelY, 0x404040, false);
+        guiGraphics.drawString(font, playerInventoryTitle, inventoryLabelX, inventoryLabelY, 0x404040, false);
+        String pageLabel = (menu.getPage() + 1) + "/" + menu.getPageTotal();
+        guiGraphics.drawString(font, pageLabel, 140 - font.width(pageLabel) / 2, inventoryLabelY, 0x404040, false);
+    }
+
+    @Override
+    public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+        super.render(guiGraphics, mouseX, mouseY, partialTick);
+        int hovered = getHoveredEntry(mouseX, mouseY);
+        if (hovered >= 0 && menu.getCarried().isEmpty()) {
+            guiGraphics.renderTooltip(font, menu.getPageStack(hovered), mouseX, mouseY);
+        } else {
+            renderTooltip(guiGraphics, mouseX, mouseY);
+        }
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        int hovered = getHoveredEntry(mouseX, mouseY);
+        if (hovered >= 0) {
+            // Left click takes a full stack, right click a single item
+            PacketDistributor.sendToServer(new TerminalExtractPayload(menu.containerId, hovered, button == 0));
+            return true;
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
+        if (scrollY != 0) {
+            requestView(menu.getPage() + (scrollY < 0 ? 1 : -1));
+            return true;
+        }
+        return super.mouseScrolled(mouseX, mouseY, scrollX, scrollY);
+    }
+
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        // Keep typing in the search box from closing the screen through the inventory key
+        if (searchBox.isFocused() && keyCode != GLFW.GLFW_KEY_ESCAPE) {
+            return searchBox.keyPressed(keyCode, scanCode, modifiers) || searchBox.canConsumeInput();
+        }
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+
+    private int getHoveredEntry(double mouseX, double mouseY) {
+        int column = (int) Math.floor((mouseX - leftPos - GRID_X) / 18);
+        int row = (int) Math.floor((mouseY - topPos - GRID_Y) / 18);
+        if (column < 0 || column >= StorageTerminalMenu.COLUMNS || row < 0 || row >= StorageTerminalMenu.ROWS) {
+            return -1;
+        }
+        int index = row * StorageTerminalMenu.COLUMNS + column;
+        return menu.getPageStack(index).isEmpty() ? -1 : index;
+    }
+
+    private static String formatCount(long count) {
+        if (count >= 1_000_000) {
+            return (count / 1_000_000) + "M";
+        }
+        if (count >= 10_000) {
+            return (count / 1_000) + "k";
+        }
+        return Long.toString(count);
+    }
+}
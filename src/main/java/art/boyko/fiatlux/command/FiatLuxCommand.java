@@ -0,0 +1,169 @@
+package art.boyko.fiatlux.command;
+
+import java.util.List;
+import java.util.Map;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.chunkloading.ChunkLoaderManager;
+import art.boyko.fiatlux.custom.blockentity.ChunkLoaderBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.energy.EnergyNetworkManager;
+import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+/**
+ * {@code /fiatlux locate <type> <radius>} and {@code /fiatlux stats}, both answered from
+ * {@link BlockEntityPositionRegistry} instead of scanning loaded chunks, and {@code /fiatlux chunkloaders}.
+ */
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class FiatLuxCommand {
+    private static final int MAX_LISTED = 20;
+    private static final DynamicCommandExceptionType UNKNOWN_TYPE =
+            new DynamicCommandExceptionType(type -> Component.literal("Unknown Fiat Lux block entity type: " + type));
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(FiatLux.MODID)
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("locate")
+                        .then(Commands.argument("type", StringArgumentType.word())
+                                .suggests((context, builder) -> SharedSuggestionProvider.suggest(
+                                        ModBlockEntities.BLOCK_ENTITIES.getEntries().stream()
+                                                .map(holder -> holder.getId().getPath()), builder))
+                                .then(Commands.argument("radius", IntegerArgumentType.integer(1, 4096))
+                                        .executes(FiatLuxCommand::locate))))
+                .then(Commands.literal("stats")
+                        .executes(FiatLuxCommand::stats))
+                .then(Commands.literal("chunkloaders")
+                        .executes(FiatLuxCommand::chunkLoaders)));
+    }
+
+    private static int locate(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        CommandSourceStack source = context.getSource();
+        String typeName = StringArgumentType.getString(context, "type");
+        BlockEntityType<?> type = BuiltInRegistries.BLOCK_ENTITY_TYPE.get(ResourceLocation.fromNamespaceAndPath(FiatLux.MODID, typeName));
+        if (type == null || !FiatLux.MODID.equals(BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(type).getNamespace())) {
+            throw UNKNOWN_TYPE.create(typeName);
+        }
+        int radius = IntegerArgumentType.getInteger(context, "radius");
+        BlockPos center = BlockPos.containing(source.getPosition());
+
+        StringBuilder listed = new StringBuilder();
+        int[] found = new int[1];
+        BlockEntityPositionRegistry.get(source.getLevel()).getIndex(type).forEachWithin(center, radius, pos -> {
+            if (found[0]++ < MAX_LISTED) {
+                listed.append("\n  ").append(BlockPos.getX(pos)).append(' ')
+                        .append(BlockPos.getY(pos)).append(' ').append(BlockPos.getZ(pos));
+            }
+        });
+        String more = found[0] > MAX_LISTED ? "\n  ... and " + (found[0] - MAX_LISTED) + " more" : "";
+        source.sendSuccess(() -> Component.literal("Found " + found[0] + " " + typeName + " within " + radius
+                + " blocks" + listed + more), false);
+        return found[0];
+    }
+
+    private static int stats(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        ServerLevel level = source.getLevel();
+        BlockEntityPositionRegistry registry = BlockEntityPositionRegistry.get(level);
+
+        StringBuilder message = new StringBuilder("Fiat Lux block entities in " + level.dimension().location() + ":");
+        int total = 0;
+        for (Map.Entry<BlockEntityType<?>, BlockEntityPositionRegistry.TypeIndex> entry : registry.getIndexes().entrySet()) {
+            BlockEntityPositionRegistry.TypeIndex index = entry.getValue();
+            total += index.size();
+            message.append("\n  ").append(BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(entry.getKey()).getPath())
+                    .append(": ").append(index.size()).append(" in ").append(index.getChunkCount()).append(" chunks");
+        }
+
+        // Registered positions are always loaded, so each lookup is a direct chunk access
+        long[] energy = new long[2];
+        registry.getIndex(ModBlockEntities.ENERGY_STORAGE_BE.get()).forEach(pos -> {
+            if (level.getBlockEntity(BlockPos.of(pos)) instanceof EnergyStorageBlockEntity cell) {
+                energy[0] += cell.getEnergyStored();
+                energy[1] += cell.getMaxEnergyStored();
+            }
+        });
+        long[] items = new long[1];
+        registry.getIndex(ModBlockEntities.SIMPLE_STORAGE_BE.get()).forEach(pos -> {
+            if (level.getBlockEntity(BlockPos.of(pos)) instanceof SimpleStorageBlockEntity storage) {
+                items[0] += storage.getStoredItems();
+            }
+        });
+        message.append("\n  Stored energy: ").append(energy[0]).append("/").append(energy[1]).append(" FE");
+        message.append("\n  Stored items: ").append(items[0]);
+        EnergyNetworkManager energyNetworks = EnergyNetworkManager.get(level);
+        message.append("\n  Energy networks: ").append(energyNetworks.getNetworkCount())
+                .append(" (").append(energyNetworks.getCellCount()).append(" loaded cells, ")
+                .append(energyNetworks.getGhostCount()).append(" unloaded holding ")
+                .append(energyNetworks.getGhostEnergyStored()).append("/")
+                .append(energyNetworks.getGhostEnergyCapacity()).append(" FE)");
+
+        source.sendSuccess(() -> Component.literal(message.toString()), false);
+        return total;
+    }
+
+    // Per-loader areas overlap, so the footprint is the number of distinct forced chunks, not their sum
+    private static int chunkLoaders(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        StringBuilder message = new StringBuilder("Fiat Lux chunk loaders:");
+        int footprint = 0;
+        int listed = 0;
+        int loaderTotal = 0;
+        for (ServerLevel level : source.getServer().getAllLevels()) {
+            ChunkLoaderManager manager = ChunkLoaderManager.get(level);
+            List<ChunkLoaderBlockEntity> loaders = manager.getLoaders();
+            if (loaders.isEmpty() && manager.getForcedChunkCount() == 0) {
+                continue;
+            }
+            int claimed = 0;
+            message.append("\n ").append(level.dimension().location()).append(':');
+            for (ChunkLoaderBlockEntity loader : loaders) {
+                BlockPos pos = loader.getBlockPos();
+                if (loader.isPowered()) {
+                    claimed += loader.getChunkCount();
+                }
+                if (listed++ < MAX_LISTED) {
+                    message.append("\n  ").append(pos.getX()).append(' ').append(pos.getY()).append(' ').append(pos.getZ())
+                            .append(": ").append(loader.isPowered() ? loader.getChunkCount() : 0).append('/')
+                            .append(loader.getChunkCount()).append(" chunks, ").append(loader.getCostPerTick()).append(" FE/t")
+                            .append(loader.isPowered() ? "" : " (unpowered)");
+                }
+            }
+            message.append("\n  Force-loaded: ").append(manager.getForcedChunkCount()).append(" chunks (")
+                    .append(claimed).append(" claimed by ").append(loaders.size()).append(" loaders)");
+            footprint += manager.getForcedChunkCount();
+            loaderTotal += loaders.size();
+        }
+        if (listed > MAX_LISTED) {
+            message.append("\n ... and ").append(listed - MAX_LISTED).append(" more loaders");
+        }
+        message.append("\n Total footprint: ").append(footprint).append(" chunks from ").append(loaderTotal).append(" loaders");
+        source.sendSuccess(() -> Component.literal(message.toString()), false);
+        return footprint;
+    }
+}
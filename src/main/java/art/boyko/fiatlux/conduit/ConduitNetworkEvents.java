@@ -0,0 +1,29 @@
+package art.boyko.fiatlux.conduit;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class ConduitNetworkEvents {
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level
+                && level.getGameTime() % Config.CONDUIT_TRANSFER_INTERVAL.getAsInt() == 0) {
+            TickBudgetScheduler.submit(level, BlockPos.ZERO, TickBudgetScheduler.WorkType.CONDUIT_TRANSFER,
+                    () -> ConduitNetworkManager.get(level).tick(level));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        ConduitNetworkManager.remove(event.getLevel());
+    }
+}
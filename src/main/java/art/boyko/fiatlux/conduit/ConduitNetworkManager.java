@@ -0,0 +1,601 @@
+package art.boyko.fiatlux.conduit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.custom.block.ItemConduitBlock;
+import art.boyko.fiatlux.custom.block.SimpleStorageBlock;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.metrics.FiatLuxMetrics;
+import art.boyko.fiatlux.storage.ItemKey;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Groups the loaded item conduits of a level into networks and moves items between storages along them.
+ * <p>
+ * Each network caches one {@link RouteTable} per extracting conduit, along with the conduit's hop counts across
+ * the network. Topology, mode and adjacent-storage changes are collected and applied before the next transfer by
+ * patching only what they affect: an added conduit relaxes the hop counts outwards from itself, a removed one only
+ * forces a new flood for extractors whose shortest paths all ran through it, and only the storages and extractors
+ * next to a change are re-examined. Networks are built from scratch only the first time and after a split.
+ */
+public class ConduitNetworkManager {
+    private static final Map<LevelAccessor, ConduitNetworkManager> MANAGERS = new IdentityHashMap<>();
+    // Item types tried per source storage and transfer before giving up on it
+    private static final int MAX_TYPES_PER_SOURCE = 8;
+
+    private final Long2ObjectOpenHashMap<ConduitNetwork> networkByConduit = new Long2ObjectOpenHashMap<>();
+    private final ReferenceOpenHashSet<ConduitNetwork> networks = new ReferenceOpenHashSet<>();
+    // Networks that lost a conduit and may have split
+    private final ReferenceOpenHashSet<ConduitNetwork> splitCandidates = new ReferenceOpenHashSet<>();
+
+    static class ConduitNetwork {
+        final LongOpenHashSet members = new LongOpenHashSet();
+        // Extracting conduit (packed) -> routes; null until built, and again after a split
+        @Nullable Long2ObjectOpenHashMap<ExtractorRoutes> routes;
+        // Destination storage -> highest priority of the plain conduits touching it; built with the routes
+        @Nullable Long2IntOpenHashMap destinationPriority;
+        // Conduits added, removed or reconfigured and storages placed or removed since the routes were last updated
+        final LongOpenHashSet changedConduits = new LongOpenHashSet();
+        final LongOpenHashSet changedEndpoints = new LongOpenHashSet();
+
+        boolean hasRoutes() {
+            return routes != null;
+        }
+
+        void discardRoutes() {
+            routes = null;
+            destinationPriority = null;
+            changedConduits.clear();
+            changedEndpoints.clear();
+        }
+    }
+
+    static class ExtractorRoutes {
+        // Conduit hops from the extractor to every member it reaches
+        Long2IntOpenHashMap hops;
+        long[] sources;
+        RouteTable table;
+        // Hop counts can no longer be patched and need a new flood
+        boolean stale = false;
+        // Hop counts or sources changed, so the table must be rebuilt
+        boolean changed = false;
+
+        ExtractorRoutes(Long2IntOpenHashMap hops, long[] sources) {
+            this.hops = hops;
+            this.sources = sources;
+        }
+    }
+
+    public static ConduitNetworkManager get(LevelAccessor level) {
+        return MANAGERS.computeIfAbsent(level, key -> new ConduitNetworkManager());
+    }
+
+    public static void remove(LevelAccessor level) {
+        MANAGERS.remove(level);
+    }
+
+    public void addConduit(BlockPos pos) {
+        long key = pos.asLong();
+        if (networkByConduit.containsKey(key)) {
+            return;
+        }
+        // Join the largest neighbouring network and relabel the smaller ones into it
+        List<ConduitNetwork> neighbours = new ArrayList<>(6);
+        for (Direction direction : Direction.values()) {
+            ConduitNetwork neighbour = networkByConduit.get(BlockPos.offset(key, direction));
+            if (neighbour != null && !neighbours.contains(neighbour)) {
+                neighbours.add(neighbour);
+            }
+        }
+        ConduitNetwork target;
+        if (neighbours.isEmpty()) {
+            target = new ConduitNetwork();
+            networks.add(target);
+        } else {
+            target = neighbours.get(0);
+            for (ConduitNetwork neighbour : neighbours) {
+                if (neighbour.members.size() > target.members.size()) {
+                    target = neighbour;
+                }
+            }
+            for (ConduitNetwork neighbour : neighbours) {
+                if (neighbour != target) {
+                    merge(neighbour, target);
+                }
+            }
+        }
+        target.members.add(key);
+        networkByConduit.put(key, target);
+        if (target.hasRoutes()) {
+            target.changedConduits.add(key);
+        }
+    }
+
+    public void removeConduit(BlockPos pos) {
+        ConduitNetwork network = networkByConduit.remove(pos.asLong());
+        if (network == null) {
+            return;
+        }
+        network.members.remove(pos.asLong());
+        if (network.members.isEmpty()) {
+            networks.remove(network);
+            splitCandidates.remove(network);
+        } else {
+            splitCandidates.add(network);
+            if (network.hasRoutes()) {
+                network.changedConduits.add(pos.asLong());
+            }
+        }
+    }
+
+    /**
+     * Called when a conduit's mode or priority changes.
+     */
+    public void onConduitChanged(BlockPos pos) {
+        ConduitNetwork network = networkByConduit.get(pos.asLong());
+        if (network != null && network.hasRoutes()) {
+            network.changedConduits.add(pos.asLong());
+        }
+    }
+
+    /**
+     * Called when a storage next to the given position is placed or removed.
+     */
+    public void onEndpointChanged(BlockPos pos) {
+        for (Direction direction : Direction.values()) {
+            ConduitNetwork network = networkByConduit.get(BlockPos.offset(pos.asLong(), direction));
+            if (network != null && network.hasRoutes()) {
+                network.changedEndpoints.add(pos.asLong());
+            }
+        }
+    }
+
+    public int getConduitCount() {
+        return networkByConduit.size();
+    }
+
+    public int getNetworkCount() {
+        return networks.size();
+    }
+
+    public void tick(Level level) {
+        resolveSplits();
+        int itemsPerTransfer = Config.CONDUIT_ITEMS_PER_TRANSFER.getAsInt();
+        for (ConduitNetwork network : networks) {
+            if (!network.hasRoutes()) {
+                buildRoutes(level, network);
+            } else if (!network.changedConduits.isEmpty() || !network.changedEndpoints.isEmpty()) {
+                updateRoutes(level, network);
+            }
+            for (ExtractorRoutes routes : network.routes.values()) {
+                transfer(level, routes.table, itemsPerTransfer);
+            }
+        }
+    }
+
+    private void merge(ConduitNetwork from, ConduitNetwork into) {
+        LongIterator iterator = from.members.iterator();
+        while (iterator.hasNext()) {
+            long member = iterator.nextLong();
+            into.members.add(member);
+            networkByConduit.put(member, into);
+        }
+        networks.remove(from);
+        if (splitCandidates.remove(from)) {
+            splitCandidates.add(into);
+        }
+        // Both sides keep their routes; the joining conduit's hop relaxation then extends them across
+        if (from.hasRoutes() && into.hasRoutes()) {
+            into.routes.putAll(from.routes);
+            for (Long2IntMap.Entry entry : from.destinationPriority.long2IntEntrySet()) {
+                into.destinationPriority.merge(entry.getLongKey(), entry.getIntValue(), Math::max);
+            }
+            into.changedConduits.addAll(from.changedConduits);
+            into.changedEndpoints.addAll(from.changedEndpoints);
+        } else {
+            into.discardRoutes();
+        }
+    }
+
+    // Re-floods only networks that lost a conduit since the last tick; a network that is still whole keeps its routes
+    private void resolveSplits() {
+        for (ConduitNetwork network : splitCandidates) {
+            LongOpenHashSet unassigned = new LongOpenHashSet(network.members);
+            LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+            List<LongOpenHashSet> parts = new ArrayList<>(1);
+            while (!unassigned.isEmpty()) {
+                LongOpenHashSet part = new LongOpenHashSet();
+                long start = unassigned.iterator().nextLong();
+                unassigned.remove(start);
+                queue.enqueue(start);
+                while (!queue.isEmpty()) {
+                    long current = queue.dequeueLong();
+                    part.add(current);
+                    for (Direction direction : Direction.values()) {
+                        long neighbour = BlockPos.offset(current, direction);
+                        if (unassigned.remove(neighbour)) {
+                            queue.enqueue(neighbour);
+                        }
+                    }
+                }
+                parts.add(part);
+            }
+            if (parts.size() <= 1) {
+                continue;
+            }
+            networks.remove(network);
+            for (LongOpenHashSet members : parts) {
+                ConduitNetwork part = new ConduitNetwork();
+                part.members.addAll(members);
+                LongIterator iterator = members.iterator();
+                while (iterator.hasNext()) {
+                    networkByConduit.put(iterator.nextLong(), part);
+                }
+                networks.add(part);
+            }
+        }
+        splitCandidates.clear();
+    }
+
+    private static void buildRoutes(Level level, ConduitNetwork network) {
+        network.destinationPriority = new Long2IntOpenHashMap();
+        network.routes = new Long2ObjectOpenHashMap<>();
+        LongIterator members = network.members.iterator();
+        while (members.hasNext()) {
+            long member = members.nextLong();
+            BlockState state = level.getBlockState(BlockPos.of(member));
+            if (!(state.getBlock() instanceof ItemConduitBlock)) {
+                continue;
+            }
+            if (state.getValue(ItemConduitBlock.EXTRACT)) {
+                network.routes.put(member, new ExtractorRoutes(floodHops(network, member), findSources(level, member)));
+                continue;
+            }
+            int priority = state.getValue(ItemConduitBlock.PRIORITY);
+            for (Direction direction : Direction.values()) {
+                long neighbour = BlockPos.offset(member, direction);
+                if (isStorage(level, neighbour)) {
+                    network.destinationPriority.merge(neighbour, priority, Math::max);
+                }
+            }
+        }
+        for (ExtractorRoutes routes : network.routes.values()) {
+            routes.table = buildRouteTable(routes, network.destinationPriority);
+        }
+        network.changedConduits.clear();
+        network.changedEndpoints.clear();
+    }
+
+    /**
+     * Applies the changes collected since the last transfer to the existing routes.
+     */
+    private static void updateRoutes(Level level, ConduitNetwork network) {
+        Long2ObjectOpenHashMap<ExtractorRoutes> routes = network.routes;
+        // Storages whose priority may have changed, and extractors whose adjacent storages may have
+        LongOpenHashSet destinations = new LongOpenHashSet(network.changedEndpoints);
+        LongOpenHashSet sourceChanges = new LongOpenHashSet();
+
+        // Removed conduits first, so relaxation from added ones never walks through a conduit that is gone
+        LongIterator changed = network.changedConduits.iterator();
+        while (changed.hasNext()) {
+            long conduit = changed.nextLong();
+            if (network.members.contains(conduit)) {
+                continue;
+            }
+            for (ExtractorRoutes extractor : routes.values()) {
+                if (extractor.hops.containsKey(conduit)) {
+                    if (!extractor.stale && !hasOtherParents(network, extractor.hops, conduit)) {
+                        extractor.stale = true;
+                    }
+                    extractor.hops.remove(conduit);
+                    extractor.changed = true;
+                }
+            }
+        }
+        changed = network.changedConduits.iterator();
+        while (changed.hasNext()) {
+            long conduit = changed.nextLong();
+            if (!network.members.contains(conduit)) {
+                continue;
+            }
+            for (ExtractorRoutes extractor : routes.values()) {
+                // Already known conduits only changed mode or priority, which does not affect hop counts
+                if (!extractor.stale && !extractor.hops.containsKey(conduit) && relax(network, extractor.hops, conduit)) {
+                    extractor.changed = true;
+                }
+            }
+        }
+
+        changed = network.changedConduits.iterator();
+        while (changed.hasNext()) {
+            long conduit = changed.nextLong();
+            BlockState state = level.getBlockState(BlockPos.of(conduit));
+            boolean extracting = network.members.contains(conduit)
+                    && state.getBlock() instanceof ItemConduitBlock && state.getValue(ItemConduitBlock.EXTRACT);
+            if (extracting && !routes.containsKey(conduit)) {
+                ExtractorRoutes extractor = new ExtractorRoutes(floodHops(network, conduit), findSources(level, conduit));
+                extractor.changed = true;
+                routes.put(conduit, extractor);
+            } else if (!extracting) {
+                routes.remove(conduit);
+            }
+            for (Direction direction : Direction.values()) {
+                destinations.add(BlockPos.offset(conduit, direction));
+            }
+        }
+        changed = network.changedEndpoints.iterator();
+        while (changed.hasNext()) {
+            long endpoint = changed.nextLong();
+            for (Direction direction : Direction.values()) {
+                long neighbour = BlockPos.offset(endpoint, direction);
+                if (routes.containsKey(neighbour)) {
+                    sourceChanges.add(neighbour);
+                }
+            }
+        }
+
+        boolean destinationsChanged = false;
+        LongIterator destinationIterator = destinations.iterator();
+        while (destinationIterator.hasNext()) {
+            long destination = destinationIterator.nextLong();
+            int priority = getDestinationPriority(level, network, destination);
+            int before = network.destinationPriority.containsKey(destination) ? network.destinationPriority.get(destination) : -1;
+            if (priority != before) {
+                if (priority < 0) {
+                    network.destinationPriority.remove(destination);
+                } else {
+                    network.destinationPriority.put(destination, priority);
+                }
+                destinationsChanged = true;
+            }
+        }
+
+        for (Long2ObjectMap.Entry<ExtractorRoutes> entry : routes.long2ObjectEntrySet()) {
+            ExtractorRoutes extractor = entry.getValue();
+            if (extractor.stale) {
+                extractor.hops = floodHops(network, entry.getLongKey());
+                extractor.stale = false;
+            }
+            if (sourceChanges.contains(entry.getLongKey())) {
+                extractor.sources = findSources(level, entry.getLongKey());
+                extractor.changed = true;
+            }
+            if (extractor.changed || destinationsChanged || extractor.table == null) {
+                extractor.table = buildRouteTable(extractor, network.destinationPriority);
+                extractor.changed = false;
+            }
+        }
+        network.changedConduits.clear();
+        network.changedEndpoints.clear();
+    }
+
+    // Breadth-first hop counts from the extractor across the network
+    private static Long2IntOpenHashMap floodHops(ConduitNetwork network, long extractor) {
+        Long2IntOpenHashMap hops = new Long2IntOpenHashMap();
+        hops.defaultReturnValue(-1);
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        hops.put(extractor, 0);
+        queue.enqueue(extractor);
+        propagate(network, hops, queue);
+        return hops;
+    }
+
+    /**
+     * Gives a newly added conduit its hop count from the neighbour nearest the extractor and spreads any
+     * shorter paths it opens up. A conduit with no reached neighbour is left for a later added one to reach.
+     *
+     * @return whether the conduit was reached
+     */
+    private static boolean relax(ConduitNetwork network, Long2IntOpenHashMap hops, long conduit) {
+        int best = -1;
+        for (Direction direction : Direction.values()) {
+            long neighbour = BlockPos.offset(conduit, direction);
+            int neighbourHops = network.members.contains(neighbour) ? hops.get(neighbour) : -1;
+            if (neighbourHops >= 0 && (best < 0 || neighbourHops + 1 < best)) {
+                best = neighbourHops + 1;
+            }
+        }
+        if (best < 0) {
+            return false;
+        }
+        hops.put(conduit, best);
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        queue.enqueue(conduit);
+        propagate(network, hops, queue);
+        return true;
+    }
+
+    private static void propagate(ConduitNetwork network, Long2IntOpenHashMap hops, LongArrayFIFOQueue queue) {
+        while (!queue.isEmpty()) {
+            long current = queue.dequeueLong();
+            int next = hops.get(current) + 1;
+            for (Direction direction : Direction.values()) {
+                long neighbour = BlockPos.offset(current, direction);
+                if (network.members.contains(neighbour)) {
+                    int known = hops.get(neighbour);
+                    if (known < 0 || known > next) {
+                        hops.put(neighbour, next);
+                        queue.enqueue(neighbour);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether every conduit one hop further out than the removed one still has another neighbour at the removed
+     * one's distance. If so, no shortest path needed it and all other hop counts stay valid.
+     */
+    private static boolean hasOtherParents(ConduitNetwork network, Long2IntOpenHashMap hops, long removed) {
+        int removedHops = hops.get(removed);
+        for (Direction direction : Direction.values()) {
+            long child = BlockPos.offset(removed, direction);
+            if (!network.members.contains(child) || hops.get(child) != removedHops + 1) {
+                continue;
+            }
+            boolean hasParent = false;
+            for (Direction parentDirection : Direction.values()) {
+                long parent = BlockPos.offset(child, parentDirection);
+                if (parent != removed && network.members.contains(parent) && hops.get(parent) == removedHops) {
+                    hasParent = true;
+                    break;
+                }
+            }
+            if (!hasParent) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] findSources(Level level, long extractor) {
+        LongArrayList sources = new LongArrayList();
+        for (Direction direction : Direction.values()) {
+            long neighbour = BlockPos.offset(extractor, direction);
+            if (isStorage(level, neighbour)) {
+                sources.add(neighbour);
+            }
+        }
+        return sources.toLongArray();
+    }
+
+    // Highest priority of the network's plain conduits next to the storage, or -1 if it is no destination
+    private static int getDestinationPriority(Level level, ConduitNetwork network, long destination) {
+        if (!isStorage(level, destination)) {
+            return -1;
+        }
+        int priority = -1;
+        for (Direction direction : Direction.values()) {
+            long neighbour = BlockPos.offset(destination, direction);
+            if (!network.members.contains(neighbour)) {
+                continue;
+            }
+            BlockState state = level.getBlockState(BlockPos.of(neighbour));
+            if (state.getBlock() instanceof ItemConduitBlock && !state.getValue(ItemConduitBlock.EXTRACT)) {
+                priority = Math.max(priority, state.getValue(ItemConduitBlock.PRIORITY));
+            }
+        }
+        return priority;
+    }
+
+    private static RouteTable buildRouteTable(ExtractorRoutes extractor, Long2IntOpenHashMap destinationPriority) {
+        Long2IntOpenHashMap hops = extractor.hops;
+        int count = destinationPriority.size();
+        long[] destinations = new long[count];
+        int[] distances = new int[count];
+        int[] priorities = new int[count];
+        int index = 0;
+        for (Long2IntMap.Entry entry : destinationPriority.long2IntEntrySet()) {
+            long destination = entry.getLongKey();
+            int distance = Integer.MAX_VALUE;
+            for (Direction direction : Direction.values()) {
+                int conduitHops = hops.get(BlockPos.offset(destination, direction));
+                if (conduitHops >= 0) {
+                    distance = Math.min(distance, conduitHops + 1);
+                }
+            }
+            destinations[index] = destination;
+            distances[index] = distance;
+            priorities[index] = entry.getIntValue();
+            index++;
+        }
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            if (priorities[a] != priorities[b]) {
+                return Integer.compare(priorities[b], priorities[a]);
+            }
+            if (distances[a] != distances[b]) {
+                return Integer.compare(distances[a], distances[b]);
+            }
+            return Long.compare(destinations[a], destinations[b]);
+        });
+        long[] sortedDestinations = new long[count];
+        int[] sortedDistances = new int[count];
+        for (int i = 0; i < count; i++) {
+            sortedDestinations[i] = destinations[order[i]];
+            sortedDistances[i] = distances[order[i]];
+        }
+        return new RouteTable(extractor.sources, sortedDestinations, sortedDistances);
+    }
+
+    private static boolean isStorage(Level level, long pos) {
+        BlockPos blockPos = BlockPos.of(pos);
+        return level.isLoaded(blockPos) && level.getBlockState(blockPos).getBlock() instanceof SimpleStorageBlock;
+    }
+
+    // Moves up to the per-transfer item limit out of each source, filling destinations in route order
+    private static void transfer(Level level, RouteTable table, int itemsPerTransfer) {
+        for (long source : table.sources()) {
+            if (!(level.getBlockEntity(BlockPos.of(source)) instanceof SimpleStorageBlockEntity from) || from.isEmpty()) {
+                continue;
+            }
+            int budget = itemsPerTransfer;
+            List<ItemKey> keys = new ArrayList<>(MAX_TYPES_PER_SOURCE);
+            for (ItemKey key : from.getInventory().getCounts().keySet()) {
+                keys.add(key);
+                if (keys.size() >= MAX_TYPES_PER_SOURCE) {
+                    break;
+                }
+            }
+            for (ItemKey key : keys) {
+                for (long destination : table.destinations()) {
+                    if (budget <= 0) {
+                        return;
+                    }
+                    if (destination == source) {
+                        continue;
+                    }
+                    int available = (int) Math.min(budget, from.getInventory().getCount(key));
+                    if (available <= 0) {
+                        break;
+                    }
+                    BlockPos destinationPos = BlockPos.of(destination);
+                    if (!level.isLoaded(destinationPos)) {
+                        continue;
+                    }
+                    BlockState state = level.getBlockState(destinationPos);
+                    if (!(state.getBlock() instanceof SimpleStorageBlock)) {
+                        continue;
+                    }
+                    // Checked before promoting, so a compact storage only gets a block entity once items go into it
+                    int accepted = (int) SimpleStorageBlock.getAcceptable(level, destinationPos, state, key, available);
+                    if (accepted <= 0) {
+                        continue;
+                    }
+                    SimpleStorageBlockEntity to = SimpleStorageBlock.getOrPromote(level, destinationPos, state);
+                    if (to == null) {
+                        continue;
+                    }
+                    ItemStack moved = from.removeItem(key, accepted, false);
+                    to.addItem(moved, false);
+                    budget -= moved.getCount();
+                    FiatLuxMetrics.CONDUIT_ITEMS_MOVED.add(moved.getCount());
+                }
+            }
+        }
+    }
+}
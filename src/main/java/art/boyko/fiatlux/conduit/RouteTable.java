@@ -0,0 +1,12 @@
+package art.boyko.fiatlux.conduit;
+
+/**
+ * Precomputed routes of one extracting conduit.
+ *
+ * @param sources      packed positions of the storages the conduit pulls from
+ * @param destinations packed positions of the storages reachable on the network, highest priority first,
+ *                     then nearest first
+ * @param distances    conduit hops to each destination, parallel to {@code destinations}
+ */
+public record RouteTable(long[] sources, long[] destinations, int[] distances) {
+}
@@ -0,0 +1,50 @@
+package art.boyko.fiatlux.custom.block;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.charging.ChargingPadManager;
+import art.boyko.fiatlux.custom.blockentity.ChargingPadBlockEntity;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.RenderShape;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+public class ChargingPadBlock extends BaseEntityBlock {
+    public static final MapCodec<ChargingPadBlock> CODEC = simpleCodec(ChargingPadBlock::new);
+
+    public ChargingPadBlock(Properties properties) {
+        super(properties);
+    }
+
+    @Override
+    protected MapCodec<? extends BaseEntityBlock> codec() {
+        return CODEC;
+    }
+
+    @Override
+    public @Nullable BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new ChargingPadBlockEntity(pos, state);
+    }
+
+    @Override
+    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hitResult) {
+        if (!level.isClientSide()) {
+            player.sendSystemMessage(Component.literal("Charging radius: " + Config.CHARGING_PAD_RADIUS.getAsInt()
+                    + " (" + ChargingPadManager.getAdjacentCells(level, pos).size() + " adjacent energy cells, "
+                    + ChargingPadManager.get(level).getPadCount() + " pads in this dimension)"));
+        }
+        return InteractionResult.SUCCESS;
+    }
+
+    @Override
+    protected RenderShape getRenderShape(BlockState state) {
+        return RenderShape.MODEL;
+    }
+}
@@ -0,0 +1,52 @@
+package art.boyko.fiatlux.custom.block;
+
+import art.boyko.fiatlux.custom.blockentity.ChunkLoaderBlockEntity;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.RenderShape;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+public class ChunkLoaderBlock extends BaseEntityBlock {
+    public static final MapCodec<ChunkLoaderBlock> CODEC = simpleCodec(ChunkLoaderBlock::new);
+
+    public ChunkLoaderBlock(Properties properties) {
+        super(properties);
+    }
+
+    @Override
+    protected MapCodec<? extends BaseEntityBlock> codec() {
+        return CODEC;
+    }
+
+    @Override
+    public @Nullable BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new ChunkLoaderBlockEntity(pos, state);
+    }
+
+    // Right-click cycles the radius, sneak right-click only shows the status
+    @Override
+    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hitResult) {
+        if (!level.isClientSide() && level.getBlockEntity(pos) instanceof ChunkLoaderBlockEntity loader) {
+            if (!player.isShiftKeyDown()) {
+                loader.cycleRadius();
+            }
+            player.sendSystemMessage(Component.literal("Chunk loader radius: " + loader.getRadius()
+                    + " (" + loader.getChunkCount() + " chunks, " + loader.getCostPerTick() + " FE/t, "
+                    + (loader.isPowered() ? "powered" : "unpowered") + ")"));
+        }
+        return InteractionResult.SUCCESS;
+    }
+
+    @Override
+    protected RenderShape getRenderShape(BlockState state) {
+        return RenderShape.MODEL;
+    }
+}
@@ -1,7 +1,6 @@
 package art.boyko.fiatlux.custom.block;
 
 import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
-import art.boyko.fiatlux.init.ModBlockEntities;
 import com.mojang.serialization.MapCodec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
@@ -12,8 +11,6 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseEntityBlock;
 import net.minecraft.world.level.block.RenderShape;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 import org.jetbrains.annotations.Nullable;
@@ -63,13 +60,16 @@ public class EnergyStorageBlock extends BaseEntityBlock {
         return RenderShape.MODEL;
     }
 
+    // No ticker: passive generation and decay are evaluated lazily by the block entity
+
     @Override
-    public @Nullable <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> blockEntityType) {
-        if (level.isClientSide()) {
-            return null;
-        }
-        
-        return createTickerHelper(blockEntityType, ModBlockEntities.ENERGY_STORAGE_BE.get(),
-                (level1, pos, state1, blockEntity) -> blockEntity.tick(level1, pos, state1));
+    protected boolean hasAnalogOutputSignal(BlockState state) {
+        return true;
+    }
+
+    // Cached in the block entity and only recomputed when the stored energy changes
+    @Override
+    protected int getAnalogOutputSignal(BlockState state, Level level, BlockPos pos) {
+        return level.getBlockEntity(pos) instanceof EnergyStorageBlockEntity energyEntity ? energyEntity.getComparatorLevel() : 0;
     }
 }
\ No newline at end of file
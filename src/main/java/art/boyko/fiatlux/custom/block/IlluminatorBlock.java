@@ -0,0 +1,76 @@
+package art.boyko.fiatlux.custom.block;
+
+import art.boyko.fiatlux.custom.blockentity.IlluminatorBlockEntity;
+import art.boyko.fiatlux.illumination.IlluminatedAreaTracker;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.RenderShape;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+public class IlluminatorBlock extends BaseEntityBlock {
+    public static final MapCodec<IlluminatorBlock> CODEC = simpleCodec(IlluminatorBlock::new);
+
+    public IlluminatorBlock(Properties properties) {
+        super(properties);
+    }
+
+    @Override
+    protected MapCodec<? extends BaseEntityBlock> codec() {
+        return CODEC;
+    }
+
+    @Override
+    public @Nullable BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new IlluminatorBlockEntity(pos, state);
+    }
+
+    @Override
+    public void setPlacedBy(Level level, BlockPos pos, BlockState state, @Nullable LivingEntity placer, ItemStack stack) {
+        super.setPlacedBy(level, pos, state, placer, stack);
+        if (level instanceof ServerLevel serverLevel && level.getBlockEntity(pos) instanceof IlluminatorBlockEntity illuminator) {
+            illuminator.placeLights(serverLevel);
+        }
+    }
+
+    @Override
+    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hitResult) {
+        if (!level.isClientSide()) {
+            BlockEntity blockEntity = level.getBlockEntity(pos);
+            if (blockEntity instanceof IlluminatorBlockEntity illuminator) {
+                IlluminatedAreaTracker tracker = IlluminatedAreaTracker.get(level);
+                player.sendSystemMessage(Component.literal("Illuminated radius: " + illuminator.getRadius()
+                        + " (" + tracker.getIlluminatorCount() + " illuminators, " + tracker.getSectionCount() + " sections covered)"));
+            }
+        }
+        return InteractionResult.SUCCESS;
+    }
+
+    @Override
+    protected RenderShape getRenderShape(BlockState state) {
+        return RenderShape.MODEL;
+    }
+
+    @Override
+    protected void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean movedByPiston) {
+        if (state.getBlock() != newState.getBlock() && level instanceof ServerLevel serverLevel) {
+            BlockEntity blockEntity = level.getBlockEntity(pos);
+            super.onRemove(state, level, pos, newState, movedByPiston);
+            if (blockEntity instanceof IlluminatorBlockEntity illuminator) {
+                illuminator.removeLights(serverLevel);
+            }
+            return;
+        }
+        super.onRemove(state, level, pos, newState, movedByPiston);
+    }
+}
@@ -0,0 +1,74 @@
+package art.boyko.fiatlux.custom.block;
+
+import art.boyko.fiatlux.conduit.ConduitNetworkManager;
+import art.boyko.fiatlux.custom.blockentity.ItemConduitBlockEntity;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.RenderShape;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
+import net.minecraft.world.level.block.state.properties.IntegerProperty;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Item conduit. Extracting conduits pull from adjacent storages; plain conduits deliver into adjacent storages,
+ * higher priority first. Routing is handled by {@link ConduitNetworkManager}.
+ */
+public class ItemConduitBlock extends BaseEntityBlock {
+    public static final MapCodec<ItemConduitBlock> CODEC = simpleCodec(ItemConduitBlock::new);
+
+    public static final BooleanProperty EXTRACT = BooleanProperty.create("extract");
+    public static final IntegerProperty PRIORITY = IntegerProperty.create("priority", 0, 3);
+
+    public ItemConduitBlock(Properties properties) {
+        super(properties);
+        registerDefaultState(stateDefinition.any().setValue(EXTRACT, false).setValue(PRIORITY, 0));
+    }
+
+    @Override
+    protected MapCodec<? extends BaseEntityBlock> codec() {
+        return CODEC;
+    }
+
+    @Override
+    protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
+        builder.add(EXTRACT, PRIORITY);
+    }
+
+    @Override
+    public @Nullable BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new ItemConduitBlockEntity(pos, state);
+    }
+
+    // Right-click cycles the delivery priority, sneak right-click toggles extraction
+    @Override
+    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hitResult) {
+        if (!level.isClientSide()) {
+            BlockState newState;
+            if (player.isShiftKeyDown()) {
+                newState = state.cycle(EXTRACT);
+                player.sendSystemMessage(Component.literal(newState.getValue(EXTRACT) ? "Conduit extracts" : "Conduit delivers"));
+            } else {
+                newState = state.cycle(PRIORITY);
+                player.sendSystemMessage(Component.literal("Conduit priority: " + newState.getValue(PRIORITY)));
+            }
+            level.setBlock(pos, newState, 3);
+            ConduitNetworkManager.get(level).onConduitChanged(pos);
+        }
+        return InteractionResult.SUCCESS;
+    }
+
+    @Override
+    protected RenderShape getRenderShape(BlockState state) {
+        return RenderShape.MODEL;
+    }
+}
@@ -1,30 +1,51 @@
 package art.boyko.fiatlux.custom.block;
 
+import java.util.List;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.conduit.ConduitNetworkManager;
 import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
-import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.custom.menu.StorageTerminalMenu;
+import art.boyko.fiatlux.init.ModDataComponents;
+import art.boyko.fiatlux.init.ModItems;
+import art.boyko.fiatlux.storage.ItemKey;
+import art.boyko.fiatlux.storage.StorageContentsRef;
 import com.mojang.serialization.MapCodec;
+import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
-import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
+import net.minecraft.world.ItemInteractionResult;
+import net.minecraft.world.SimpleMenuProvider;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseEntityBlock;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.RenderShape;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.phys.BlockHitResult;
 import org.jetbrains.annotations.Nullable;
 
 public class SimpleStorageBlock extends BaseEntityBlock {
     public static final MapCodec<SimpleStorageBlock> CODEC = simpleCodec(SimpleStorageBlock::new);
 
+    // Compact storage: empty storages are plain blocks and only get a block entity once something is stored
+    public static final BooleanProperty HAS_ENTITY = BooleanProperty.create("has_entity");
+
     public SimpleStorageBlock(Properties properties) {
         super(properties);
+        // Defaults to a block entity so storages saved before compact mode keep their contents
+        registerDefaultState(stateDefinition.any().setValue(HAS_ENTITY, true));
     }
 
     @Override
@@ -32,55 +53,149 @@ public class SimpleStorageBlock extends BaseEntityBlock {
         return CODEC;
     }
 
+    @Override
+    protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
+        builder.add(HAS_ENTITY);
+    }
+
+    // A storage item carrying contents needs its block entity right away to receive them
+    @Override
+    public @Nullable BlockState getStateForPlacement(BlockPlaceContext context) {
+        boolean hasContents = context.getItemInHand().has(ModDataComponents.STORAGE_CONTENTS);
+        return defaultBlockState().setValue(HAS_ENTITY, hasContents || !Config.COMPACT_STORAGE.getAsBoolean());
+    }
+
+    // Only the summary travels with the item, see StorageContentsRef
+    @Override
+    public void appendHoverText(ItemStack stack, Item.TooltipContext context, List<Component> tooltipComponents, TooltipFlag tooltipFlag) {
+        super.appendHoverText(stack, context, tooltipComponents, tooltipFlag);
+        StorageContentsRef contents = stack.get(ModDataComponents.STORAGE_CONTENTS);
+        if (contents != null) {
+            tooltipComponents.add(Component.literal("Items: " + contents.total() + " (" + contents.types() + " types)")
+                    .withStyle(ChatFormatting.GRAY));
+        }
+    }
+
     @Override
     public @Nullable BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
-        return new SimpleStorageBlockEntity(pos, state);
+        return state.getValue(HAS_ENTITY) ? new SimpleStorageBlockEntity(pos, state) : null;
     }
 
+    // Right-click with an item to store the held stack, or with a vacuum upgrade to install it
     @Override
-    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hitResult) {
+    protected ItemInteractionResult useItemOn(ItemStack stack, BlockState state, Level level, BlockPos pos, Player player, InteractionHand hand, BlockHitResult hitResult) {
+        if (stack.isEmpty()) {
+            return ItemInteractionResult.PASS_TO_DEFAULT_BLOCK_INTERACTION;
+        }
         if (!level.isClientSide()) {
-            BlockEntity blockEntity = level.getBlockEntity(pos);
-            if (blockEntity instanceof SimpleStorageBlockEntity storageEntity) {
-                int storedItems = storageEntity.getStoredItems();
-                player.sendSystemMessage(Component.literal("Stored items: " + storedItems));
-                
-                // Simple interaction: right-click to add/remove items
-                if (player.isShiftKeyDown()) {
-                    storageEntity.removeItem();
-                    player.sendSystemMessage(Component.literal("Removed item. New count: " + storageEntity.getStoredItems()));
+            SimpleStorageBlockEntity storageEntity = getOrPromote(level, pos, state);
+            if (storageEntity != null && stack.is(ModItems.VACUUM_UPGRADE.get())) {
+                if (storageEntity.hasVacuum()) {
+                    player.sendSystemMessage(Component.literal("Vacuum upgrade already installed"));
                 } else {
-                    storageEntity.addItem();
-                    player.sendSystemMessage(Component.literal("Added item. New count: " + storageEntity.getStoredItems()));
+                    storageEntity.setVacuum(true);
+                    stack.consume(1, player);
+                    player.sendSystemMessage(Component.literal("Vacuum upgrade installed (radius " + Config.VACUUM_RADIUS.getAsInt() + ")"));
                 }
+            } else if (storageEntity != null) {
+                int accepted = storageEntity.addItem(stack, false);
+                stack.shrink(accepted);
+                player.sendSystemMessage(Component.literal("Added item. New count: " + storageEntity.getStoredItems()));
+            }
+        }
+        return ItemInteractionResult.sidedSuccess(level.isClientSide());
+    }
+
+    // Right-click with an empty hand to open the storage terminal; sneak to take out the vacuum upgrade
+    @Override
+    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hitResult) {
+        if (!level.isClientSide()) {
+            BlockEntity blockEntity = level.getBlockEntity(pos);
+            if (blockEntity instanceof SimpleStorageBlockEntity storageEntity && player.isShiftKeyDown() && storageEntity.hasVacuum()) {
+                storageEntity.setVacuum(false);
+                player.getInventory().placeItemBackInInventory(new ItemStack(ModItems.VACUUM_UPGRADE.get()));
+                player.sendSystemMessage(Component.literal("Vacuum upgrade removed"));
+            } else if (blockEntity instanceof SimpleStorageBlockEntity storageEntity) {
+                player.openMenu(new SimpleMenuProvider(
+                        (containerId, playerInventory, menuPlayer) -> new StorageTerminalMenu(containerId, playerInventory, storageEntity),
+                        Component.translatable("container.fiatlux.storage_terminal")), buf -> buf.writeBlockPos(pos));
+            } else {
+                player.sendSystemMessage(Component.literal("Stored items: 0"));
             }
         }
         return InteractionResult.SUCCESS;
     }
 
+    /**
+     * Returns the storage's block entity, first turning a compact storage into one backed by a block entity.
+     */
+    public static @Nullable SimpleStorageBlockEntity getOrPromote(Level level, BlockPos pos, BlockState state) {
+        if (!state.getValue(HAS_ENTITY)) {
+            // The chunk creates the block entity as soon as it sees HAS_ENTITY
+            level.setBlock(pos, state.setValue(HAS_ENTITY, true), 3);
+        }
+        return level.getBlockEntity(pos) instanceof SimpleStorageBlockEntity storageEntity ? storageEntity : null;
+    }
+
+    /**
+     * How much of the given type the storage would accept, without promoting a compact storage.
+     */
+    public static long getAcceptable(Level level, BlockPos pos, BlockState state, ItemKey key, long amount) {
+        if (!state.getValue(HAS_ENTITY)) {
+            // Compact storages are empty
+            return Math.min(amount, Config.STORAGE_CAPACITY.getAsInt());
+        }
+        return level.getBlockEntity(pos) instanceof SimpleStorageBlockEntity storageEntity
+                ? storageEntity.getInventory().insert(key, amount, true) : 0;
+    }
+
+    // Scheduled by the block entity once it is empty and no terminal is open on it
+    @Override
+    protected void tick(BlockState state, ServerLevel level, BlockPos pos, RandomSource random) {
+        if (state.getValue(HAS_ENTITY) && level.getBlockEntity(pos) instanceof SimpleStorageBlockEntity storageEntity
+                && storageEntity.canDemote()) {
+            // Same block, so the chunk would keep the block entity unless it is removed explicitly
+            level.removeBlockEntity(pos);
+            level.setBlock(pos, state.setValue(HAS_ENTITY, false), 3);
+        }
+    }
+
+    @Override
+    protected boolean hasAnalogOutputSignal(BlockState state) {
+        return true;
+    }
+
+    // Cached in the block entity; compact storages are always empty
+    @Override
+    protected int getAnalogOutputSignal(BlockState state, Level level, BlockPos pos) {
+        return level.getBlockEntity(pos) instanceof SimpleStorageBlockEntity storageEntity ? storageEntity.getComparatorLevel() : 0;
+    }
+
     @Override
     protected RenderShape getRenderShape(BlockState state) {
         return RenderShape.MODEL;
     }
 
+    // Conduit routes only change when a storage appears or disappears, not when it is promoted or demoted
+    @Override
+    protected void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean movedByPiston) {
+        super.onPlace(state, level, pos, oldState, movedByPiston);
+        if (state.getBlock() != oldState.getBlock() && !level.isClientSide()) {
+            ConduitNetworkManager.get(level).onEndpointChanged(pos);
+        }
+    }
+
     @Override
     protected void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean movedByPiston) {
         if (state.getBlock() != newState.getBlock()) {
+            if (!level.isClientSide()) {
+                ConduitNetworkManager.get(level).onEndpointChanged(pos);
+            }
             BlockEntity blockEntity = level.getBlockEntity(pos);
-            if (blockEntity instanceof SimpleStorageBlockEntity) {
-                // Handle block removal - could drop items here
+            if (blockEntity instanceof SimpleStorageBlockEntity storageEntity && storageEntity.hasVacuum()) {
+                popResource(level, pos, new ItemStack(ModItems.VACUUM_UPGRADE.get()));
             }
         }
         super.onRemove(state, level, pos, newState, movedByPiston);
     }
-
-    @Override
-    public @Nullable <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> blockEntityType) {
-        if (level.isClientSide()) {
-            return null;
-        }
-        
-        return createTickerHelper(blockEntityType, ModBlockEntities.SIMPLE_STORAGE_BE.get(),
-                (level1, pos, state1, blockEntity) -> blockEntity.tick(level1, pos, state1));
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package art.boyko.fiatlux.custom.blockentity;
+
+import art.boyko.fiatlux.charging.ChargingPadManager;
+import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Holds no data and never ticks; charging is done for all pads of a level by {@link ChargingPadManager}.
+ */
+public class ChargingPadBlockEntity extends BlockEntity {
+
+    public ChargingPadBlockEntity(BlockPos pos, BlockState blockState) {
+        super(ModBlockEntities.CHARGING_PAD_BE.get(), pos, blockState);
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        BlockEntityPositionRegistry.onLoad(this);
+        if (level != null && !level.isClientSide()) {
+            ChargingPadManager.get(level).add(worldPosition);
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        if (level != null && !level.isClientSide()) {
+            ChargingPadManager.get(level).remove(worldPosition);
+        }
+        BlockEntityPositionRegistry.onRemoved(this);
+        super.setRemoved();
+    }
+}
@@ -0,0 +1,110 @@
+package art.boyko.fiatlux.custom.blockentity;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.chunkloading.ChunkLoaderManager;
+import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Never ticks; power and tickets of all loaders in a level are handled by {@link ChunkLoaderManager}.
+ * Only the radius and whether the loader was powered are stored, so the area is kept across restarts.
+ */
+public class ChunkLoaderBlockEntity extends BlockEntity {
+    // Radius in chunks around the loader's own chunk
+    private int radius = 0;
+    private boolean powered = false;
+    // Set when the chunk unloads, so setRemoved keeps the tickets instead of releasing them
+    private boolean chunkUnloading = false;
+
+    public ChunkLoaderBlockEntity(BlockPos pos, BlockState blockState) {
+        super(ModBlockEntities.CHUNK_LOADER_BE.get(), pos, blockState);
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        BlockEntityPositionRegistry.onLoad(this);
+        if (level instanceof ServerLevel serverLevel) {
+            chunkUnloading = false;
+            radius = Math.min(radius, Config.CHUNK_LOADER_MAX_RADIUS.getAsInt());
+            ChunkLoaderManager.get(serverLevel).add(serverLevel, this);
+        }
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        chunkUnloading = true;
+    }
+
+    @Override
+    public void setRemoved() {
+        if (level instanceof ServerLevel serverLevel) {
+            if (chunkUnloading) {
+                ChunkLoaderManager.get(serverLevel).unload(this);
+            } else {
+                ChunkLoaderManager.get(serverLevel).remove(serverLevel, this);
+            }
+        }
+        BlockEntityPositionRegistry.onRemoved(this);
+        super.setRemoved();
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    /**
+     * Switches to the next radius, wrapping around after the configured maximum.
+     */
+    public void cycleRadius() {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        int oldRadius = radius;
+        radius = oldRadius >= Config.CHUNK_LOADER_MAX_RADIUS.getAsInt() ? 0 : oldRadius + 1;
+        ChunkLoaderManager.get(serverLevel).onRadiusChanged(serverLevel, this, oldRadius);
+        setChanged();
+    }
+
+    public int getChunkCount() {
+        return ChunkLoaderManager.getAreaChunks(radius);
+    }
+
+    /**
+     * Energy in FE per tick needed to keep the area loaded.
+     */
+    public int getCostPerTick() {
+        return getChunkCount() * Config.CHUNK_LOADER_FE_PER_CHUNK.getAsInt();
+    }
+
+    public boolean isPowered() {
+        return powered;
+    }
+
+    public void setPowered(boolean powered) {
+        this.powered = powered;
+        setChanged();
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.saveAdditional(tag, registries);
+        tag.putInt("Radius", radius);
+        tag.putBoolean("Powered", powered);
+    }
+
+    @Override
+    protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.loadAdditional(tag, registries);
+        radius = Mth.clamp(tag.getInt("Radius"), 0, Config.CHUNK_LOADER_MAX_RADIUS.getAsInt());
+        powered = tag.getBoolean("Powered");
+    }
+}
@@ -1,109 +1,336 @@
 package art.boyko.fiatlux.custom.blockentity;
 
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.core.energy.EnergyBuffer;
+import art.boyko.fiatlux.core.energy.PassiveEnergyModel;
+import art.boyko.fiatlux.energy.EnergyNetworkManager;
 import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.init.ModDataComponents;
+import art.boyko.fiatlux.journal.JournalFormat;
+import art.boyko.fiatlux.journal.TransactionJournal;
+import art.boyko.fiatlux.metrics.FiatLuxMetrics;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import art.boyko.fiatlux.snapshot.StorageSnapshotPublisher;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponentMap;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.energy.IEnergyStorage;
 import org.jetbrains.annotations.Nullable;
 
-public class EnergyStorageBlockEntity extends BlockEntity {
-    private int energyStored = 0;
-    private int tickCounter = 0;
-    private static final int MAX_ENERGY = 100000; // 100k FE
-    private static final int MAX_RECEIVE = 1000;  // 1k FE/tick
-    private static final int MAX_EXTRACT = 1000;  // 1k FE/tick
+public class EnergyStorageBlockEntity extends BlockEntity implements IEnergyStorage {
+    private long lastEvaluated = -1; // Game time up to which passive generation/decay has been applied
+    public static final int MAX_ENERGY = 100000; // 100k FE
+    public static final int MAX_RECEIVE = 1000;  // 1k FE/tick
+    public static final int MAX_EXTRACT = 1000;  // 1k FE/tick
+    private final EnergyBuffer buffer = new EnergyBuffer(MAX_ENERGY, MAX_RECEIVE, MAX_EXTRACT);
+
+    // Passive behaviour: +10 FE every second below 25%, -5 FE every 2 seconds above 75%
+    private static final PassiveEnergyModel PASSIVE =
+            new PassiveEnergyModel(MAX_ENERGY, MAX_ENERGY / 4, 20, 10, MAX_ENERGY * 3 / 4, 40, 5);
+    // Long enough for passive behaviour to reach either threshold from any energy level
+    private static final long PASSIVE_HORIZON = PASSIVE.horizon();
+
+    // Comparator output, recomputed only when the stored energy changes
+    private int comparatorLevel = 0;
+    // Game time at which passive behaviour changes the comparator level, and the time currently queued for it
+    private long comparatorRefreshDue = -1;
+    private long comparatorRefreshQueued = -1;
+    // Set when the chunk unloads, so setRemoved leaves a ghost node in the network instead of removing the cell
+    private boolean chunkUnloading = false;
     
     public EnergyStorageBlockEntity(BlockPos pos, BlockState blockState) {
         super(ModBlockEntities.ENERGY_STORAGE_BE.get(), pos, blockState);
     }
 
-    // Server-side tick method
-    public void tick(Level level, BlockPos pos, BlockState state) {
-        if (level.isClientSide()) {
+    // Join the level's energy networks; balancing between adjacent cells is done by EnergyNetworkManager
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        BlockEntityPositionRegistry.onLoad(this);
+        if (level == null) {
             return;
         }
+        // Time spent unloaded only counts if the config allows catching up on it
+        if (lastEvaluated < 0 || !Config.ENERGY_CATCH_UP_UNLOADED.getAsBoolean()) {
+            lastEvaluated = level.getGameTime();
+        }
+        if (!level.isClientSide()) {
+            chunkUnloading = false;
+            EnergyNetworkManager.get(level).add(this);
+            evaluatePassive();
+            comparatorLevel = computeComparatorLevel(buffer.getStored());
+            scheduleComparatorRefresh();
+            StorageSnapshotPublisher.onChanged(this);
+        }
+    }
 
-        tickCounter++;
-        
-        // Example: slowly generate energy when empty
-        if (tickCounter % 20 == 0 && energyStored < MAX_ENERGY / 4) { // Every second when less than 25% full
-            receiveEnergy(10, false);
-            setChanged();
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        chunkUnloading = true;
+    }
+
+    @Override
+    public void setRemoved() {
+        if (level != null && !level.isClientSide()) {
+            if (chunkUnloading) {
+                EnergyNetworkManager.get(level).unload(this);
+            } else {
+                EnergyNetworkManager.get(level).remove(worldPosition);
+            }
         }
-        
-        // Example: slowly lose energy when full
-        if (tickCounter % 40 == 0 && energyStored > MAX_ENERGY * 3 / 4) { // Every 2 seconds when more than 75% full
-            extractEnergy(5, false);
-            setChanged();
+        BlockEntityPositionRegistry.onRemoved(this);
+        StorageSnapshotPublisher.onRemoved(this);
+        super.setRemoved();
+    }
+
+    /**
+     * Applies passive generation and decay for the game time elapsed since the last evaluation.
+     * Called before every read, write, sync and save instead of ticking the block entity.
+     */
+    private void evaluatePassive() {
+        if (level == null) {
+            return;
+        }
+        long now = level.getGameTime();
+        if (lastEvaluated < 0 || now < lastEvaluated) {
+            lastEvaluated = now;
+            return;
+        }
+        int before = buffer.getStored();
+        buffer.setStored(PASSIVE.evaluate(before, lastEvaluated, now));
+        lastEvaluated = now;
+        if (buffer.getStored() != before && !level.isClientSide()) {
+            // Only mark the chunk dirty; a full setChanged here would fire neighbour updates on every read
+            level.blockEntityChanged(worldPosition);
+            TransactionJournal.record(level, worldPosition, JournalFormat.OP_PASSIVE_ENERGY, buffer.getStored() - before);
+        }
+    }
+
+    /**
+     * Passive behaviour shared by all cells; pure, so snapshot readers can extrapolate charge off-thread.
+     */
+    public static PassiveEnergyModel getPassiveModel() {
+        return PASSIVE;
+    }
+
+    static int computeComparatorLevel(int energy) {
+        return energy <= 0 ? 0 : 1 + (int) ((long) energy * 14 / MAX_ENERGY);
+    }
+
+    /**
+     * Ticks until passive behaviour alone changes the comparator level, or -1 if it never does.
+     * Passive behaviour only ever moves energy in one direction, so the level is monotonic in time
+     * and the crossing can be found by binary search over the closed form.
+     */
+    static long ticksUntilComparatorChange(int energy, long now) {
+        int current = computeComparatorLevel(energy);
+        if (computeComparatorLevel(PASSIVE.evaluate(energy, now, now + PASSIVE_HORIZON)) == current) {
+            return -1;
+        }
+        long low = 0;
+        long high = PASSIVE_HORIZON;
+        while (high - low > 1) {
+            long mid = (low + high) >>> 1;
+            if (computeComparatorLevel(PASSIVE.evaluate(energy, now, now + mid)) == current) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    public int getComparatorLevel() {
+        return comparatorLevel;
+    }
+
+    // Neighbours are only notified when the 0-15 level actually changes
+    private void updateComparatorLevel() {
+        int newLevel = computeComparatorLevel(buffer.getStored());
+        if (newLevel != comparatorLevel) {
+            comparatorLevel = newLevel;
+            if (level != null && !level.isClientSide()) {
+                level.updateNeighbourForOutputSignal(worldPosition, getBlockState().getBlock());
+            }
+        }
+        scheduleComparatorRefresh();
+    }
+
+    private void scheduleComparatorRefresh() {
+        if (level == null || level.isClientSide()) {
+            return;
+        }
+        long delay = ticksUntilComparatorChange(buffer.getStored(), lastEvaluated);
+        comparatorRefreshDue = delay < 0 ? -1 : lastEvaluated + delay;
+        // A later queued refresh re-queues itself when it fires, so only earlier ones need a new entry
+        if (comparatorRefreshDue >= 0 && (comparatorRefreshQueued < 0 || comparatorRefreshDue < comparatorRefreshQueued)) {
+            comparatorRefreshQueued = comparatorRefreshDue;
+            EnergyNetworkManager.get(level).scheduleComparatorRefresh(worldPosition, comparatorRefreshDue);
         }
     }
 
+    /**
+     * Called by the network manager when a queued comparator refresh is due. Stale entries are ignored.
+     */
+    public void onComparatorRefresh(long queuedTime, long gameTime) {
+        if (queuedTime != comparatorRefreshQueued) {
+            return;
+        }
+        comparatorRefreshQueued = -1;
+        if (comparatorRefreshDue < 0) {
+            return;
+        }
+        if (comparatorRefreshDue > gameTime) {
+            comparatorRefreshQueued = comparatorRefreshDue;
+            EnergyNetworkManager.get(level).scheduleComparatorRefresh(worldPosition, comparatorRefreshDue);
+            return;
+        }
+        evaluatePassive();
+        updateComparatorLevel();
+    }
+
+    private void onEnergyChanged() {
+        if (level != null && !level.isClientSide()) {
+            // Marks the chunk dirty without the neighbour update setChanged() would send every time
+            level.blockEntityChanged(worldPosition);
+            scheduleSync();
+            StorageSnapshotPublisher.onChanged(this);
+        }
+        updateComparatorLevel();
+    }
+
+    @Override
     public int getEnergyStored() {
-        return energyStored;
+        evaluatePassive();
+        return buffer.getStored();
     }
 
+    @Override
     public int getMaxEnergyStored() {
         return MAX_ENERGY;
     }
 
+    @Override
     public int receiveEnergy(int maxReceive, boolean simulate) {
-        int energyReceived = Math.min(MAX_ENERGY - energyStored, Math.min(MAX_RECEIVE, maxReceive));
+        evaluatePassive();
+        int energyReceived = buffer.receive(maxReceive, simulate);
         
         if (!simulate) {
-            energyStored += energyReceived;
-            setChanged();
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            if (energyReceived > 0) {
+                TransactionJournal.record(level, worldPosition, JournalFormat.OP_RECEIVE_ENERGY, energyReceived);
+                FiatLuxMetrics.ENERGY_RECEIVED.add(energyReceived);
+                onEnergyChanged();
             }
         }
         
         return energyReceived;
     }
 
+    @Override
     public int extractEnergy(int maxExtract, boolean simulate) {
-        int energyExtracted = Math.min(energyStored, Math.min(MAX_EXTRACT, maxExtract));
+        evaluatePassive();
+        int energyExtracted = buffer.extract(maxExtract, simulate);
         
         if (!simulate) {
-            energyStored -= energyExtracted;
-            setChanged();
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            if (energyExtracted > 0) {
+                TransactionJournal.record(level, worldPosition, JournalFormat.OP_EXTRACT_ENERGY, energyExtracted);
+                FiatLuxMetrics.ENERGY_EXTRACTED.add(energyExtracted);
+                onEnergyChanged();
             }
         }
         
         return energyExtracted;
     }
 
+    /**
+     * Sets the stored energy directly, bypassing transfer limits.
+     * Used to apply the result of a network balancing step.
+     */
+    public void setEnergyStored(int energy) {
+        evaluatePassive();
+        int before = buffer.getStored();
+        buffer.setStored(energy);
+        if (buffer.getStored() != before && level != null) {
+            TransactionJournal.record(level, worldPosition, JournalFormat.OP_BALANCE_ENERGY, buffer.getStored() - before);
+            // Each unit moved is counted once, on the receiving side
+            if (buffer.getStored() > before) {
+                FiatLuxMetrics.ENERGY_BALANCED.add(buffer.getStored() - before);
+            }
+        }
+        onEnergyChanged();
+    }
+
+    @Override
     public boolean canExtract() {
-        return energyStored > 0;
+        return getEnergyStored() > 0;
     }
 
+    @Override
     public boolean canReceive() {
-        return energyStored < MAX_ENERGY;
+        return getEnergyStored() < MAX_ENERGY;
     }
 
     public float getEnergyPercentage() {
-        return (float) energyStored / MAX_ENERGY;
+        return (float) getEnergyStored() / MAX_ENERGY;
+    }
+
+    // Client syncs are coalesced and sent within the tick budget
+    private void scheduleSync() {
+        TickBudgetScheduler.submit(level, worldPosition, TickBudgetScheduler.WorkType.SYNC, () -> {
+            if (level != null && !isRemoved()) {
+                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            }
+        });
     }
 
     @Override
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditional(tag, registries);
-        tag.putInt("EnergyStored", energyStored);
-        tag.putInt("TickCounter", tickCounter);
+        evaluatePassive();
+        tag.putInt("EnergyStored", buffer.getStored());
+        tag.putLong("LastEvaluated", lastEvaluated);
+    }
+
+    // Charge travels with the item when the cell is broken or picked
+    @Override
+    protected void collectImplicitComponents(DataComponentMap.Builder components) {
+        super.collectImplicitComponents(components);
+        int energy = getEnergyStored();
+        if (energy > 0) {
+            components.set(ModDataComponents.ENERGY.get(), energy);
+        }
+    }
+
+    @Override
+    protected void applyImplicitComponents(BlockEntity.DataComponentInput componentInput) {
+        super.applyImplicitComponents(componentInput);
+        buffer.setStored(componentInput.getOrDefault(ModDataComponents.ENERGY.get(), 0));
+        // Placing loads the block entity before the item's components are applied
+        if (level != null && !level.isClientSide()) {
+            onEnergyChanged();
+        }
+    }
+
+    @Override
+    public void removeComponentsFromTag(CompoundTag tag) {
+        super.removeComponentsFromTag(tag);
+        tag.remove("EnergyStored");
+        tag.remove("LastEvaluated");
     }
 
     @Override
     protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.loadAdditional(tag, registries);
-        energyStored = tag.getInt("EnergyStored");
-        tickCounter = tag.getInt("TickCounter");
+        buffer.setStored(tag.getInt("EnergyStored"));
+        lastEvaluated = tag.contains("LastEvaluated") ? tag.getLong("LastEvaluated") : -1;
     }
 
     // Sync data to client
@@ -111,6 +338,8 @@ public class EnergyStorageBlockEntity extends BlockEntity {
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
         CompoundTag tag = super.getUpdateTag(registries);
         saveAdditional(tag, registries);
+        FiatLuxMetrics.BLOCK_ENTITY_SYNCS.increment();
+        FiatLuxMetrics.BLOCK_ENTITY_SYNC_BYTES.add(tag.sizeInBytes());
         return tag;
     }
 
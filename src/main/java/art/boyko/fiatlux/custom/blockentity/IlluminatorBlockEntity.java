@@ -0,0 +1,113 @@
+package art.boyko.fiatlux.custom.blockentity;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.illumination.IlluminatedAreaTracker;
+import art.boyko.fiatlux.illumination.IlluminatorLights;
+import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+public class IlluminatorBlockEntity extends BlockEntity {
+    // Radius is fixed at placement so a config change can't orphan coverage or placed lights
+    private int radius;
+    // Saved before placed lights were recorded per position; claimed again on load
+    private boolean legacyLights = false;
+    private boolean chunkUnloading = false;
+
+    public IlluminatorBlockEntity(BlockPos pos, BlockState blockState) {
+        super(ModBlockEntities.ILLUMINATOR_BE.get(), pos, blockState);
+        this.radius = Config.ILLUMINATOR_RADIUS.getAsInt();
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        BlockEntityPositionRegistry.onLoad(this);
+        if (level instanceof ServerLevel serverLevel) {
+            chunkUnloading = false;
+            IlluminatedAreaTracker.get(level).add(worldPosition, radius);
+            IlluminatorLights lights = IlluminatorLights.get(serverLevel);
+            lights.addIlluminator(worldPosition, radius);
+            if (legacyLights && !lights.hasClaims(worldPosition)) {
+                lights.claim(serverLevel, worldPosition, getGridPoints(), true);
+            }
+            legacyLights = false;
+        }
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        chunkUnloading = true;
+    }
+
+    // Coverage outlives a chunk unload; it ends when the block is removed
+    @Override
+    public void setRemoved() {
+        if (level != null && !level.isClientSide() && !chunkUnloading) {
+            IlluminatedAreaTracker.get(level).remove(worldPosition);
+        }
+        BlockEntityPositionRegistry.onRemoved(this);
+        super.setRemoved();
+    }
+
+    /**
+     * Claims invisible light sources on a world-aligned grid inside the covered area. They are placed in air
+     * blocks as their chunks load.
+     */
+    public void placeLights(ServerLevel level) {
+        if (Config.ILLUMINATOR_PLACE_LIGHTS.getAsBoolean()) {
+            IlluminatorLights.get(level).claim(level, worldPosition, getGridPoints(), false);
+        }
+    }
+
+    /**
+     * Releases this illuminator's lights and coverage. Lights still claimed by another illuminator stay.
+     */
+    public void removeLights(ServerLevel level) {
+        IlluminatorLights.get(level).release(level, worldPosition, true);
+    }
+
+    private long[] getGridPoints() {
+        int spacing = Config.ILLUMINATOR_LIGHT_SPACING.getAsInt();
+        LongArrayList points = new LongArrayList();
+        // Grid is aligned to world coordinates so overlapping illuminators share the same points
+        for (int x = alignUp(worldPosition.getX() - radius, spacing); x <= worldPosition.getX() + radius; x += spacing) {
+            for (int y = alignUp(worldPosition.getY() - radius, spacing); y <= worldPosition.getY() + radius; y += spacing) {
+                for (int z = alignUp(worldPosition.getZ() - radius, spacing); z <= worldPosition.getZ() + radius; z += spacing) {
+                    points.add(BlockPos.asLong(x, y, z));
+                }
+            }
+        }
+        return points.toLongArray();
+    }
+
+    private static int alignUp(int value, int spacing) {
+        return Math.floorDiv(value + spacing - 1, spacing) * spacing;
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.saveAdditional(tag, registries);
+        tag.putInt("Radius", radius);
+    }
+
+    @Override
+    protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.loadAdditional(tag, registries);
+        if (tag.contains("Radius")) {
+            radius = tag.getInt("Radius");
+        }
+        legacyLights = tag.getBoolean("PlacedLights");
+    }
+}
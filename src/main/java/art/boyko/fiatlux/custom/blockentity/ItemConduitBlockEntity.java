@@ -0,0 +1,37 @@
+package art.boyko.fiatlux.custom.blockentity;
+
+import art.boyko.fiatlux.conduit.ConduitNetworkManager;
+import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Holds no data and never ticks; it only lets the conduit join and leave its network
+ * as it is placed, broken, loaded and unloaded.
+ */
+public class ItemConduitBlockEntity extends BlockEntity {
+
+    public ItemConduitBlockEntity(BlockPos pos, BlockState blockState) {
+        super(ModBlockEntities.ITEM_CONDUIT_BE.get(), pos, blockState);
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        BlockEntityPositionRegistry.onLoad(this);
+        if (level != null && !level.isClientSide()) {
+            ConduitNetworkManager.get(level).addConduit(worldPosition);
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        if (level != null && !level.isClientSide()) {
+            ConduitNetworkManager.get(level).removeConduit(worldPosition);
+        }
+        BlockEntityPositionRegistry.onRemoved(this);
+        super.setRemoved();
+    }
+}
@@ -1,92 +1,317 @@
 package art.boyko.fiatlux.custom.blockentity;
 
+import java.util.UUID;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
 import art.boyko.fiatlux.init.ModBlockEntities;
+import art.boyko.fiatlux.init.ModDataComponents;
+import art.boyko.fiatlux.journal.JournalFormat;
+import art.boyko.fiatlux.journal.TransactionJournal;
+import art.boyko.fiatlux.metrics.FiatLuxMetrics;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import art.boyko.fiatlux.snapshot.StorageSnapshotPublisher;
+import art.boyko.fiatlux.storage.DetachedStorageContents;
+import art.boyko.fiatlux.storage.ItemKey;
+import art.boyko.fiatlux.storage.StorageContents;
+import art.boyko.fiatlux.storage.StorageContentsRef;
+import art.boyko.fiatlux.storage.StorageInventory;
+import art.boyko.fiatlux.storage.StorageSaveEncoder;
+import art.boyko.fiatlux.vacuum.VacuumManager;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponentMap;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
-import net.minecraft.world.level.Level;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
 public class SimpleStorageBlockEntity extends BlockEntity {
-    private int storedItems = 0;
-    private int tickCounter = 0;
-    private static final int MAX_STORED_ITEMS = 64;
+    private final StorageInventory inventory;
+    // Client-side summary, the full contents are never synced
+    private long syncedStoredItems = 0;
+    private int syncedItemTypes = 0;
+    // Open terminals on this storage; it is not demoted to a compact block while any are open
+    private int openTerminals = 0;
+    // Comparator output, recomputed only when the contents change
+    private int comparatorLevel = 0;
+    // Vacuum upgrade installed; keeps the block entity even while empty
+    private boolean vacuum = false;
     
     public SimpleStorageBlockEntity(BlockPos pos, BlockState blockState) {
         super(ModBlockEntities.SIMPLE_STORAGE_BE.get(), pos, blockState);
+        this.inventory = new StorageInventory(Config.STORAGE_CAPACITY.getAsInt());
     }
 
-    // Server-side tick method
-    public void tick(Level level, BlockPos pos, BlockState state) {
-        if (level.isClientSide()) {
-            return;
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        BlockEntityPositionRegistry.onLoad(this);
+        StorageSnapshotPublisher.onChanged(this);
+        if (vacuum && level != null && !level.isClientSide()) {
+            VacuumManager.get(level).add(worldPosition);
         }
+    }
 
-        tickCounter++;
-        
-        // Example: do something every 100 ticks (5 seconds)
-        if (tickCounter % 100 == 0) {
-            // You can add periodic logic here
-            setChanged(); // Mark this block entity as dirty so it gets saved
+    @Override
+    public void setRemoved() {
+        if (level != null && !level.isClientSide()) {
+            VacuumManager.get(level).remove(worldPosition);
+            StorageSaveEncoder.get(level).onRemoved(worldPosition);
         }
+        BlockEntityPositionRegistry.onRemoved(this);
+        StorageSnapshotPublisher.onRemoved(this);
+        super.setRemoved();
     }
 
-    public int getStoredItems() {
-        return storedItems;
+    public StorageInventory getInventory() {
+        return inventory;
     }
 
-    public void addItem() {
-        if (storedItems < MAX_STORED_ITEMS) {
-            storedItems++;
-            setChanged();
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+    public long getStoredItems() {
+        return level != null && level.isClientSide() ? syncedStoredItems : inventory.getTotal();
+    }
+
+    public int getItemTypes() {
+        return level != null && level.isClientSide() ? syncedItemTypes : inventory.getTypeCount();
+    }
+
+    /**
+     * Inserts as much of the stack as fits. The stack itself is not modified.
+     *
+     * @return the number of items accepted
+     */
+    public int addItem(ItemStack stack, boolean simulate) {
+        int accepted = inventory.insert(stack, simulate);
+        if (accepted > 0 && !simulate) {
+            if (level != null) {
+                TransactionJournal.record(level, worldPosition, JournalFormat.OP_ADD_ITEM, accepted);
             }
+            FiatLuxMetrics.ITEMS_INSERTED.add(accepted);
+            onContentsChanged();
         }
+        return accepted;
     }
 
-    public void removeItem() {
-        if (storedItems > 0) {
-            storedItems--;
-            setChanged();
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+    /**
+     * Inserts up to {@code count} items of one type in a single operation, e.g. merged stacks from the vacuum.
+     *
+     * @return the number of items accepted
+     */
+    public long addItems(ItemKey key, long count) {
+        long accepted = inventory.insert(key, count, false);
+        if (accepted > 0) {
+            if (level != null) {
+                TransactionJournal.record(level, worldPosition, JournalFormat.OP_ADD_ITEM, accepted);
+            }
+            FiatLuxMetrics.ITEMS_INSERTED.add(accepted);
+            onContentsChanged();
+        }
+        return accepted;
+    }
+
+    /**
+     * Extracts up to {@code amount} items of the given type.
+     *
+     * @return the extracted stack, or {@link ItemStack#EMPTY} if none were available
+     */
+    public ItemStack removeItem(ItemKey key, int amount, boolean simulate) {
+        ItemStack extracted = inventory.extract(key, amount, simulate);
+        if (!extracted.isEmpty() && !simulate) {
+            if (level != null) {
+                TransactionJournal.record(level, worldPosition, JournalFormat.OP_REMOVE_ITEM, extracted.getCount());
             }
+            FiatLuxMetrics.ITEMS_EXTRACTED.add(extracted.getCount());
+            onContentsChanged();
         }
+        return extracted;
     }
 
     public boolean isFull() {
-        return storedItems >= MAX_STORED_ITEMS;
+        return inventory.getTotal() >= inventory.getCapacity();
     }
 
     public boolean isEmpty() {
-        return storedItems <= 0;
+        return inventory.getTotal() <= 0;
+    }
+
+    public int getComparatorLevel() {
+        return comparatorLevel;
+    }
+
+    private int computeComparatorLevel() {
+        long total = inventory.getTotal();
+        return total <= 0 ? 0 : 1 + (int) (total * 14 / inventory.getCapacity());
+    }
+
+    public void onTerminalOpened() {
+        openTerminals++;
+    }
+
+    public void onTerminalClosed() {
+        openTerminals = Math.max(0, openTerminals - 1);
+        scheduleDemoteIfEmpty();
+    }
+
+    /**
+     * Whether this storage can go back to being a plain block without a block entity.
+     */
+    public boolean canDemote() {
+        return Config.COMPACT_STORAGE.getAsBoolean() && isEmpty() && openTerminals == 0 && !vacuum;
+    }
+
+    public boolean hasVacuum() {
+        return vacuum;
+    }
+
+    public void setVacuum(boolean vacuum) {
+        if (this.vacuum == vacuum) {
+            return;
+        }
+        this.vacuum = vacuum;
+        if (level != null && !level.isClientSide()) {
+            if (vacuum) {
+                VacuumManager.get(level).add(worldPosition);
+            } else {
+                VacuumManager.get(level).remove(worldPosition);
+            }
+        }
+        setChanged();
+        scheduleDemoteIfEmpty();
+    }
+
+    private void scheduleDemoteIfEmpty() {
+        // Demotion removes this block entity, so it is deferred to a block tick instead of done mid-call
+        if (level != null && !level.isClientSide() && canDemote()) {
+            level.scheduleTick(worldPosition, getBlockState().getBlock(), 1);
+        }
+    }
+
+    private void onContentsChanged() {
+        if (level != null && !level.isClientSide()) {
+            // Marks the chunk dirty without the neighbour update setChanged() would send every time
+            level.blockEntityChanged(worldPosition);
+            scheduleSync();
+            StorageSnapshotPublisher.onChanged(this);
+            if (Config.STORAGE_ASYNC_SAVE.getAsBoolean()
+                    && inventory.getTypeCount() >= Config.STORAGE_ASYNC_SAVE_THRESHOLD.getAsInt()) {
+                StorageSaveEncoder.get(level).onChanged(worldPosition);
+            }
+
+            int newLevel = computeComparatorLevel();
+            if (newLevel != comparatorLevel) {
+                comparatorLevel = newLevel;
+                level.updateNeighbourForOutputSignal(worldPosition, getBlockState().getBlock());
+            }
+        }
+        scheduleDemoteIfEmpty();
+    }
+
+    // Client syncs are coalesced and sent within the tick budget
+    private void scheduleSync() {
+        TickBudgetScheduler.submit(level, worldPosition, TickBudgetScheduler.WorkType.SYNC, () -> {
+            if (level != null && !isRemoved()) {
+                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            }
+        });
     }
 
     @Override
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditional(tag, registries);
-        tag.putInt("StoredItems", storedItems);
-        tag.putInt("TickCounter", tickCounter);
+        long start = System.nanoTime();
+        (inventory.isEncoded() ? FiatLuxMetrics.STORAGE_SAVES_PRECOMPUTED : FiatLuxMetrics.STORAGE_SAVES_INLINE).increment();
+        inventory.save(tag, registries);
+        FiatLuxMetrics.STORAGE_SAVE_NANOS.add(System.nanoTime() - start);
+        tag.putBoolean("Vacuum", vacuum);
     }
 
     @Override
     protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.loadAdditional(tag, registries);
-        storedItems = tag.getInt("StoredItems");
-        tickCounter = tag.getInt("TickCounter");
+        if (tag.contains("Items")) {
+            inventory.load(tag, registries);
+            comparatorLevel = computeComparatorLevel();
+        } else if (tag.contains("StoredItems", Tag.TAG_INT)) {
+            // Saved before storages held typed contents; the client summary is written as a long instead
+            loadLegacyCount(tag.getInt("StoredItems"));
+        }
+        vacuum = tag.getBoolean("Vacuum");
+        syncedStoredItems = tag.getLong("StoredItems");
+        syncedItemTypes = tag.getInt("ItemTypes");
+    }
+
+    // Older storages only counted clicks, not real items, so the count is discarded unless a legacy item is configured
+    private void loadLegacyCount(int count) {
+        if (count <= 0) {
+            return;
+        }
+        String itemId = Config.STORAGE_LEGACY_ITEM.get();
+        ResourceLocation id = itemId.isEmpty() ? null : ResourceLocation.tryParse(itemId);
+        if (id == null) {
+            FiatLux.LOGGER.warn("Discarding untyped count of {} from an older storage at {}; set storageLegacyItem to convert such counts",
+                    count, worldPosition);
+            return;
+        }
+        BuiltInRegistries.ITEM.getOptional(id).ifPresentOrElse(item -> {
+            inventory.insert(ItemKey.of(new ItemStack(item)), count, false);
+            comparatorLevel = computeComparatorLevel();
+        }, () -> FiatLux.LOGGER.warn("Unknown storageLegacyItem {}, dropping {} untyped items at {}", itemId, count, worldPosition));
+    }
+
+    // Contents stay on the server when the storage is broken and the item only refers to them, so nothing is lost
+    // and the stack stays small for clients
+    @Override
+    protected void collectImplicitComponents(DataComponentMap.Builder components) {
+        super.collectImplicitComponents(components);
+        if (!isEmpty() && level instanceof ServerLevel serverLevel) {
+            UUID id = DetachedStorageContents.get(serverLevel.getServer()).put(inventory.toContents());
+            components.set(ModDataComponents.STORAGE_CONTENTS.get(),
+                    new StorageContentsRef(id, inventory.getTotal(), inventory.getTypeCount()));
+        }
+    }
+
+    @Override
+    protected void applyImplicitComponents(BlockEntity.DataComponentInput componentInput) {
+        super.applyImplicitComponents(componentInput);
+        StorageContentsRef ref = componentInput.get(ModDataComponents.STORAGE_CONTENTS.get());
+        if (ref == null || !(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        StorageContents contents = DetachedStorageContents.get(serverLevel.getServer()).take(ref.id());
+        if (contents == null) {
+            FiatLux.LOGGER.warn("Contents {} of the storage placed at {} were already taken by a copy of its item", ref.id(), worldPosition);
+            return;
+        }
+        inventory.load(contents);
+        // Placing loads the block entity before the item's components are applied
+        onContentsChanged();
+        comparatorLevel = computeComparatorLevel();
+    }
+
+    @Override
+    public void removeComponentsFromTag(CompoundTag tag) {
+        super.removeComponentsFromTag(tag);
+        tag.remove("Items");
     }
 
-    // Sync data to client
+    // Sync only a summary to the client; contents are browsed through the storage terminal
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
         CompoundTag tag = super.getUpdateTag(registries);
-        saveAdditional(tag, registries);
+        tag.putLong("StoredItems", inventory.getTotal());
+        tag.putInt("ItemTypes", inventory.getTypeCount());
+        FiatLuxMetrics.BLOCK_ENTITY_SYNCS.increment();
+        FiatLuxMetrics.BLOCK_ENTITY_SYNC_BYTES.add(tag.sizeInBytes());
         return tag;
     }
 
@@ -94,4 +319,4 @@ public class SimpleStorageBlockEntity extends BlockEntity {
     public @Nullable Packet<ClientGamePacketListener> getUpdatePacket() {
         return ClientboundBlockEntityDataPacket.create(this);
     }
-}
\ No newline at end of file
+}
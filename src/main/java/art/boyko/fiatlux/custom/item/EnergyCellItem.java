@@ -0,0 +1,50 @@
+package art.boyko.fiatlux.custom.item;
+
+import java.util.List;
+
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import art.boyko.fiatlux.init.ModDataComponents;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.level.block.Block;
+
+/**
+ * Block item of the energy cell. Charge is kept in the {@link ModDataComponents#ENERGY} component while the cell
+ * is an item, so cells can be moved or charged without losing energy.
+ */
+public class EnergyCellItem extends BlockItem {
+
+    public EnergyCellItem(Block block, Properties properties) {
+        super(block, properties);
+    }
+
+    public static int getEnergy(ItemStack stack) {
+        return stack.getOrDefault(ModDataComponents.ENERGY, 0);
+    }
+
+    @Override
+    public boolean isBarVisible(ItemStack stack) {
+        return getEnergy(stack) > 0;
+    }
+
+    @Override
+    public int getBarWidth(ItemStack stack) {
+        return Math.round(13.0f * getEnergy(stack) / EnergyStorageBlockEntity.MAX_ENERGY);
+    }
+
+    @Override
+    public int getBarColor(ItemStack stack) {
+        return Mth.hsvToRgb(0.15f, 0.9f, 1.0f);
+    }
+
+    @Override
+    public void appendHoverText(ItemStack stack, TooltipContext context, List<Component> tooltipComponents, TooltipFlag tooltipFlag) {
+        super.appendHoverText(stack, context, tooltipComponents, tooltipFlag);
+        tooltipComponents.add(Component.literal("Energy: " + getEnergy(stack) + "/" + EnergyStorageBlockEntity.MAX_ENERGY + " FE")
+                .withStyle(ChatFormatting.GRAY));
+    }
+}
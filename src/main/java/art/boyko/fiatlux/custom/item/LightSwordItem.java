@@ -0,0 +1,110 @@
+package art.boyko.fiatlux.custom.item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import art.boyko.fiatlux.Config;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.InteractionResultHolder;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.SwordItem;
+import net.minecraft.world.item.Tier;
+import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
+
+public class LightSwordItem extends SwordItem {
+    private static final float BEAM_DAMAGE = 6.0f;
+    private static final int BEAM_COOLDOWN = 20; // 1 second
+
+    private record BeamHit(LivingEntity target, double along) {
+    }
+
+    public LightSwordItem(Tier tier, Properties properties) {
+        super(tier, properties);
+    }
+
+    // Right-click fires a beam that hits every living entity along the look direction
+    @Override
+    public InteractionResultHolder<ItemStack> use(Level level, Player player, InteractionHand hand) {
+        ItemStack stack = player.getItemInHand(hand);
+        if (!level.isClientSide()) {
+            int hits = fireBeam(level, player);
+            if (hits > 0) {
+                stack.hurtAndBreak(1, player, LivingEntity.getSlotForHand(hand));
+            }
+            level.playSound(null, player.getX(), player.getY(), player.getZ(),
+                    SoundEvents.BEACON_ACTIVATE, SoundSource.PLAYERS, 0.5f, 1.8f);
+        }
+        player.getCooldowns().addCooldown(this, BEAM_COOLDOWN);
+        return InteractionResultHolder.sidedSuccess(stack, level.isClientSide());
+    }
+
+    /**
+     * Damages all living entities inside a cylinder along the player's look vector.
+     * One block raycast limits the beam length, one AABB query collects candidates,
+     * and each candidate is then tested with a point-to-segment distance check. When more entities are in the
+     * beam than it may hit, the nearest ones along it are hit.
+     *
+     * @return the number of entities hit
+     */
+    public static int fireBeam(Level level, Player player) {
+        double range = Config.LIGHT_SWORD_BEAM_RANGE.get();
+        double beamRadius = Config.LIGHT_SWORD_BEAM_RADIUS.get();
+        int maxTargets = Config.LIGHT_SWORD_BEAM_MAX_TARGETS.getAsInt();
+
+        Vec3 start = player.getEyePosition();
+        Vec3 direction = player.getLookAngle();
+        Vec3 end = start.add(direction.scale(range));
+
+        // The beam stops at the first solid block
+        BlockHitResult blockHit = level.clip(new ClipContext(start, end, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, player));
+        if (blockHit.getType() != HitResult.Type.MISS) {
+            end = blockHit.getLocation();
+        }
+        double length = end.distanceTo(start);
+
+        // Broadphase: a single query for the box around the whole segment
+        AABB bounds = new AABB(start, end).inflate(beamRadius + 1.0);
+        List<LivingEntity> candidates = level.getEntitiesOfClass(LivingEntity.class, bounds,
+                entity -> entity != player && entity.isAlive() && !entity.isSpectator() && !entity.isAlliedTo(player));
+
+        // Narrowphase: distance from the entity's center to the beam segment, widened by its hitbox
+        List<BeamHit> inBeam = new ArrayList<>();
+        for (LivingEntity target : candidates) {
+            AABB box = target.getBoundingBox();
+            double cx = (box.minX + box.maxX) * 0.5 - start.x;
+            double cy = (box.minY + box.maxY) * 0.5 - start.y;
+            double cz = (box.minZ + box.maxZ) * 0.5 - start.z;
+            double t = cx * direction.x + cy * direction.y + cz * direction.z;
+            if (t < 0 || t > length) {
+                continue;
+            }
+            double dx = cx - direction.x * t;
+            double dy = cy - direction.y * t;
+            double dz = cz - direction.z * t;
+            double reach = beamRadius + Math.max(box.getXsize(), box.getYsize()) * 0.5;
+            if (dx * dx + dy * dy + dz * dz <= reach * reach) {
+                inBeam.add(new BeamHit(target, t));
+            }
+        }
+
+        // The query returns entities in section order, so the cap is applied nearest first along the beam
+        if (inBeam.size() > maxTargets) {
+            inBeam.sort(Comparator.comparingDouble(BeamHit::along));
+        }
+        int hits = Math.min(inBeam.size(), maxTargets);
+        for (int i = 0; i < hits; i++) {
+            inBeam.get(i).target().hurt(level.damageSources().playerAttack(player), BEAM_DAMAGE);
+        }
+        return hits;
+    }
+}
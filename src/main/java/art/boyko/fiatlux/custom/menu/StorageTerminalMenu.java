@@ -0,0 +1,251 @@
+package art.boyko.fiatlux.custom.menu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.init.ModBlocks;
+import art.boyko.fiatlux.init.ModMenuTypes;
+import art.boyko.fiatlux.metrics.FiatLuxMetrics;
+import art.boyko.fiatlux.network.TerminalPagePayload;
+import art.boyko.fiatlux.network.TerminalViewPayload;
+import art.boyko.fiatlux.storage.ItemKey;
+import art.boyko.fiatlux.storage.StorageInventory;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.ContainerLevelAccess;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.network.PacketDistributor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Paged view over a storage's contents. The server keeps the filtered and sorted entry list and sends
+ * only the visible page, and only the entries of it that changed. The client never holds more than one page.
+ */
+public class StorageTerminalMenu extends AbstractContainerMenu {
+    public static final int COLUMNS = 9;
+    public static final int ROWS = 6;
+    public static final int PAGE_SIZE = COLUMNS * ROWS;
+    // Minimum ticks between re-sorting the view while contents change
+    private static final int RESORT_INTERVAL = 10;
+
+    private final ContainerLevelAccess access;
+    private final Player player;
+    private final @Nullable SimpleStorageBlockEntity storage;
+
+    // Server-side view state
+    private String query = "";
+    private TerminalSortMode sortMode = TerminalSortMode.NAME;
+    private int page = 0;
+    private List<ItemKey> view = List.of();
+    private boolean viewDirty = true;
+    private int viewVersion = -1;
+    private int viewTypesVersion = -1;
+    private long lastSortTime = Long.MIN_VALUE;
+    private final ItemKey[] sentKeys = new ItemKey[PAGE_SIZE];
+    private final long[] sentCounts = new long[PAGE_SIZE];
+    private int sentPage = -1;
+    private int sentPageCount = -1;
+    private int sentTotal = -1;
+
+    // Client-side copy of the visible page
+    private final ItemStack[] pageStacks = new ItemStack[PAGE_SIZE];
+    private final long[] pageCounts = new long[PAGE_SIZE];
+    private int clientPage = 0;
+    private int clientPageCount = 1;
+    private int clientTotal = 0;
+
+    // Client constructor, called from the menu type with the extra data written by the server
+    public StorageTerminalMenu(int containerId, Inventory playerInventory, RegistryFriendlyByteBuf extraData) {
+        this(containerId, playerInventory, ContainerLevelAccess.NULL, null);
+        extraData.readBlockPos();
+    }
+
+    public StorageTerminalMenu(int containerId, Inventory playerInventory, SimpleStorageBlockEntity storage) {
+        this(containerId, playerInventory, ContainerLevelAccess.create(storage.getLevel(), storage.getBlockPos()), storage);
+    }
+
+    private StorageTerminalMenu(int containerId, Inventory playerInventory, ContainerLevelAccess access,
+                                @Nullable SimpleStorageBlockEntity storage) {
+        super(ModMenuTypes.STORAGE_TERMINAL.get(), containerId);
+        this.access = access;
+        this.player = playerInventory.player;
+        this.storage = storage;
+        Arrays.fill(pageStacks, ItemStack.EMPTY);
+        if (storage != null) {
+            storage.onTerminalOpened();
+        }
+
+        // Player inventory below the terminal grid
+        int inventoryY = 18 + ROWS * 18 + 14;
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 9; column++) {
+                addSlot(new Slot(playerInventory, column + row * 9 + 9, 8 + column * 18, inventoryY + row * 18));
+            }
+        }
+        for (int column = 0; column < 9; column++) {
+            addSlot(new Slot(playerInventory, column, 8 + column * 18, inventoryY + 58));
+        }
+    }
+
+    // Shift-clicking a player slot moves the stack into the storage
+    @Override
+    public ItemStack quickMoveStack(Player player, int index) {
+        Slot slot = slots.get(index);
+        if (storage == null || !slot.hasItem()) {
+            return ItemStack.EMPTY;
+        }
+        ItemStack stack = slot.getItem();
+        int accepted = storage.addItem(stack, false);
+        if (accepted > 0) {
+            stack.shrink(accepted);
+            slot.setChanged();
+        }
+        return ItemStack.EMPTY;
+    }
+
+    @Override
+    public boolean stillValid(Player player) {
+        return (storage == null || !storage.isRemoved())
+                && stillValid(access, player, ModBlocks.SIMPLE_STORAGE_BLOCK.get());
+    }
+
+    @Override
+    public void removed(Player player) {
+        super.removed(player);
+        if (storage != null) {
+            storage.onTerminalClosed();
+        }
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        if (storage != null) {
+            sendPage();
+        }
+    }
+
+    /**
+     * Applies a view change requested by the client.
+     */
+    public void setView(String query, TerminalSortMode sortMode, int page) {
+        String trimmed = query.length() > TerminalViewPayload.MAX_QUERY_LENGTH
+                ? query.substring(0, TerminalViewPayload.MAX_QUERY_LENGTH) : query;
+        if (!trimmed.equals(this.query) || sortMode != this.sortMode) {
+            this.query = trimmed;
+            this.sortMode = sortMode;
+            viewDirty = true;
+        }
+        this.page = Math.max(0, page);
+    }
+
+    /**
+     * Moves items from a slot of the visible page into the player's inventory.
+     */
+    public void extract(int slot, boolean fullStack) {
+        if (storage == null || slot < 0 || slot >= PAGE_SIZE || sentKeys[slot] == null) {
+            return;
+        }
+        ItemKey key = sentKeys[slot];
+        int amount = fullStack ? key.getPrototype().getMaxStackSize() : 1;
+        ItemStack extracted = storage.removeItem(key, amount, false);
+        if (!extracted.isEmpty()) {
+            player.getInventory().add(extracted);
+            if (!extracted.isEmpty()) {
+                // Whatever doesn't fit goes back into storage
+                storage.addItem(extracted, false);
+            }
+        }
+    }
+
+    private void sendPage() {
+        StorageInventory inventory = storage.getInventory();
+        long gameTime = storage.getLevel() != null ? storage.getLevel().getGameTime() : 0;
+
+        boolean contentsChanged = inventory.getTypesVersion() != viewTypesVersion
+                || (sortMode.dependsOnCounts() && inventory.getVersion() != viewVersion);
+        if (viewDirty || (contentsChanged && gameTime - lastSortTime >= RESORT_INTERVAL)) {
+            rebuildView(inventory);
+            lastSortTime = gameTime;
+        }
+
+        int pageCount = Math.max(1, (view.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.min(page, pageCount - 1);
+
+        List<TerminalPagePayload.Entry> changed = new ArrayList<>();
+        int offset = page * PAGE_SIZE;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ItemKey key = offset + i < view.size() ? view.get(offset + i) : null;
+            long count = key != null ? inventory.getCount(key) : 0;
+            if (count <= 0) {
+                // Type was removed since the last sort
+                key = null;
+                count = 0;
+            }
+            if (!Objects.equals(key, sentKeys[i]) || count != sentCounts[i]) {
+                sentKeys[i] = key;
+                sentCounts[i] = count;
+                changed.add(new TerminalPagePayload.Entry(i, key != null ? key.toStack(1) : ItemStack.EMPTY, count));
+            }
+        }
+
+        if (!changed.isEmpty() || page != sentPage || pageCount != sentPageCount || view.size() != sentTotal) {
+            sentPage = page;
+            sentPageCount = pageCount;
+            sentTotal = view.size();
+            if (player instanceof ServerPlayer serverPlayer) {
+                PacketDistributor.sendToPlayer(serverPlayer,
+                        new TerminalPagePayload(containerId, page, pageCount, view.size(), changed));
+                FiatLuxMetrics.TERMINAL_PAGE_PACKETS.increment();
+            }
+        }
+    }
+
+    private void rebuildView(StorageInventory inventory) {
+        List<ItemKey> keys = new ArrayList<>(inventory.getIndex().search(query));
+        keys.sort(sortMode.comparator(inventory));
+        view = keys;
+        viewDirty = false;
+        viewVersion = inventory.getVersion();
+        viewTypesVersion = inventory.getTypesVersion();
+    }
+
+    public void applyPage(TerminalPagePayload payload) {
+        clientPage = payload.page();
+        clientPageCount = payload.pageCount();
+        clientTotal = payload.totalEntries();
+        for (TerminalPagePayload.Entry entry : payload.entries()) {
+            if (entry.slot() >= 0 && entry.slot() < PAGE_SIZE) {
+                pageStacks[entry.slot()] = entry.stack();
+                pageCounts[entry.slot()] = entry.count();
+            }
+        }
+    }
+
+    public ItemStack getPageStack(int slot) {
+        return pageStacks[slot];
+    }
+
+    public long getPageCount(int slot) {
+        return pageCounts[slot];
+    }
+
+    public int getPage() {
+        return clientPage;
+    }
+
+    public int getPageTotal() {
+        return clientPageCount;
+    }
+
+    public int getTotalEntries() {
+        return clientTotal;
+    }
+}
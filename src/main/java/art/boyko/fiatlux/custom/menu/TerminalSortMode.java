@@ -0,0 +1,47 @@
+package art.boyko.fiatlux.custom.menu;
+
+import java.util.Comparator;
+
+import art.boyko.fiatlux.storage.ItemKey;
+import art.boyko.fiatlux.storage.StorageInventory;
+import net.minecraft.core.registries.BuiltInRegistries;
+
+public enum TerminalSortMode {
+    NAME("Name"),
+    COUNT("Count"),
+    ID("ID");
+
+    private final String label;
+
+    TerminalSortMode(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public TerminalSortMode next() {
+        return values()[(ordinal() + 1) % values().length];
+    }
+
+    public static TerminalSortMode byId(int id) {
+        return id >= 0 && id < values().length ? values()[id] : NAME;
+    }
+
+    /**
+     * Whether the order can change without any type being added or removed.
+     */
+    public boolean dependsOnCounts() {
+        return this == COUNT;
+    }
+
+    public Comparator<ItemKey> comparator(StorageInventory inventory) {
+        Comparator<ItemKey> byName = Comparator.comparing(key -> inventory.getIndex().getName(key));
+        return switch (this) {
+            case NAME -> byName;
+            case COUNT -> Comparator.<ItemKey>comparingLong(inventory::getCount).reversed().thenComparing(byName);
+            case ID -> Comparator.<ItemKey, String>comparing(key -> BuiltInRegistries.ITEM.getKey(key.getItem()).toString()).thenComparing(byName);
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package art.boyko.fiatlux.datagen;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.init.ModBlocks;
+import art.boyko.fiatlux.init.ModItems;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.data.DataGenerator;
 import net.minecraft.data.PackOutput;
@@ -21,17 +24,26 @@ public class DataGenerators {
         ExistingFileHelper existingFileHelper = event.getExistingFileHelper();
         CompletableFuture<HolderLookup.Provider> lookupProvider = event.getLookupProvider();
 
+        // Each provider is skipped when the classes it is generated from are unchanged; independent groups run in parallel.
+        // Content table providers hash each entry instead, so a table change only regenerates the entries it touches
         if (event.includeClient()) {
-            generator.addProvider(true, new ModItemModelProvider(packOutput, existingFileHelper));
-            generator.addProvider(true, new ModBlockStateProvider(packOutput, existingFileHelper));
-            generator.addProvider(true, new ModLanguageProvider(packOutput, "en_us"));
+            generator.addProvider(true, new ParallelDataProvider("Fiat Lux client assets", List.of(
+                    // Both model providers share the ExistingFileHelper, so they run one after another
+                    List.of(
+                            new IncrementalDataProvider(packOutput, new ModItemModelProvider(packOutput, existingFileHelper)),
+                            new IncrementalDataProvider(packOutput, new ModBlockStateProvider(packOutput, existingFileHelper))),
+                    List.of(
+                            new IncrementalDataProvider(packOutput, new ModLanguageProvider(packOutput, "en_us"),
+                                    ModBlocks.class, ModItems.class)))));
         }
 
         if (event.includeServer()) {
-            generator.addProvider(true, new ModRecipeProvider(packOutput, lookupProvider));
-            generator.addProvider(true, new ModLootTableProvider(packOutput, lookupProvider));
+            generator.addProvider(true, new ParallelDataProvider("Fiat Lux server data", List.of(
+                    List.of(new IncrementalDataProvider(packOutput, new ModRecipeProvider(packOutput, lookupProvider),
+                            ModBlocks.class, ModItems.class)),
+                    List.of(new IncrementalDataProvider(packOutput, new ModLootTableProvider(packOutput, lookupProvider))))));
         }
 
         FiatLux.LOGGER.info("Data generation setup complete for " + FiatLux.MODID);
     }
-}
\ No newline at end of file
+}
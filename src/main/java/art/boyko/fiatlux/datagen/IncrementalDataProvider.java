@@ -0,0 +1,265 @@
+package art.boyko.fiatlux.datagen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.SharedConstants;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.DataProvider;
+import net.minecraft.data.PackOutput;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Skips data generation whose inputs are unchanged since the last run.
+ * <p>
+ * The code inputs are the compiled bytes of the classes that define the provider's output (the provider itself,
+ * its nested classes and any classes passed in) plus the game version. Providers implementing {@link Entries}
+ * additionally describe the inputs of each content entry; an output file belongs to the entry it is named after.
+ * After a run every written file is recorded in a manifest outside the output folder, with its content hash and
+ * the input hash of its entry. On the next run with the same code inputs, only entries whose input hash changed are
+ * regenerated; other providers are skipped as a whole. Recorded files that are not regenerated are declared to the
+ * hash cache again, which keeps the cache from purging them. A missing or unreadable manifest regenerates
+ * everything, as does {@code -Dfiatlux.datagen.force=true}.
+ */
+public class IncrementalDataProvider implements DataProvider {
+    private static final String FORMAT = "2";
+    private static final String NO_ENTRY = "-";
+    private static final boolean FORCE = Boolean.getBoolean("fiatlux.datagen.force");
+
+    private final DataProvider delegate;
+    private final Path root;
+    private final Path manifest;
+    private final List<Class<?>> inputs;
+
+    /**
+     * A provider that generates its outputs per content entry and can leave entries out of a run.
+     */
+    public interface Entries {
+        /**
+         * Entry key -> description of everything the entry's outputs depend on besides the provider's code.
+         * Output files are named after their entry's key.
+         */
+        Map<String, String> getEntryInputs();
+
+        /**
+         * Leaves the given entries out of the next run.
+         */
+        void skipEntries(Set<String> keys);
+    }
+
+    private record Output(String entry, String entryHash, HashCode hash) {
+    }
+
+    private record Manifest(String code, Map<Path, Output> outputs) {
+    }
+
+    public IncrementalDataProvider(PackOutput output, DataProvider delegate, Class<?>... inputs) {
+        this.delegate = delegate;
+        this.inputs = List.of(inputs);
+        this.root = output.getOutputFolder().toAbsolutePath().normalize();
+        // The hash cache deletes unknown files under the output folder, so the manifest lives next to it
+        this.manifest = root.getParent().resolve(".fiatlux-datagen")
+                .resolve(delegate.getName().replaceAll("[^A-Za-z0-9_.-]", "_") + ".manifest");
+    }
+
+    @Override
+    public CompletableFuture<?> run(CachedOutput output) {
+        long start = System.nanoTime();
+        String code = fingerprint();
+        Manifest previous = FORCE ? null : readManifest();
+        boolean sameCode = previous != null && previous.code().equals(code);
+        Map<String, String> entryHashes = delegate instanceof Entries entries ? hashEntries(code, entries) : Map.of();
+
+        if (sameCode && !(delegate instanceof Entries)) {
+            try {
+                redeclare(output, previous.outputs());
+                report("skipped, inputs unchanged (" + previous.outputs().size() + " files)", start);
+                return CompletableFuture.completedFuture(null);
+            } catch (IOException e) {
+                FiatLux.LOGGER.info("{}: recorded outputs missing, regenerating", getName());
+            }
+        }
+
+        // Outputs of entries whose inputs are unchanged are kept as recorded
+        Map<Path, Output> kept = new HashMap<>();
+        Set<String> unchanged = new HashSet<>();
+        if (sameCode && delegate instanceof Entries entries) {
+            Set<String> stale = new HashSet<>();
+            for (Map.Entry<Path, Output> recorded : previous.outputs().entrySet()) {
+                Output out = recorded.getValue();
+                if (!out.entryHash().equals(entryHashes.get(out.entry())) || !Files.isRegularFile(recorded.getKey())) {
+                    stale.add(out.entry());
+                }
+            }
+            for (Map.Entry<Path, Output> recorded : previous.outputs().entrySet()) {
+                String entry = recorded.getValue().entry();
+                if (!entry.equals(NO_ENTRY) && !stale.contains(entry)) {
+                    kept.put(recorded.getKey(), recorded.getValue());
+                    unchanged.add(entry);
+                }
+            }
+            try {
+                redeclare(output, kept);
+            } catch (IOException e) {
+                kept.clear();
+                unchanged.clear();
+            }
+            entries.skipEntries(unchanged);
+        } else if (delegate instanceof Entries entries) {
+            entries.skipEntries(Set.of());
+        }
+
+        Map<Path, HashCode> written = new ConcurrentHashMap<>();
+        CachedOutput recording = (path, data, hash) -> {
+            output.writeIfNeeded(path, data, hash);
+            written.put(path.toAbsolutePath().normalize(), hash);
+        };
+        return delegate.run(recording).thenRun(() -> {
+            Map<Path, Output> outputs = new HashMap<>(kept);
+            for (Map.Entry<Path, HashCode> file : written.entrySet()) {
+                String entry = entryOf(file.getKey(), entryHashes);
+                outputs.put(file.getKey(), new Output(entry, entryHashes.getOrDefault(entry, NO_ENTRY), file.getValue()));
+            }
+            writeManifest(code, outputs);
+            report("generated " + written.size() + " files, " + unchanged.size() + " entries unchanged", start);
+        });
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    private String fingerprint() {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(FORMAT, StandardCharsets.UTF_8);
+        hasher.putString(SharedConstants.getCurrentVersion().getName(), StandardCharsets.UTF_8);
+        hasher.putString(delegate.getClass().getName(), StandardCharsets.UTF_8);
+        List<Class<?>> classes = new ArrayList<>();
+        classes.add(delegate.getClass());
+        classes.addAll(inputs);
+        for (int i = 0; i < classes.size(); i++) {
+            Class<?> clazz = classes.get(i);
+            hashClass(hasher, clazz);
+            classes.addAll(List.of(clazz.getDeclaredClasses()));
+        }
+        return hasher.hash().toString();
+    }
+
+    private static Map<String, String> hashEntries(String code, Entries entries) {
+        Map<String, String> hashes = new HashMap<>();
+        for (Map.Entry<String, String> entry : entries.getEntryInputs().entrySet()) {
+            hashes.put(entry.getKey(), Hashing.sha256().newHasher()
+                    .putString(code, StandardCharsets.UTF_8)
+                    .putString(entry.getKey(), StandardCharsets.UTF_8)
+                    .putString(entry.getValue(), StandardCharsets.UTF_8)
+                    .hash().toString());
+        }
+        return hashes;
+    }
+
+    // Output files are named after their entry, e.g. blockstates/<key>.json
+    private static String entryOf(Path path, Map<String, String> entryHashes) {
+        String name = path.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        String key = extension < 0 ? name : name.substring(0, extension);
+        return entryHashes.containsKey(key) ? key : NO_ENTRY;
+    }
+
+    private static void hashClass(Hasher hasher, Class<?> clazz) {
+        String resource = clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class";
+        try (InputStream in = clazz.getResourceAsStream(resource)) {
+            if (in != null) {
+                hasher.putBytes(in.readAllBytes());
+                return;
+            }
+        } catch (IOException ignored) {
+        }
+        // Without the class bytes the fingerprint can't be trusted, so make it unique
+        hasher.putLong(System.nanoTime());
+    }
+
+    /**
+     * Reads the manifest, or returns null when it is missing or any line is malformed.
+     */
+    private @Nullable Manifest readManifest() {
+        List<String> lines;
+        try {
+            if (!Files.exists(manifest)) {
+                return null;
+            }
+            lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+        if (lines.size() < 2 || !lines.get(0).equals(FORMAT)) {
+            return null;
+        }
+        Map<Path, Output> outputs = new HashMap<>();
+        try {
+            for (int i = 2; i < lines.size(); i++) {
+                // "<entry> <entry input hash> <content hash> <path relative to the output folder>"
+                String[] fields = lines.get(i).split(" ", 4);
+                if (fields.length != 4) {
+                    throw new IllegalArgumentException("expected 4 fields");
+                }
+                Path path = root.resolve(fields[3]).normalize();
+                if (!path.startsWith(root)) {
+                    throw new IllegalArgumentException("path outside the output folder");
+                }
+                outputs.put(path, new Output(fields[0], fields[1], HashCode.fromString(fields[2])));
+            }
+        } catch (IllegalArgumentException e) {
+            FiatLux.LOGGER.warn("{}: ignoring unreadable datagen manifest {} ({})", getName(), manifest, e.getMessage());
+            return null;
+        }
+        return new Manifest(lines.get(1), outputs);
+    }
+
+    private static void redeclare(CachedOutput output, Map<Path, Output> outputs) throws IOException {
+        for (Map.Entry<Path, Output> recorded : outputs.entrySet()) {
+            // Matching hash and existing file means the hash cache records the file without writing it
+            output.writeIfNeeded(recorded.getKey(), Files.readAllBytes(recorded.getKey()), recorded.getValue().hash());
+        }
+    }
+
+    private void writeManifest(String code, Map<Path, Output> outputs) {
+        List<String> lines = new ArrayList<>(outputs.size() + 2);
+        lines.add(FORMAT);
+        lines.add(code);
+        outputs.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Output out = entry.getValue();
+                    // Relative, so the manifest stays valid when the project is moved or checked out elsewhere
+                    String path = root.relativize(entry.getKey()).toString().replace('\\', '/');
+                    lines.add(out.entry() + " " + out.entryHash() + " " + out.hash() + " " + path);
+                });
+        try {
+            Files.createDirectories(manifest.getParent());
+            Files.write(manifest, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            FiatLux.LOGGER.warn("Could not write datagen manifest {}", manifest, e);
+        }
+    }
+
+    private void report(String result, long start) {
+        FiatLux.LOGGER.info("{}: {} in {} ms", getName(), result, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -1,32 +1,49 @@
 package art.boyko.fiatlux.datagen;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import art.boyko.fiatlux.FiatLux;
-import art.boyko.fiatlux.init.ModBlocks;
 import net.minecraft.data.PackOutput;
 import net.minecraft.world.level.block.Block;
 import net.neoforged.neoforge.client.model.generators.BlockStateProvider;
 import net.neoforged.neoforge.common.data.ExistingFileHelper;
 import net.neoforged.neoforge.registries.DeferredBlock;
 
-public class ModBlockStateProvider extends BlockStateProvider {
-    
+public class ModBlockStateProvider extends BlockStateProvider implements IncrementalDataProvider.Entries {
+    private Set<String> skipped = Set.of();
+
     public ModBlockStateProvider(PackOutput output, ExistingFileHelper exFileHelper) {
         super(output, FiatLux.MODID, exFileHelper);
     }
 
     @Override
     protected void registerStatesAndModels() {
-        // Simple cube blocks with all sides same texture
-        blockWithItem(ModBlocks.EXAMPLE_BLOCK);
-        blockWithItem(ModBlocks.LIGHT_BLOCK);
-        blockWithItem(ModBlocks.DECORATIVE_BLOCK);
-        blockWithItem(ModBlocks.REINFORCED_BLOCK);
-        
-        // Custom blocks with BlockEntity
-        blockWithItem(ModBlocks.SIMPLE_STORAGE_BLOCK);
-        blockWithItem(ModBlocks.ENERGY_STORAGE_BLOCK);
+        for (ModContentTable.BlockEntry entry : ModContentTable.BLOCKS) {
+            if (skipped.contains(entry.block().getId().getPath())) {
+                continue;
+            }
+            switch (entry.model()) {
+                case CUBE_ALL -> blockWithItem(entry.block());
+            }
+        }
     }
     
+    @Override
+    public Map<String, String> getEntryInputs() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        for (ModContentTable.BlockEntry entry : ModContentTable.BLOCKS) {
+            inputs.put(entry.block().getId().getPath(), entry.model().name());
+        }
+        return inputs;
+    }
+
+    @Override
+    public void skipEntries(Set<String> keys) {
+        skipped = keys;
+    }
+
     /**
      * Creates a simple cube block model and blockstate
      * Also generates the block item model
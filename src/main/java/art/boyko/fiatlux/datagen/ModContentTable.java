@@ -0,0 +1,69 @@
+package art.boyko.fiatlux.datagen;
+
+import java.util.List;
+
+import art.boyko.fiatlux.init.ModBlocks;
+import art.boyko.fiatlux.init.ModItems;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.registries.DeferredBlock;
+import net.neoforged.neoforge.registries.DeferredItem;
+
+/**
+ * Single table of generated content. Block states, block and item models and loot tables are all derived
+ * from these entries, so adding a block or item is one line here.
+ */
+public final class ModContentTable {
+
+    public enum BlockModel {
+        // Cube with the same texture on all sides, plus a matching block item model
+        CUBE_ALL
+    }
+
+    public enum BlockLoot {
+        DROP_SELF,
+        // Drops itself with the block entity's components, e.g. an energy cell's charge or a storage's contents
+        DROP_SELF_WITH_COMPONENTS,
+        NONE
+    }
+
+    public enum ItemModel {
+        GENERATED,
+        HANDHELD
+    }
+
+    public record BlockEntry(DeferredBlock<? extends Block> block, BlockModel model, BlockLoot loot) {
+    }
+
+    public record ItemEntry(DeferredItem<? extends Item> item, ItemModel model) {
+    }
+
+    public static final List<BlockEntry> BLOCKS = List.of(
+            // Simple blocks
+            new BlockEntry(ModBlocks.EXAMPLE_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            new BlockEntry(ModBlocks.LIGHT_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            new BlockEntry(ModBlocks.DECORATIVE_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            new BlockEntry(ModBlocks.REINFORCED_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            // Blocks with BlockEntity
+            new BlockEntry(ModBlocks.SIMPLE_STORAGE_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF_WITH_COMPONENTS),
+            new BlockEntry(ModBlocks.ENERGY_STORAGE_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF_WITH_COMPONENTS),
+            new BlockEntry(ModBlocks.ILLUMINATOR_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            new BlockEntry(ModBlocks.ITEM_CONDUIT_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            new BlockEntry(ModBlocks.CHARGING_PAD_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF),
+            new BlockEntry(ModBlocks.CHUNK_LOADER_BLOCK, BlockModel.CUBE_ALL, BlockLoot.DROP_SELF)
+    );
+
+    // Block items are covered by their block's entry
+    public static final List<ItemEntry> ITEMS = List.of(
+            new ItemEntry(ModItems.EXAMPLE_ITEM, ItemModel.GENERATED),
+            new ItemEntry(ModItems.MAGIC_GEM, ItemModel.GENERATED),
+            new ItemEntry(ModItems.LIGHT_CRYSTAL, ItemModel.GENERATED),
+            new ItemEntry(ModItems.COMPRESSED_COAL, ItemModel.GENERATED),
+            new ItemEntry(ModItems.TORCH_ITEM, ItemModel.GENERATED),
+            new ItemEntry(ModItems.VACUUM_UPGRADE, ItemModel.GENERATED),
+            new ItemEntry(ModItems.LIGHT_SWORD, ItemModel.HANDHELD)
+    );
+
+    private ModContentTable() {
+    }
+}
@@ -1,39 +1,58 @@
 package art.boyko.fiatlux.datagen;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import art.boyko.fiatlux.FiatLux;
-import art.boyko.fiatlux.init.ModItems;
 import net.minecraft.data.PackOutput;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.Item;
 import net.neoforged.neoforge.client.model.generators.ItemModelBuilder;
 import net.neoforged.neoforge.client.model.generators.ItemModelProvider;
 import net.neoforged.neoforge.common.data.ExistingFileHelper;
 import net.neoforged.neoforge.registries.DeferredItem;
 
-public class ModItemModelProvider extends ItemModelProvider {
-    
+public class ModItemModelProvider extends ItemModelProvider implements IncrementalDataProvider.Entries {
+    private Set<String> skipped = Set.of();
+
     public ModItemModelProvider(PackOutput output, ExistingFileHelper existingFileHelper) {
         super(output, FiatLux.MODID, existingFileHelper);
     }
 
     @Override
     protected void registerModels() {
-        simpleItem(ModItems.EXAMPLE_ITEM);
-        simpleItem(ModItems.MAGIC_GEM);
-        simpleItem(ModItems.LIGHT_CRYSTAL);
-        simpleItem(ModItems.COMPRESSED_COAL);
-        simpleItem(ModItems.TORCH_ITEM);
-        
-        handheldItem(ModItems.LIGHT_SWORD);
-        
+        for (ModContentTable.ItemEntry entry : ModContentTable.ITEMS) {
+            if (skipped.contains(entry.item().getId().getPath())) {
+                continue;
+            }
+            switch (entry.model()) {
+                case GENERATED -> simpleItem(entry.item());
+                case HANDHELD -> handheldItem(entry.item());
+            }
+        }
+
         // Block items are automatically handled by ModBlockStateProvider via simpleBlockWithItem()
         // No need to create them here
     }
     
+    @Override
+    public Map<String, String> getEntryInputs() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        for (ModContentTable.ItemEntry entry : ModContentTable.ITEMS) {
+            inputs.put(entry.item().getId().getPath(), entry.model().name());
+        }
+        return inputs;
+    }
+
+    @Override
+    public void skipEntries(Set<String> keys) {
+        skipped = keys;
+    }
+
     /**
      * Creates a simple item model with generated texture
      */
-    private ItemModelBuilder simpleItem(DeferredItem<Item> item) {
+    private ItemModelBuilder simpleItem(DeferredItem<?> item) {
         return withExistingParent(item.getId().getPath(),
                 ResourceLocation.parse("item/generated")).texture("layer0",
                 ResourceLocation.fromNamespaceAndPath(modid, "item/" + item.getId().getPath()));
@@ -28,6 +28,10 @@ public class ModLanguageProvider extends LanguageProvider {
         // New blocks with BlockEntity
         addBlock(ModBlocks.SIMPLE_STORAGE_BLOCK, "Simple Storage Block");
         addBlock(ModBlocks.ENERGY_STORAGE_BLOCK, "Energy Storage Block");
+        addBlock(ModBlocks.ILLUMINATOR_BLOCK, "Area Illuminator");
+        addBlock(ModBlocks.ITEM_CONDUIT_BLOCK, "Item Conduit");
+        addBlock(ModBlocks.CHARGING_PAD_BLOCK, "Charging Pad");
+        addBlock(ModBlocks.CHUNK_LOADER_BLOCK, "Chunk Loader");
         
         // Items
         addItem(ModItems.EXAMPLE_ITEM, "Example Item");
@@ -36,6 +40,7 @@ public class ModLanguageProvider extends LanguageProvider {
         addItem(ModItems.LIGHT_CRYSTAL, "Light Crystal");
         addItem(ModItems.COMPRESSED_COAL, "Compressed Coal");
         addItem(ModItems.TORCH_ITEM, "Eternal Torch");
+        addItem(ModItems.VACUUM_UPGRADE, "Vacuum Upgrade");
         
         // Config translations
         add("fiatlux.configuration.title", "Fiat Lux Configs");
@@ -45,14 +50,52 @@ public class ModLanguageProvider extends LanguageProvider {
         add("fiatlux.configuration.logDirtBlock", "Log Dirt Block");
         add("fiatlux.configuration.magicNumberIntroduction", "Magic Number Text");
         add("fiatlux.configuration.magicNumber", "Magic Number");
+        add("fiatlux.configuration.illuminatorRadius", "Illuminator Radius");
+        add("fiatlux.configuration.illuminatorPlaceLights", "Illuminator Places Lights");
+        add("fiatlux.configuration.illuminatorLightSpacing", "Illuminator Light Spacing");
+        add("fiatlux.configuration.lightSwordBeamRange", "Light Sword Beam Range");
+        add("fiatlux.configuration.lightSwordBeamRadius", "Light Sword Beam Radius");
+        add("fiatlux.configuration.lightSwordBeamMaxTargets", "Light Sword Beam Max Targets");
+        add("fiatlux.configuration.energyParallelSolve", "Parallel Energy Network Solving");
+        add("fiatlux.configuration.energyParallelThreshold", "Parallel Energy Network Threshold");
+        add("fiatlux.configuration.energyCatchUpUnloaded", "Energy Catch-Up While Unloaded");
+        add("fiatlux.configuration.compactStorage", "Compact Storage Blocks");
+        add("fiatlux.configuration.storageCapacity", "Storage Capacity");
+        add("fiatlux.configuration.storageLegacyItem", "Item for Untyped Legacy Storage Counts");
+        add("fiatlux.configuration.tickBudgetEnabled", "Tick Budget Enabled");
+        add("fiatlux.configuration.tickBudgetNanos", "Tick Budget (ns)");
+        add("fiatlux.configuration.journalEnabled", "Transaction Journal Enabled");
+        add("fiatlux.configuration.journalSegmentMb", "Journal Segment Size (MB)");
+        add("fiatlux.configuration.conduitTransferInterval", "Conduit Transfer Interval");
+        add("fiatlux.configuration.conduitItemsPerTransfer", "Conduit Items Per Transfer");
+        add("fiatlux.configuration.chargingPadRadius", "Charging Pad Radius");
+        add("fiatlux.configuration.chargingPadInterval", "Charging Pad Interval");
+        add("fiatlux.configuration.chargingPadRate", "Charging Pad Rate (FE/t)");
+        add("fiatlux.configuration.chargingPadScanInterval", "Charging Pad Inventory Scan Interval");
+        add("fiatlux.configuration.chunkLoaderMaxRadius", "Chunk Loader Max Radius");
+        add("fiatlux.configuration.chunkLoaderFePerChunk", "Chunk Loader Cost (FE/t per chunk)");
+        add("fiatlux.configuration.chunkLoaderInterval", "Chunk Loader Payment Interval");
+        add("fiatlux.configuration.vacuumRadius", "Vacuum Radius");
+        add("fiatlux.configuration.vacuumInterval", "Vacuum Sweep Interval");
+        add("fiatlux.configuration.storageAsyncSave", "Background Storage Save Encoding");
+        add("fiatlux.configuration.storageAsyncSaveThreshold", "Background Save Threshold (item types)");
+        add("fiatlux.configuration.metricsEnabled", "Metrics Export Enabled");
+        add("fiatlux.configuration.metricsMode", "Metrics Export Mode");
+        add("fiatlux.configuration.metricsPort", "Metrics Port");
+        add("fiatlux.configuration.metricsFile", "Metrics File");
+        add("fiatlux.configuration.metricsInterval", "Metrics Interval");
         
         // Tooltips and descriptions
         add("item.fiatlux.magic_gem.tooltip", "A mystical gem radiating with magical energy");
         add("item.fiatlux.light_sword.tooltip", "A sword infused with pure light");
         add("item.fiatlux.compressed_coal.tooltip", "Burns 4 times longer than regular coal");
+        add("item.fiatlux.vacuum_upgrade.tooltip", "Makes a storage block collect items lying around it");
         add("block.fiatlux.light_block.tooltip", "Illuminates the darkness");
         add("block.fiatlux.simple_storage_block.tooltip", "Stores items in a simple way");
         add("block.fiatlux.energy_storage_block.tooltip", "Stores and manages energy");
+        add("block.fiatlux.illuminator_block.tooltip", "Keeps monsters from spawning in a large area");
+        add("block.fiatlux.charging_pad_block.tooltip", "Charges energy items of nearby players from adjacent energy cells");
+        add("block.fiatlux.chunk_loader_block.tooltip", "Keeps nearby chunks loaded while it has power");
         
         // Creative tab descriptions
         add("itemGroup.fiatlux.tooltip", "Main Fiat Lux items and blocks");
@@ -66,5 +109,9 @@ public class ModLanguageProvider extends LanguageProvider {
         add("message.fiatlux.energy_storage.energy_info", "Energy: %d/%d FE");
         add("message.fiatlux.energy_storage.extracted", "Extracted %d FE");
         add("message.fiatlux.energy_storage.added", "Added %d FE");
+        
+        // Storage terminal
+        add("container.fiatlux.storage_terminal", "Storage Terminal");
+        add("container.fiatlux.storage_terminal.search", "Search");
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package art.boyko.fiatlux.datagen;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import art.boyko.fiatlux.init.ModBlocks;
 import net.minecraft.core.HolderLookup;
@@ -11,39 +14,71 @@ import net.minecraft.data.loot.BlockLootSubProvider;
 import net.minecraft.data.loot.LootTableProvider;
 import net.minecraft.world.flag.FeatureFlags;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.storage.loot.functions.CopyComponentsFunction;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParamSets;
 
-public class ModLootTableProvider extends LootTableProvider {
-    
+public class ModLootTableProvider extends LootTableProvider implements IncrementalDataProvider.Entries {
+    // Block ids left out of the next run; shared with the sub provider, which is created per run
+    private final Set<String> skipped;
+
     public ModLootTableProvider(PackOutput output, CompletableFuture<HolderLookup.Provider> registries) {
+        this(output, registries, ConcurrentHashMap.newKeySet());
+    }
+
+    private ModLootTableProvider(PackOutput output, CompletableFuture<HolderLookup.Provider> registries, Set<String> skipped) {
         super(output, Set.of(), List.of(
-                new SubProviderEntry(ModBlockLootTables::new, LootContextParamSets.BLOCK)
+                new SubProviderEntry(lookup -> new ModBlockLootTables(lookup, skipped), LootContextParamSets.BLOCK)
         ), registries);
+        this.skipped = skipped;
+    }
+
+    @Override
+    public Map<String, String> getEntryInputs() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        for (ModContentTable.BlockEntry entry : ModContentTable.BLOCKS) {
+            inputs.put(entry.block().getId().getPath(), entry.loot().name());
+        }
+        return inputs;
     }
-    
+
+    @Override
+    public void skipEntries(Set<String> keys) {
+        skipped.clear();
+        skipped.addAll(keys);
+    }
+
     public static class ModBlockLootTables extends BlockLootSubProvider {
-        
+        private final Set<String> skipped;
+
         public ModBlockLootTables(HolderLookup.Provider registries) {
+            this(registries, Set.of());
+        }
+
+        public ModBlockLootTables(HolderLookup.Provider registries, Set<String> skipped) {
             super(Set.of(), FeatureFlags.REGISTRY.allFlags(), registries);
+            this.skipped = skipped;
         }
 
         @Override
         protected void generate() {
-            // Simple blocks that drop themselves
-            dropSelf(ModBlocks.EXAMPLE_BLOCK.get());
-            dropSelf(ModBlocks.LIGHT_BLOCK.get());
-            dropSelf(ModBlocks.DECORATIVE_BLOCK.get());
-            dropSelf(ModBlocks.REINFORCED_BLOCK.get());
-            
-            // Blocks with BlockEntity that drop themselves
-            // Note: BlockEntity data is automatically preserved in item form
-            dropSelf(ModBlocks.SIMPLE_STORAGE_BLOCK.get());
-            dropSelf(ModBlocks.ENERGY_STORAGE_BLOCK.get());
+            for (ModContentTable.BlockEntry entry : ModContentTable.BLOCKS) {
+                if (skipped.contains(entry.block().getId().getPath())) {
+                    continue;
+                }
+                switch (entry.loot()) {
+                    case DROP_SELF -> dropSelf(entry.block().get());
+                    case DROP_SELF_WITH_COMPONENTS -> add(entry.block().get(), createSingleItemTable(entry.block().get())
+                            .apply(CopyComponentsFunction.copyComponents(CopyComponentsFunction.Source.BLOCK_ENTITY)));
+                    case NONE -> add(entry.block().get(), noDrop());
+                }
+            }
         }
 
+        // Skipped blocks keep their recorded tables, so they must not count as missing
         @Override
         protected Iterable<Block> getKnownBlocks() {
             return ModBlocks.BLOCKS.getEntries().stream()
+                    .filter(registryObject -> !skipped.contains(registryObject.getId().getPath()))
                     .map(registryObject -> (Block) registryObject.get())
                     .toList();
         }
@@ -114,6 +114,18 @@ public class ModRecipeProvider extends RecipeProvider {
                 .unlockedBy("has_magic_gem", has(ModItems.MAGIC_GEM.get()))
                 .save(recipeOutput);
 
+        // Vacuum upgrade recipe
+        ShapedRecipeBuilder.shaped(RecipeCategory.MISC, ModItems.VACUUM_UPGRADE.get())
+                .pattern(" H ")
+                .pattern("EPE")
+                .pattern(" R ")
+                .define('H', Items.HOPPER)
+                .define('E', Items.ENDER_PEARL)
+                .define('P', Items.PISTON)
+                .define('R', Items.REDSTONE)
+                .unlockedBy("has_hopper", has(Items.HOPPER))
+                .save(recipeOutput);
+
         // New recipes for blocks with BlockEntity
         // Simple storage block recipe
         ShapedRecipeBuilder.shaped(RecipeCategory.BUILDING_BLOCKS, ModBlocks.SIMPLE_STORAGE_BLOCK.get())
@@ -135,5 +147,49 @@ public class ModRecipeProvider extends RecipeProvider {
                 .define('M', ModItems.MAGIC_GEM.get())
                 .unlockedBy("has_magic_gem", has(ModItems.MAGIC_GEM.get()))
                 .save(recipeOutput);
+
+        // Area illuminator recipe
+        ShapedRecipeBuilder.shaped(RecipeCategory.BUILDING_BLOCKS, ModBlocks.ILLUMINATOR_BLOCK.get())
+                .pattern("LLL")
+                .pattern("LGL")
+                .pattern("LLL")
+                .define('L', ModBlocks.LIGHT_BLOCK.get())
+                .define('G', ModItems.LIGHT_CRYSTAL.get())
+                .unlockedBy("has_light_crystal", has(ModItems.LIGHT_CRYSTAL.get()))
+                .save(recipeOutput);
+
+        // Item conduit recipe
+        ShapedRecipeBuilder.shaped(RecipeCategory.REDSTONE, ModBlocks.ITEM_CONDUIT_BLOCK.get(), 8)
+                .pattern("III")
+                .pattern("HCH")
+                .pattern("III")
+                .define('I', Items.IRON_INGOT)
+                .define('H', Items.HOPPER)
+                .define('C', Items.CHEST)
+                .unlockedBy("has_hopper", has(Items.HOPPER))
+                .save(recipeOutput);
+
+        // Charging pad recipe
+        ShapedRecipeBuilder.shaped(RecipeCategory.REDSTONE, ModBlocks.CHARGING_PAD_BLOCK.get())
+                .pattern("PPP")
+                .pattern("GEG")
+                .pattern("III")
+                .define('P', Items.HEAVY_WEIGHTED_PRESSURE_PLATE)
+                .define('G', Items.GOLD_INGOT)
+                .define('E', ModBlocks.ENERGY_STORAGE_BLOCK.get())
+                .define('I', Items.IRON_INGOT)
+                .unlockedBy("has_energy_storage_block", has(ModBlocks.ENERGY_STORAGE_BLOCK.get()))
+                .save(recipeOutput);
+
+        // Chunk loader recipe
+        ShapedRecipeBuilder.shaped(RecipeCategory.REDSTONE, ModBlocks.CHUNK_LOADER_BLOCK.get())
+                .pattern("OEO")
+                .pattern("ECE")
+                .pattern("OEO")
+                .define('O', Items.OBSIDIAN)
+                .define('E', Items.ENDER_PEARL)
+                .define('C', ModBlocks.ENERGY_STORAGE_BLOCK.get())
+                .unlockedBy("has_energy_storage_block", has(ModBlocks.ENERGY_STORAGE_BLOCK.get()))
+                .save(recipeOutput);
     }
 }
\ No newline at end of file
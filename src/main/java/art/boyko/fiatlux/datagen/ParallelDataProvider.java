@@ -0,0 +1,48 @@
+package art.boyko.fiatlux.datagen;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.Util;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.DataProvider;
+
+/**
+ * Runs groups of providers concurrently on the background executor. Providers within a group run one after
+ * another, so providers that share state (such as an {@code ExistingFileHelper}) belong in the same group.
+ */
+public class ParallelDataProvider implements DataProvider {
+    private final String name;
+    private final List<List<DataProvider>> groups;
+
+    public ParallelDataProvider(String name, List<List<DataProvider>> groups) {
+        this.name = name;
+        this.groups = groups;
+    }
+
+    @Override
+    public CompletableFuture<?> run(CachedOutput output) {
+        long start = System.nanoTime();
+        CompletableFuture<?>[] futures = groups.stream()
+                .map(group -> CompletableFuture.supplyAsync(() -> runGroup(group, output), Util.backgroundExecutor())
+                        .thenCompose(Function.identity()))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).thenRun(() -> FiatLux.LOGGER.info("{}: {} groups finished in {} ms",
+                name, groups.size(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+    private static CompletableFuture<?> runGroup(List<DataProvider> group, CachedOutput output) {
+        CompletableFuture<?> chain = CompletableFuture.completedFuture(null);
+        for (DataProvider provider : group) {
+            chain = chain.thenCompose(ignored -> provider.run(output));
+        }
+        return chain;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
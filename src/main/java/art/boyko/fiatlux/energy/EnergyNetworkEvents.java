@@ -0,0 +1,45 @@
+package art.boyko.fiatlux.energy;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.core.energy.EnergyNetworkSolver;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class EnergyNetworkEvents {
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            // One solve per level is queued at a time; if it is deferred, the level skips balancing until it runs,
+            // which the scheduler bounds to MAX_DEFERRAL_TICKS
+            TickBudgetScheduler.submit(level, BlockPos.ZERO, TickBudgetScheduler.WorkType.NETWORK_SOLVE,
+                    () -> EnergyNetworkManager.get(level).tick(level));
+        }
+    }
+
+    // Ghost nodes are flipped back by their cells' onLoad; this only catches cells removed while unloaded
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.getLevel().isClientSide()) {
+            EnergyNetworkManager.get(event.getLevel()).onChunkLoaded(event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        EnergyNetworkManager.remove(event.getLevel());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        EnergyNetworkSolver.shutdown();
+    }
+}
@@ -0,0 +1,300 @@
+package art.boyko.fiatlux.energy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.core.energy.EnergyNetworkSnapshot;
+import art.boyko.fiatlux.core.energy.EnergyNetworkSolver;
+import art.boyko.fiatlux.core.network.GridTopology;
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Groups the energy cells of a level into networks of adjacent cells and balances them once per tick.
+ * <p>
+ * Cells in unloaded chunks stay in their network as ghost nodes that keep their last known charge and capacity,
+ * so a chunk loading or unloading only flips a node between loaded and ghost. Networks are rebuilt lazily, only
+ * after a cell was placed or broken, and only loaded members take part in balancing.
+ */
+public class EnergyNetworkManager {
+    private static final Map<LevelAccessor, EnergyNetworkManager> MANAGERS = new IdentityHashMap<>();
+
+    private final Long2ObjectOpenHashMap<Node> nodes = new Long2ObjectOpenHashMap<>();
+    // Chunk position (packed) -> positions of the nodes in it, used to drop ghosts that vanished while unloaded
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> nodesByChunk = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet loadedChunksToVerify = new LongOpenHashSet();
+    private final List<Network> networks = new ArrayList<>();
+    private int loadedCount = 0;
+    private boolean dirty = false;
+    // Cells whose comparator level changes through passive behaviour alone, ordered by due game time
+    private final PriorityQueue<ComparatorRefresh> comparatorRefreshes =
+            new PriorityQueue<>(Comparator.comparingLong(ComparatorRefresh::dueTime));
+
+    private record ComparatorRefresh(long dueTime, long pos) {
+    }
+
+    private static class Node {
+        // Null while the cell's chunk is unloaded
+        @Nullable EnergyStorageBlockEntity cell;
+        int lastStored;
+        int lastCapacity;
+        @Nullable Network network;
+    }
+
+    private static class Network {
+        // Sorted packed positions of all members, loaded or not
+        final long[] members;
+        // Sorted packed positions of the loaded members; null after a member was loaded or unloaded
+        long @Nullable [] loadedMembers;
+
+        Network(long[] members) {
+            this.members = members;
+        }
+    }
+
+    public static EnergyNetworkManager get(LevelAccessor level) {
+        return MANAGERS.computeIfAbsent(level, key -> new EnergyNetworkManager());
+    }
+
+    public static void remove(LevelAccessor level) {
+        MANAGERS.remove(level);
+    }
+
+    /**
+     * Called when a cell is placed or its chunk loads. A known ghost node is flipped back to loaded.
+     */
+    public void add(EnergyStorageBlockEntity cell) {
+        long pos = cell.getBlockPos().asLong();
+        Node node = nodes.get(pos);
+        if (node == null) {
+            node = new Node();
+            nodes.put(pos, node);
+            nodesByChunk.computeIfAbsent(chunkKey(pos), key -> new LongOpenHashSet()).add(pos);
+            dirty = true;
+        }
+        if (node.cell == null) {
+            loadedCount++;
+            if (node.network != null) {
+                node.network.loadedMembers = null;
+            }
+        }
+        node.cell = cell;
+    }
+
+    /**
+     * Called when a cell's chunk unloads. The cell stays in its network as a ghost node.
+     */
+    public void unload(EnergyStorageBlockEntity cell) {
+        Node node = nodes.get(cell.getBlockPos().asLong());
+        if (node == null || node.cell != cell) {
+            return;
+        }
+        node.lastStored = cell.getEnergyStored();
+        node.lastCapacity = cell.getMaxEnergyStored();
+        node.cell = null;
+        loadedCount--;
+        if (node.network != null) {
+            node.network.loadedMembers = null;
+        }
+    }
+
+    /**
+     * Called when a cell is broken or replaced. Removes it from its network.
+     */
+    public void remove(BlockPos pos) {
+        long key = pos.asLong();
+        Node node = nodes.remove(key);
+        if (node == null) {
+            return;
+        }
+        if (node.cell != null) {
+            loadedCount--;
+        }
+        LongOpenHashSet chunkNodes = nodesByChunk.get(chunkKey(key));
+        if (chunkNodes != null && chunkNodes.remove(key) && chunkNodes.isEmpty()) {
+            nodesByChunk.remove(chunkKey(key));
+        }
+        dirty = true;
+    }
+
+    /**
+     * Queues a check that every ghost node in a freshly loaded chunk still has its cell.
+     */
+    public void onChunkLoaded(ChunkPos chunkPos) {
+        if (nodesByChunk.containsKey(chunkPos.toLong())) {
+            loadedChunksToVerify.add(chunkPos.toLong());
+        }
+    }
+
+    public void scheduleComparatorRefresh(BlockPos pos, long dueTime) {
+        comparatorRefreshes.add(new ComparatorRefresh(dueTime, pos.asLong()));
+    }
+
+    public int getCellCount() {
+        return loadedCount;
+    }
+
+    public int getGhostCount() {
+        return nodes.size() - loadedCount;
+    }
+
+    /**
+     * Last known charge of all ghost nodes, as of their chunk unloading.
+     */
+    public long getGhostEnergyStored() {
+        long total = 0;
+        for (Node node : nodes.values()) {
+            if (node.cell == null) {
+                total += node.lastStored;
+            }
+        }
+        return total;
+    }
+
+    public long getGhostEnergyCapacity() {
+        long total = 0;
+        for (Node node : nodes.values()) {
+            if (node.cell == null) {
+                total += node.lastCapacity;
+            }
+        }
+        return total;
+    }
+
+    public int getNetworkCount() {
+        if (dirty) {
+            rebuild();
+        }
+        return networks.size();
+    }
+
+    public void tick(Level level) {
+        long gameTime = level.getGameTime();
+        while (!comparatorRefreshes.isEmpty() && comparatorRefreshes.peek().dueTime() <= gameTime) {
+            ComparatorRefresh refresh = comparatorRefreshes.poll();
+            Node node = nodes.get(refresh.pos());
+            if (node != null && node.cell != null) {
+                node.cell.onComparatorRefresh(refresh.dueTime(), gameTime);
+            }
+        }
+
+        if (!loadedChunksToVerify.isEmpty()) {
+            verifyGhosts(level);
+        }
+        if (dirty) {
+            rebuild();
+        }
+        if (networks.isEmpty()) {
+            return;
+        }
+
+        // Capture immutable snapshots of the loaded members on the server thread
+        List<EnergyNetworkSnapshot> snapshots = new ArrayList<>(networks.size());
+        for (Network network : networks) {
+            long[] loaded = getLoadedMembers(network);
+            if (loaded.length > 1) {
+                snapshots.add(capture(loaded));
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        int[][] results = Config.ENERGY_PARALLEL_SOLVE.getAsBoolean()
+                && snapshots.size() >= Config.ENERGY_PARALLEL_THRESHOLD.getAsInt()
+                ? EnergyNetworkSolver.solveParallel(snapshots)
+                : EnergyNetworkSolver.solveSerial(snapshots);
+
+        // Only the final writes happen here, back on the server thread
+        for (int i = 0; i < results.length; i++) {
+            int[] result = results[i];
+            if (result == null) {
+                continue;
+            }
+            EnergyNetworkSnapshot snapshot = snapshots.get(i);
+            for (int j = 0; j < result.length; j++) {
+                if (result[j] != snapshot.stored()[j]) {
+                    nodes.get(snapshot.positions()[j]).cell.setEnergyStored(result[j]);
+                }
+            }
+        }
+    }
+
+    private long[] getLoadedMembers(Network network) {
+        if (network.loadedMembers == null) {
+            LongArrayList loaded = new LongArrayList(network.members.length);
+            for (long member : network.members) {
+                if (nodes.get(member).cell != null) {
+                    loaded.add(member);
+                }
+            }
+            // Members are sorted, so the filtered array is too
+            network.loadedMembers = loaded.toLongArray();
+        }
+        return network.loadedMembers;
+    }
+
+    private EnergyNetworkSnapshot capture(long[] members) {
+        int[] stored = new int[members.length];
+        int[] capacity = new int[members.length];
+        for (int i = 0; i < members.length; i++) {
+            EnergyStorageBlockEntity cell = nodes.get(members[i]).cell;
+            stored[i] = cell.getEnergyStored();
+            capacity[i] = cell.getMaxEnergyStored();
+        }
+        return new EnergyNetworkSnapshot(members, stored, capacity,
+                EnergyStorageBlockEntity.MAX_RECEIVE, EnergyStorageBlockEntity.MAX_EXTRACT);
+    }
+
+    // A ghost whose chunk is loaded again but has no cell was removed while unloaded and is dropped
+    private void verifyGhosts(Level level) {
+        LongIterator chunks = loadedChunksToVerify.iterator();
+        while (chunks.hasNext()) {
+            long chunk = chunks.nextLong();
+            LongOpenHashSet chunkNodes = nodesByChunk.get(chunk);
+            if (chunkNodes == null || !level.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) {
+                continue;
+            }
+            for (long pos : chunkNodes.toLongArray()) {
+                Node node = nodes.get(pos);
+                if (node.cell == null && !(level.getBlockEntity(BlockPos.of(pos)) instanceof EnergyStorageBlockEntity)) {
+                    remove(BlockPos.of(pos));
+                }
+            }
+        }
+        loadedChunksToVerify.clear();
+    }
+
+    // Flood fill over face-adjacent nodes, loaded or not. Single cells have nothing to balance and are left out.
+    private void rebuild() {
+        networks.clear();
+        for (Node node : nodes.values()) {
+            node.network = null;
+        }
+        for (long[] members : GridTopology.connectedComponents(nodes.keySet(), 2)) {
+            Network network = new Network(members);
+            for (long member : members) {
+                nodes.get(member).network = network;
+            }
+            networks.add(network);
+        }
+        dirty = false;
+    }
+
+    private static long chunkKey(long pos) {
+        return ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+    }
+}
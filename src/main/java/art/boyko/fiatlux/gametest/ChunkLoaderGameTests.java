@@ -0,0 +1,158 @@
+package art.boyko.fiatlux.gametest;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.chunkloading.ChunkLoaderManager;
+import art.boyko.fiatlux.custom.blockentity.ChunkLoaderBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import art.boyko.fiatlux.init.ModBlocks;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(FiatLux.MODID)
+@PrefixGameTestTemplate(false)
+public class ChunkLoaderGameTests {
+
+    /**
+     * Two loaders with overlapping areas hold one ticket per chunk, and each chunk is released only when the last
+     * loader covering it stops. Loader A pays more per interval than a cell gives in one extraction.
+     */
+    @GameTest(template = "platform")
+    public static void overlappingLoadersShareAndReleaseChunks(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        ChunkLoaderManager manager = ChunkLoaderManager.get(level);
+        BlockPos cellA = new BlockPos(2, 1, 2);
+        BlockPos loaderA = cellA.east();
+        BlockPos cellB = new BlockPos(12, 1, 12);
+        BlockPos loaderB = cellB.east();
+        int radiusA = Math.min(2, Config.CHUNK_LOADER_MAX_RADIUS.getAsInt());
+        int radiusB = Math.min(1, Config.CHUNK_LOADER_MAX_RADIUS.getAsInt());
+        helper.setBlock(cellA, ModBlocks.ENERGY_STORAGE_BLOCK.get());
+        helper.setBlock(loaderA, ModBlocks.CHUNK_LOADER_BLOCK.get());
+        helper.setBlock(cellB, ModBlocks.ENERGY_STORAGE_BLOCK.get());
+        helper.setBlock(loaderB, ModBlocks.CHUNK_LOADER_BLOCK.get());
+
+        helper.startSequence()
+                .thenIdle(1)
+                .thenExecute(() -> {
+                    cell(helper, cellA).setEnergyStored(EnergyStorageBlockEntity.MAX_ENERGY);
+                    cell(helper, cellB).setEnergyStored(EnergyStorageBlockEntity.MAX_ENERGY);
+                    setRadius(loader(helper, loaderA), radiusA);
+                    setRadius(loader(helper, loaderB), radiusB);
+                    manager.tick(level);
+
+                    helper.assertTrue(loader(helper, loaderA).isPowered(), "Loader A was not powered by a single cell");
+                    helper.assertTrue(loader(helper, loaderB).isPowered(), "Loader B was not powered");
+                    LongSet union = area(helper.absolutePos(loaderA), radiusA);
+                    union.addAll(area(helper.absolutePos(loaderB), radiusB));
+                    assertForced(helper, manager, union.size());
+                })
+                .thenExecute(() -> {
+                    helper.setBlock(loaderA, Blocks.AIR);
+                    manager.tick(level);
+                    helper.assertTrue(loader(helper, loaderB).isPowered(), "Loader B lost power when loader A was removed");
+                    assertForced(helper, manager, area(helper.absolutePos(loaderB), radiusB).size());
+                })
+                .thenExecute(() -> {
+                    cell(helper, cellB).setEnergyStored(0);
+                    manager.tick(level);
+                    helper.assertFalse(loader(helper, loaderB).isPowered(), "Loader B kept power without energy");
+                    assertForced(helper, manager, 0);
+                })
+                .thenSucceed();
+    }
+
+    /**
+     * Tickets restored with the level survive manager runs that happen before the loader's chunk has loaded and
+     * its onLoad has run. The loader adopts its own restored ticket, and the unclaimed one is released only after
+     * its chunk has loaded.
+     */
+    @GameTest(template = "platform")
+    public static void restoredTicketsWaitForTheirLoader(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        ChunkLoaderManager manager = ChunkLoaderManager.get(level);
+        BlockPos cellPos = new BlockPos(2, 1, 2);
+        BlockPos loaderPos = cellPos.east();
+        helper.setBlock(cellPos, ModBlocks.ENERGY_STORAGE_BLOCK.get());
+        helper.setBlock(loaderPos, ModBlocks.CHUNK_LOADER_BLOCK.get());
+        ChunkPos loaderChunk = new ChunkPos(helper.absolutePos(loaderPos));
+        // Stands in for a restored chunk that nothing has loaded yet
+        ChunkPos farChunk = new ChunkPos(loaderChunk.x + 64, loaderChunk.z);
+
+        helper.startSequence()
+                .thenIdle(1)
+                .thenExecute(() -> {
+                    cell(helper, cellPos).setEnergyStored(EnergyStorageBlockEntity.MAX_ENERGY);
+                    ChunkLoaderBlockEntity loader = loader(helper, loaderPos);
+                    setRadius(loader, 0);
+                    // As if the level loaded with both tickets restored and the loader's block entity not loaded yet
+                    manager.unload(loader);
+                    manager.restore(LongList.of(loaderChunk.toLong(), farChunk.toLong()));
+                    helper.assertFalse(level.getChunkSource().hasChunk(farChunk.x, farChunk.z), "Far chunk was already loaded");
+                    for (int i = 0; i < 3; i++) {
+                        manager.tick(level);
+                    }
+                    assertRestored(helper, manager, 2);
+
+                    // The loader's onLoad, saved while powered
+                    loader.setPowered(true);
+                    manager.add(level, loader);
+                    assertRestored(helper, manager, 1);
+                    assertForced(helper, manager, 1);
+                })
+                .thenExecute(() -> {
+                    level.getChunk(farChunk.x, farChunk.z);
+                    manager.tick(level);
+                    assertRestored(helper, manager, 1);
+                    manager.tick(level);
+                    assertRestored(helper, manager, 0);
+                    helper.assertTrue(loader(helper, loaderPos).isPowered(), "Loader lost power");
+                    assertForced(helper, manager, 1);
+                })
+                .thenSucceed();
+    }
+
+    private static EnergyStorageBlockEntity cell(GameTestHelper helper, BlockPos pos) {
+        return helper.getBlockEntity(pos);
+    }
+
+    private static ChunkLoaderBlockEntity loader(GameTestHelper helper, BlockPos pos) {
+        return helper.getBlockEntity(pos);
+    }
+
+    private static void setRadius(ChunkLoaderBlockEntity loader, int radius) {
+        while (loader.getRadius() != radius) {
+            loader.cycleRadius();
+        }
+    }
+
+    private static LongSet area(BlockPos pos, int radius) {
+        ChunkPos center = new ChunkPos(pos);
+        LongSet chunks = new LongOpenHashSet();
+        for (int x = center.x - radius; x <= center.x + radius; x++) {
+            for (int z = center.z - radius; z <= center.z + radius; z++) {
+                chunks.add(ChunkPos.asLong(x, z));
+            }
+        }
+        return chunks;
+    }
+
+    private static void assertRestored(GameTestHelper helper, ChunkLoaderManager manager, int expected) {
+        int restored = manager.getRestoredChunkCount();
+        helper.assertTrue(restored == expected, "Expected " + expected + " restored chunks, got " + restored);
+    }
+
+    private static void assertForced(GameTestHelper helper, ChunkLoaderManager manager, int expected) {
+        int forced = manager.getForcedChunkCount();
+        helper.assertTrue(forced == expected, "Expected " + expected + " force-loaded chunks, got " + forced);
+    }
+}
@@ -0,0 +1,58 @@
+package art.boyko.fiatlux.gametest;
+
+import java.util.function.Consumer;
+
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.tick.EntityTickEvent;
+
+/**
+ * Measures the time item entities inside an area spend ticking while the probe is running.
+ * Entities tick one after another on the server thread, so one pending start time is enough.
+ */
+final class ItemEntityTickProbe {
+    private final AABB area;
+    private final Consumer<EntityTickEvent.Pre> onPre = this::onPre;
+    private final Consumer<EntityTickEvent.Post> onPost = this::onPost;
+    private long tickStart = -1;
+    private long nanos = 0;
+    private long entityTicks = 0;
+
+    ItemEntityTickProbe(AABB area) {
+        this.area = area;
+    }
+
+    void start() {
+        NeoForge.EVENT_BUS.addListener(EventPriority.HIGHEST, false, EntityTickEvent.Pre.class, onPre);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, false, EntityTickEvent.Post.class, onPost);
+    }
+
+    void stop() {
+        NeoForge.EVENT_BUS.unregister(onPre);
+        NeoForge.EVENT_BUS.unregister(onPost);
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    long getEntityTicks() {
+        return entityTicks;
+    }
+
+    private void onPre(EntityTickEvent.Pre event) {
+        if (event.getEntity() instanceof ItemEntity entity && area.contains(entity.position())) {
+            tickStart = System.nanoTime();
+        }
+    }
+
+    private void onPost(EntityTickEvent.Post event) {
+        if (tickStart >= 0 && event.getEntity() instanceof ItemEntity) {
+            nanos += System.nanoTime() - tickStart;
+            entityTicks++;
+            tickStart = -1;
+        }
+    }
+}
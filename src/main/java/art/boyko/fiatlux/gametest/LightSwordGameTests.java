@@ -0,0 +1,81 @@
+package art.boyko.fiatlux.gametest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.item.LightSwordItem;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.GameType;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(FiatLux.MODID)
+@PrefixGameTestTemplate(false)
+public class LightSwordGameTests {
+    private static final int MOBS = 500;
+    private static final int WARMUP_ATTACKS = 10;
+    private static final int MEASURED_ATTACKS = 100;
+
+    /**
+     * Fires the beam into a crowd of 500 mobs, half along the beam and half beside it as broadphase candidates
+     * the narrowphase rejects, and measures the cost of one attack. A last attack checks that the target cap
+     * is filled with the nearest mobs along the beam.
+     */
+    @GameTest(template = "platform")
+    public static void beamAttackCostWith500Mobs(GameTestHelper helper) {
+        // Everything runs within one tick, before the crowd starts pushing itself apart
+        Player player = helper.makeMockPlayer(GameType.SURVIVAL);
+        Vec3 feet = helper.absoluteVec(new Vec3(0.5, 1.0, 8.5));
+        // Facing east, along +x
+        player.moveTo(feet.x, feet.y, feet.z, -90.0f, 0.0f);
+
+        List<Zombie> alongBeam = new ArrayList<>();
+        List<Zombie> all = new ArrayList<>();
+        for (int i = 0; i < MOBS; i++) {
+            float x = 1.5f + (i / 2 % 125) * 0.1f;
+            // Odd mobs stand beside the beam: inside the broadphase box, just outside the beam's reach
+            float z = i % 2 == 0 ? 8.5f : (i % 4 == 1 ? 6.4f : 10.6f);
+            Zombie zombie = helper.spawnWithNoFreeWill(EntityType.ZOMBIE, x, 1.0f, z);
+            zombie.setInvulnerable(true);
+            all.add(zombie);
+            if (i % 2 == 0) {
+                alongBeam.add(zombie);
+            }
+        }
+
+        int expectedHits = Math.min(alongBeam.size(), Config.LIGHT_SWORD_BEAM_MAX_TARGETS.getAsInt());
+        for (int i = 0; i < WARMUP_ATTACKS; i++) {
+            LightSwordItem.fireBeam(helper.getLevel(), player);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ATTACKS; i++) {
+            int hits = LightSwordItem.fireBeam(helper.getLevel(), player);
+            helper.assertTrue(hits == expectedHits, "Expected " + expectedHits + " hits, got " + hits);
+        }
+        long perAttack = (System.nanoTime() - start) / MEASURED_ATTACKS;
+        FiatLux.LOGGER.info("Light sword beam with {} mobs in range: {} us per attack, {} hits each",
+                MOBS, perAttack / 1000, expectedHits);
+
+        alongBeam.forEach(zombie -> zombie.setInvulnerable(false));
+        LightSwordItem.fireBeam(helper.getLevel(), player);
+        double farthestHit = Double.NEGATIVE_INFINITY;
+        double nearestMissed = Double.POSITIVE_INFINITY;
+        for (Zombie zombie : alongBeam) {
+            if (zombie.getHealth() < zombie.getMaxHealth()) {
+                farthestHit = Math.max(farthestHit, zombie.getX());
+            } else {
+                nearestMissed = Math.min(nearestMissed, zombie.getX());
+            }
+        }
+        helper.assertTrue(farthestHit <= nearestMissed, "Beam hit a mob farther along than one it skipped");
+        all.forEach(zombie -> zombie.discard());
+        helper.succeed();
+    }
+}
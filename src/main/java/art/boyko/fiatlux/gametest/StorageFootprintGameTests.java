@@ -0,0 +1,71 @@
+package art.boyko.fiatlux.gametest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.block.SimpleStorageBlock;
+import art.boyko.fiatlux.init.ModBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(FiatLux.MODID)
+@PrefixGameTestTemplate(false)
+public class StorageFootprintGameTests {
+    private static final int BLOCKS = 100_000;
+
+    /**
+     * Compares the heap held by 100k empty storage blocks with and without compact mode. Both modes share the
+     * block states in the chunk palettes, so the difference is what the block entities and the chunk's block
+     * entity map cost; they are created through the block's own factory, as the chunk would.
+     */
+    @GameTest(template = "platform", timeoutTicks = 200)
+    public static void heapFor100kStorages(GameTestHelper helper) {
+        SimpleStorageBlock block = ModBlocks.SIMPLE_STORAGE_BLOCK.get();
+        BlockState withEntity = block.defaultBlockState().setValue(SimpleStorageBlock.HAS_ENTITY, true);
+        BlockState compact = block.defaultBlockState().setValue(SimpleStorageBlock.HAS_ENTITY, false);
+
+        Map<BlockPos, BlockEntity> entities = new HashMap<>();
+        long withEntityBytes = measure(block, withEntity, entities);
+        int withEntityCount = entities.size();
+        entities = new HashMap<>();
+        long compactBytes = measure(block, compact, entities);
+        int compactCount = entities.size();
+
+        FiatLux.LOGGER.info("{} empty storage blocks: with block entities {} KiB ({} bytes per block, {} block entities); "
+                        + "compact {} KiB ({} block entities)",
+                BLOCKS, withEntityBytes / 1024, withEntityBytes / BLOCKS, withEntityCount,
+                compactBytes / 1024, compactCount);
+
+        helper.assertTrue(withEntityCount == BLOCKS, "Expected a block entity per storage, got " + withEntityCount);
+        helper.assertTrue(compactCount == 0, "Compact storages created " + compactCount + " block entities");
+        helper.assertTrue(withEntityBytes > compactBytes, "Block entities took no more heap than compact storages");
+        helper.succeed();
+    }
+
+    // Heap retained by the block entities the block creates for BLOCKS positions in the given state
+    private static long measure(SimpleStorageBlock block, BlockState state, Map<BlockPos, BlockEntity> entities) {
+        long before = usedHeap();
+        for (int i = 0; i < BLOCKS; i++) {
+            BlockPos pos = new BlockPos(i & 1023, 1, i >> 10);
+            BlockEntity blockEntity = block.newBlockEntity(pos, state);
+            if (blockEntity != null) {
+                entities.put(pos, blockEntity);
+            }
+        }
+        return usedHeap() - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,79 @@
+package art.boyko.fiatlux.gametest;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.block.SimpleStorageBlock;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.init.ModBlocks;
+import art.boyko.fiatlux.init.ModDataComponents;
+import art.boyko.fiatlux.storage.DetachedStorageContents;
+import art.boyko.fiatlux.storage.StorageContentsRef;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomModelData;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(FiatLux.MODID)
+@PrefixGameTestTemplate(false)
+public class StorageItemGameTests {
+    private static final int TYPES = 20_000;
+    // What a plain item stack with one small component takes; the full contents would be hundreds of KiB
+    private static final int MAX_STACK_BYTES = 256;
+
+    /**
+     * Breaks a storage holding many item types and checks that the dropped stack, as it is sent to clients,
+     * only carries a reference, and that placing it brings back every type.
+     */
+    @GameTest(template = "platform", timeoutTicks = 100)
+    public static void brokenLargeStorageDropsSmallStack(GameTestHelper helper) {
+        BlockPos pos = new BlockPos(4, 1, 4);
+        BlockState state = ModBlocks.SIMPLE_STORAGE_BLOCK.get().defaultBlockState().setValue(SimpleStorageBlock.HAS_ENTITY, true);
+        helper.setBlock(pos, state);
+
+        helper.startSequence()
+                .thenExecute(() -> {
+                    SimpleStorageBlockEntity storage = helper.getBlockEntity(pos);
+                    for (int i = 0; i < TYPES; i++) {
+                        ItemStack stack = new ItemStack(Items.STONE);
+                        stack.set(DataComponents.CUSTOM_MODEL_DATA, new CustomModelData(i));
+                        storage.addItem(stack, false);
+                    }
+                    helper.assertTrue(storage.getItemTypes() == TYPES, "Expected " + TYPES + " types, got " + storage.getItemTypes());
+                    helper.getLevel().destroyBlock(helper.absolutePos(pos), true);
+                })
+                .thenExecute(() -> {
+                    ItemStack dropped = helper.getEntities(EntityType.ITEM).stream()
+                            .map(ItemEntity::getItem)
+                            .filter(stack -> stack.is(ModBlocks.SIMPLE_STORAGE_BLOCK.get().asItem()))
+                            .findFirst()
+                            .orElse(ItemStack.EMPTY);
+                    helper.assertFalse(dropped.isEmpty(), "Broken storage dropped no storage item");
+                    StorageContentsRef ref = dropped.get(ModDataComponents.STORAGE_CONTENTS);
+                    helper.assertTrue(ref != null && ref.types() == TYPES, "Dropped storage item does not refer to its contents");
+
+                    RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(Unpooled.buffer(), helper.getLevel().registryAccess());
+                    ItemStack.OPTIONAL_STREAM_CODEC.encode(buf, dropped);
+                    int bytes = buf.readableBytes();
+                    buf.release();
+                    FiatLux.LOGGER.info("Storage with {} item types broken: dropped stack encodes to {} bytes", TYPES, bytes);
+                    helper.assertTrue(bytes <= MAX_STACK_BYTES, "Dropped storage stack encodes to " + bytes + " bytes");
+
+                    helper.setBlock(pos, state);
+                    SimpleStorageBlockEntity placed = helper.getBlockEntity(pos);
+                    placed.applyComponentsFromItemStack(dropped);
+                    helper.assertTrue(placed.getItemTypes() == TYPES, "Placed storage got back " + placed.getItemTypes() + " types");
+                    helper.assertTrue(DetachedStorageContents.get(helper.getLevel().getServer()).take(ref.id()) == null,
+                            "Contents could be taken again after placing");
+                })
+                .thenSucceed();
+    }
+}
@@ -0,0 +1,95 @@
+package art.boyko.fiatlux.gametest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.block.SimpleStorageBlock;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.init.ModBlocks;
+import art.boyko.fiatlux.storage.StorageSaveEncoder;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomModelData;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(FiatLux.MODID)
+@PrefixGameTestTemplate(false)
+public class StorageSaveGameTests {
+    private static final int STORAGES = 8;
+    private static final int TYPES = 5_000;
+
+    /**
+     * Times the server-thread part of saving eight storages with 5,000 item types each: once encoded inline by
+     * their saves, as with storageAsyncSave off, and once with the parallel encoding the level save runs first
+     * when it is on. Both must write the same contents, and no encoding may be kept after the save.
+     */
+    @GameTest(template = "platform", timeoutTicks = 200)
+    public static void saveTimeWithAndWithoutAsyncEncoding(GameTestHelper helper) {
+        BlockState state = ModBlocks.SIMPLE_STORAGE_BLOCK.get().defaultBlockState().setValue(SimpleStorageBlock.HAS_ENTITY, true);
+        List<BlockPos> positions = new ArrayList<>();
+        for (int i = 0; i < STORAGES; i++) {
+            BlockPos pos = new BlockPos(2 + i, 1, 4);
+            helper.setBlock(pos, state);
+            positions.add(pos);
+        }
+
+        helper.startSequence()
+                .thenExecute(() -> {
+                    ServerLevel level = helper.getLevel();
+                    HolderLookup.Provider registries = level.registryAccess();
+                    List<SimpleStorageBlockEntity> storages = new ArrayList<>();
+                    for (int n = 0; n < STORAGES; n++) {
+                        SimpleStorageBlockEntity storage = helper.getBlockEntity(positions.get(n));
+                        for (int i = 0; i < TYPES; i++) {
+                            ItemStack stack = new ItemStack(Items.STONE);
+                            stack.set(DataComponents.CUSTOM_MODEL_DATA, new CustomModelData(n * TYPES + i));
+                            storage.addItem(stack, false);
+                        }
+                        storages.add(storage);
+                    }
+                    // Warms up the encoding so neither run pays for it
+                    save(storages, registries);
+
+                    long start = System.nanoTime();
+                    List<CompoundTag> inline = save(storages, registries);
+                    long inlineNanos = System.nanoTime() - start;
+
+                    StorageSaveEncoder encoder = StorageSaveEncoder.get(level);
+                    storages.forEach(storage -> encoder.onChanged(storage.getBlockPos()));
+                    start = System.nanoTime();
+                    encoder.encodeForSave(level);
+                    boolean allEncoded = storages.stream().allMatch(storage -> storage.getInventory().isEncoded());
+                    List<CompoundTag> precomputed = save(storages, registries);
+                    long precomputedNanos = System.nanoTime() - start;
+                    encoder.afterSave();
+
+                    FiatLux.LOGGER.info("Saving {} storages with {} item types each: inline {} ms, with pre-save encoding {} ms ({} processors)",
+                            STORAGES, TYPES, inlineNanos / 1_000_000, precomputedNanos / 1_000_000,
+                            Runtime.getRuntime().availableProcessors());
+
+                    helper.assertTrue(allEncoded, "Not every storage was encoded before the save");
+                    helper.assertTrue(inline.equals(precomputed), "Pre-save encoding wrote different contents than inline encoding");
+                    helper.assertFalse(storages.stream().anyMatch(storage -> storage.getInventory().isEncoded()),
+                            "Encodings were kept after the save");
+                })
+                .thenSucceed();
+    }
+
+    private static List<CompoundTag> save(List<SimpleStorageBlockEntity> storages, HolderLookup.Provider registries) {
+        List<CompoundTag> tags = new ArrayList<>(storages.size());
+        for (SimpleStorageBlockEntity storage : storages) {
+            tags.add(storage.saveWithFullMetadata(registries));
+        }
+        return tags;
+    }
+}
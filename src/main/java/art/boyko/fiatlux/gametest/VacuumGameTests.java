@@ -0,0 +1,92 @@
+package art.boyko.fiatlux.gametest;
+
+import java.util.List;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.init.ModBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(FiatLux.MODID)
+@PrefixGameTestTemplate(false)
+public class VacuumGameTests {
+    private static final int FARM_DROPS = 500;
+    private static final int MEASURE_TICKS = 60;
+    // Typical mob and crop farm output
+    private static final List<Item> DROPS = List.of(Items.BONE, Items.ROTTEN_FLESH, Items.STRING, Items.WHEAT, Items.COBBLESTONE);
+
+    /**
+     * Drops the same farm output around a storage twice, first without and then with the vacuum upgrade,
+     * and compares the item entities left and the time they spent ticking.
+     */
+    @GameTest(template = "platform", timeoutTicks = 2 * MEASURE_TICKS + 20)
+    public static void farmWithAndWithoutVacuum(GameTestHelper helper) {
+        BlockPos storagePos = new BlockPos(8, 1, 8);
+        helper.setBlock(storagePos, ModBlocks.SIMPLE_STORAGE_BLOCK.get());
+        AABB area = new AABB(helper.absoluteVec(Vec3.ZERO), helper.absoluteVec(new Vec3(16, 8, 16)));
+        ItemEntityTickProbe withoutVacuum = new ItemEntityTickProbe(area);
+        ItemEntityTickProbe withVacuum = new ItemEntityTickProbe(area);
+        long[] entitiesLeft = new long[2];
+
+        helper.startSequence()
+                .thenExecute(() -> {
+                    spawnDrops(helper);
+                    withoutVacuum.start();
+                })
+                .thenIdle(MEASURE_TICKS)
+                .thenExecute(() -> {
+                    withoutVacuum.stop();
+                    entitiesLeft[0] = countItemEntities(helper);
+                    helper.killAllEntitiesOfClass(ItemEntity.class);
+                    storage(helper, storagePos).setVacuum(true);
+                    spawnDrops(helper);
+                    withVacuum.start();
+                })
+                .thenIdle(MEASURE_TICKS)
+                .thenExecute(() -> {
+                    withVacuum.stop();
+                    entitiesLeft[1] = countItemEntities(helper);
+                    FiatLux.LOGGER.info("Vacuum farm, {} drops over {} ticks: without vacuum {} item entities left, {} entity ticks in {} us; "
+                                    + "with vacuum {} left, {} entity ticks in {} us",
+                            FARM_DROPS, MEASURE_TICKS,
+                            entitiesLeft[0], withoutVacuum.getEntityTicks(), withoutVacuum.getNanos() / 1000,
+                            entitiesLeft[1], withVacuum.getEntityTicks(), withVacuum.getNanos() / 1000);
+
+                    helper.assertTrue(entitiesLeft[1] == 0, "Vacuum left " + entitiesLeft[1] + " item entities");
+                    long stored = storage(helper, storagePos).getStoredItems();
+                    helper.assertTrue(stored == FARM_DROPS, "Expected " + FARM_DROPS + " items in storage, got " + stored);
+                    helper.assertTrue(withVacuum.getEntityTicks() < withoutVacuum.getEntityTicks(),
+                            "Vacuum did not reduce item entity ticks");
+                })
+                .thenSucceed();
+    }
+
+    // Spread over the vacuum's default radius, with the same layout for both runs
+    private static void spawnDrops(GameTestHelper helper) {
+        RandomSource random = RandomSource.create(44L);
+        for (int i = 0; i < FARM_DROPS; i++) {
+            Item item = DROPS.get(random.nextInt(DROPS.size()));
+            ItemEntity entity = helper.spawnItem(item, 3.0f + random.nextFloat() * 10.0f, 1.5f, 3.0f + random.nextFloat() * 10.0f);
+            entity.setNoPickUpDelay();
+        }
+    }
+
+    private static long countItemEntities(GameTestHelper helper) {
+        return helper.getEntities(EntityType.ITEM).size();
+    }
+
+    private static SimpleStorageBlockEntity storage(GameTestHelper helper, BlockPos pos) {
+        return helper.getBlockEntity(pos);
+    }
+}
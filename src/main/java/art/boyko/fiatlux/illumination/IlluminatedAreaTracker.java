@@ -0,0 +1,167 @@
+package art.boyko.fiatlux.illumination;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.LevelAccessor;
+
+/**
+ * Per-level coverage map of all loaded illuminators.
+ * Coverage is stored as one 4096-bit set per chunk section, so a spawn check is a single bit lookup.
+ */
+public class IlluminatedAreaTracker {
+    private static final Map<LevelAccessor, IlluminatedAreaTracker> TRACKERS = new IdentityHashMap<>();
+
+    // Illuminator position (packed) -> radius
+    private final Long2IntOpenHashMap illuminators = new Long2IntOpenHashMap();
+    // Section position (packed) -> 64 longs, one bit per block in the section
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+
+    public static IlluminatedAreaTracker get(LevelAccessor level) {
+        return TRACKERS.computeIfAbsent(level, key -> new IlluminatedAreaTracker());
+    }
+
+    public static void remove(LevelAccessor level) {
+        TRACKERS.remove(level);
+    }
+
+    public static boolean isCovered(LevelAccessor level, BlockPos pos) {
+        IlluminatedAreaTracker tracker = TRACKERS.get(level);
+        return tracker != null && tracker.isCovered(pos);
+    }
+
+    public boolean isCovered(BlockPos pos) {
+        return isCovered(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public boolean isCovered(int x, int y, int z) {
+        long[] bits = sections.get(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        if (bits == null) {
+            return false;
+        }
+        int index = bitIndex(x, y, z);
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void add(BlockPos pos, int radius) {
+        illuminators.put(pos.asLong(), radius);
+        stamp(pos.getX(), pos.getY(), pos.getZ(), radius, null);
+    }
+
+    public void remove(BlockPos pos) {
+        if (!illuminators.containsKey(pos.asLong())) {
+            return;
+        }
+        int radius = illuminators.remove(pos.asLong());
+
+        // Clear every section the removed box touched, then re-stamp the remaining illuminators into just those sections
+        Long2ObjectOpenHashMap<long[]> cleared = new Long2ObjectOpenHashMap<>();
+        forEachSection(pos.getX(), pos.getY(), pos.getZ(), radius, sectionKey -> {
+            long[] bits = sections.remove(sectionKey);
+            if (bits != null) {
+                Arrays.fill(bits, 0L);
+                cleared.put(sectionKey, bits);
+            }
+        });
+
+        for (Long2IntMap.Entry entry : illuminators.long2IntEntrySet()) {
+            long other = entry.getLongKey();
+            int otherRadius = entry.getIntValue();
+            if (boxesIntersect(pos, radius, other, otherRadius)) {
+                stamp(BlockPos.getX(other), BlockPos.getY(other), BlockPos.getZ(other), otherRadius, cleared);
+            }
+        }
+
+        for (Long2ObjectMap.Entry<long[]> entry : cleared.long2ObjectEntrySet()) {
+            if (!isEmpty(entry.getValue())) {
+                sections.put(entry.getLongKey(), entry.getValue());
+            }
+        }
+    }
+
+    public int getIlluminatorCount() {
+        return illuminators.size();
+    }
+
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    /**
+     * Sets the coverage bits of a cube around the given center.
+     * When {@code only} is non-null, only sections contained in it are written.
+     */
+    private void stamp(int cx, int cy, int cz, int radius, Long2ObjectMap<long[]> only) {
+        int minX = cx - radius, maxX = cx + radius;
+        int minY = cy - radius, maxY = cy + radius;
+        int minZ = cz - radius, maxZ = cz + radius;
+
+        for (int sx = minX >> 4; sx <= maxX >> 4; sx++) {
+            for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                for (int sz = minZ >> 4; sz <= maxZ >> 4; sz++) {
+                    long sectionKey = SectionPos.asLong(sx, sy, sz);
+                    long[] bits;
+                    if (only != null) {
+                        bits = only.get(sectionKey);
+                        if (bits == null) {
+                            continue;
+                        }
+                    } else {
+                        bits = sections.computeIfAbsent(sectionKey, key -> new long[64]);
+                    }
+
+                    int x0 = Math.max(minX, sx << 4) & 15, x1 = Math.min(maxX, (sx << 4) + 15) & 15;
+                    int y0 = Math.max(minY, sy << 4) & 15, y1 = Math.min(maxY, (sy << 4) + 15) & 15;
+                    int z0 = Math.max(minZ, sz << 4) & 15, z1 = Math.min(maxZ, (sz << 4) + 15) & 15;
+                    // A row of 16 x positions is 16 aligned bits inside one long
+                    long rowMask = ((1L << (x1 - x0 + 1)) - 1) << x0;
+                    for (int y = y0; y <= y1; y++) {
+                        for (int z = z0; z <= z1; z++) {
+                            int rowIndex = (y << 8) | (z << 4);
+                            bits[rowIndex >>> 6] |= rowMask << (rowIndex & 63);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void forEachSection(int cx, int cy, int cz, int radius, LongConsumer consumer) {
+        for (int sx = (cx - radius) >> 4; sx <= (cx + radius) >> 4; sx++) {
+            for (int sy = (cy - radius) >> 4; sy <= (cy + radius) >> 4; sy++) {
+                for (int sz = (cz - radius) >> 4; sz <= (cz + radius) >> 4; sz++) {
+                    consumer.accept(SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+    }
+
+    private static boolean boxesIntersect(BlockPos pos, int radius, long other, int otherRadius) {
+        // Expand to section bounds, since clearing works on whole sections
+        int reach = radius + otherRadius + 32;
+        return Math.abs(pos.getX() - BlockPos.getX(other)) <= reach
+                && Math.abs(pos.getY() - BlockPos.getY(other)) <= reach
+                && Math.abs(pos.getZ() - BlockPos.getZ(other)) <= reach;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int bitIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+}
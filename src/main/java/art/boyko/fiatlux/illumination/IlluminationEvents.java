@@ -0,0 +1,53 @@
+package art.boyko.fiatlux.illumination;
+
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.MobCategory;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.living.MobSpawnEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class IlluminationEvents {
+
+    // Monsters cannot spawn anywhere an illuminator covers, same as under a light level 15 block
+    @SubscribeEvent
+    public static void onSpawnPlacementCheck(MobSpawnEvent.SpawnPlacementCheck event) {
+        if (event.getEntityType().getCategory() != MobCategory.MONSTER) {
+            return;
+        }
+        if (IlluminatedAreaTracker.isCovered(event.getLevel().getLevel(), event.getPos())) {
+            event.setResult(MobSpawnEvent.SpawnPlacementCheck.Result.FAIL);
+        }
+    }
+
+    // Coverage of illuminators in chunks that are not loaded yet comes from the saved light records
+    @SubscribeEvent
+    public static void onLevelLoad(LevelEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            IlluminatorLights.get(level).restoreCoverage(IlluminatedAreaTracker.get(level));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            IlluminatorLights.get(level).onChunkLoaded(event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            IlluminatorLights.get(level).tick(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        IlluminatedAreaTracker.remove(event.getLevel());
+    }
+}
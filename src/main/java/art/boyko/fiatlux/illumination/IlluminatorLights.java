@@ -0,0 +1,238 @@
+package art.boyko.fiatlux.illumination;
+
+import art.boyko.fiatlux.custom.blockentity.IlluminatorBlockEntity;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.LightBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.saveddata.SavedData;
+
+/**
+ * Saved per-level record of every illuminator and the invisible lights they claim.
+ * <p>
+ * Illuminators claim grid points; the light blocks themselves are only placed or removed by {@link #tick}, and only
+ * in loaded chunks. A point in an unloaded chunk waits until that chunk loads, so lights are neither skipped nor
+ * orphaned by unloaded terrain. Only points where a light was actually placed are ever cleared, so light blocks
+ * placed by players are left alone. Illuminators are kept here while their own chunk is unloaded, which lets
+ * {@link IlluminatedAreaTracker} keep covering their area across chunk unloads and restarts.
+ */
+public class IlluminatorLights extends SavedData {
+    private static final String NAME = "fiatlux_illuminators";
+    private static final BlockState LIGHT = Blocks.LIGHT.defaultBlockState().setValue(LightBlock.LEVEL, 15);
+
+    // Illuminator position (packed) -> radius, including illuminators in unloaded chunks
+    private final Long2IntOpenHashMap illuminators = new Long2IntOpenHashMap();
+    // Illuminator position (packed) -> light positions it claims
+    private final Long2ObjectOpenHashMap<long[]> claims = new Long2ObjectOpenHashMap<>();
+    // Light position (packed) -> number of illuminators claiming it
+    private final Long2IntOpenHashMap claimCounts = new Long2IntOpenHashMap();
+    // Light positions where a light block was placed by an illuminator
+    private final LongOpenHashSet placed = new LongOpenHashSet();
+    // Chunk position (packed) -> light positions to place or clear once the chunk is loaded
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> pending = new Long2ObjectOpenHashMap<>();
+    // Not saved: chunks to process on the next tick, because they loaded or got pending work while loaded
+    private final LongOpenHashSet readyChunks = new LongOpenHashSet();
+    private final LongOpenHashSet chunksToVerify = new LongOpenHashSet();
+
+    public static IlluminatorLights get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(
+                new SavedData.Factory<>(IlluminatorLights::new, IlluminatorLights::load, null), NAME);
+    }
+
+    /**
+     * Records a loaded illuminator. Its coverage stays in the tracker until {@link #release} is called.
+     */
+    public void addIlluminator(BlockPos pos, int radius) {
+        if (illuminators.put(pos.asLong(), radius) != radius) {
+            setDirty();
+        }
+    }
+
+    public boolean hasClaims(BlockPos pos) {
+        return claims.containsKey(pos.asLong());
+    }
+
+    /**
+     * Claims lights at the given positions for an illuminator. With {@code adoptLoaded}, light blocks already at
+     * loaded positions are taken as placed by it; used for illuminators saved before placed lights were recorded.
+     */
+    public void claim(ServerLevel level, BlockPos illuminator, long[] lights, boolean adoptLoaded) {
+        release(level, illuminator, false);
+        claims.put(illuminator.asLong(), lights);
+        for (long light : lights) {
+            claimCounts.addTo(light, 1);
+            BlockPos lightPos = BlockPos.of(light);
+            if (adoptLoaded && level.isLoaded(lightPos) && level.getBlockState(lightPos).is(Blocks.LIGHT)) {
+                placed.add(light);
+            }
+            schedule(level, light);
+        }
+        setDirty();
+    }
+
+    /**
+     * Gives up an illuminator's claims; lights no other illuminator claims are cleared once their chunk is loaded.
+     *
+     * @param removeIlluminator whether the illuminator itself is gone, which also ends its coverage
+     */
+    public void release(ServerLevel level, BlockPos illuminator, boolean removeIlluminator) {
+        long[] lights = claims.remove(illuminator.asLong());
+        if (lights != null) {
+            for (long light : lights) {
+                if (claimCounts.addTo(light, -1) <= 1) {
+                    claimCounts.remove(light);
+                }
+                schedule(level, light);
+            }
+            setDirty();
+        }
+        if (removeIlluminator && illuminators.containsKey(illuminator.asLong())) {
+            illuminators.remove(illuminator.asLong());
+            IlluminatedAreaTracker.get(level).remove(illuminator);
+            setDirty();
+        }
+    }
+
+    /**
+     * Restores the coverage of all recorded illuminators, including those whose chunk is not loaded.
+     */
+    public void restoreCoverage(IlluminatedAreaTracker tracker) {
+        for (Long2IntMap.Entry entry : illuminators.long2IntEntrySet()) {
+            tracker.add(BlockPos.of(entry.getLongKey()), entry.getIntValue());
+        }
+    }
+
+    public void onChunkLoaded(ChunkPos chunkPos) {
+        long key = chunkPos.toLong();
+        if (pending.containsKey(key)) {
+            readyChunks.add(key);
+        }
+        if (!illuminators.isEmpty()) {
+            chunksToVerify.add(key);
+        }
+    }
+
+    /**
+     * Places and clears the pending lights of loaded chunks, and drops illuminators that vanished while unloaded.
+     */
+    public void tick(ServerLevel level) {
+        if (!chunksToVerify.isEmpty()) {
+            LongArrayList vanished = new LongArrayList();
+            for (long illuminator : illuminators.keySet()) {
+                BlockPos pos = BlockPos.of(illuminator);
+                if (chunksToVerify.contains(ChunkPos.asLong(pos)) && level.isLoaded(pos)
+                        && !(level.getBlockEntity(pos) instanceof IlluminatorBlockEntity)) {
+                    vanished.add(illuminator);
+                }
+            }
+            chunksToVerify.clear();
+            for (int i = 0; i < vanished.size(); i++) {
+                release(level, BlockPos.of(vanished.getLong(i)), true);
+            }
+        }
+        if (readyChunks.isEmpty()) {
+            return;
+        }
+        LongIterator chunks = readyChunks.iterator();
+        while (chunks.hasNext()) {
+            long chunk = chunks.nextLong();
+            chunks.remove();
+            if (!level.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) {
+                // Picked up again when the chunk loads
+                continue;
+            }
+            LongOpenHashSet lights = pending.remove(chunk);
+            if (lights == null) {
+                continue;
+            }
+            LongIterator iterator = lights.iterator();
+            while (iterator.hasNext()) {
+                apply(level, iterator.nextLong());
+            }
+            setDirty();
+        }
+    }
+
+    private void schedule(ServerLevel level, long light) {
+        long chunk = ChunkPos.asLong(BlockPos.of(light));
+        pending.computeIfAbsent(chunk, key -> new LongOpenHashSet()).add(light);
+        if (level.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) {
+            readyChunks.add(chunk);
+        }
+    }
+
+    // Brings one light position in line with its claims; the chunk is loaded
+    private void apply(ServerLevel level, long light) {
+        BlockPos pos = BlockPos.of(light);
+        boolean wanted = claimCounts.get(light) > 0;
+        if (wanted && !placed.contains(light)) {
+            // Anything already there, including a player's light, is left as it is
+            if (level.getBlockState(pos).isAir()) {
+                level.setBlock(pos, LIGHT, 3);
+                placed.add(light);
+            }
+        } else if (!wanted && placed.remove(light) && level.getBlockState(pos).is(Blocks.LIGHT)) {
+            level.setBlock(pos, Blocks.AIR.defaultBlockState(), 3);
+        }
+    }
+
+    private static IlluminatorLights load(CompoundTag tag, HolderLookup.Provider registries) {
+        IlluminatorLights lights = new IlluminatorLights();
+        ListTag illuminators = tag.getList("Illuminators", Tag.TAG_COMPOUND);
+        for (int i = 0; i < illuminators.size(); i++) {
+            CompoundTag illuminator = illuminators.getCompound(i);
+            long pos = illuminator.getLong("Pos");
+            lights.illuminators.put(pos, illuminator.getInt("Radius"));
+            if (illuminator.contains("Lights", Tag.TAG_LONG_ARRAY)) {
+                long[] claimed = illuminator.getLongArray("Lights");
+                lights.claims.put(pos, claimed);
+                for (long light : claimed) {
+                    lights.claimCounts.addTo(light, 1);
+                }
+            }
+        }
+        for (long light : tag.getLongArray("Placed")) {
+            lights.placed.add(light);
+        }
+        for (long light : tag.getLongArray("Pending")) {
+            lights.pending.computeIfAbsent(ChunkPos.asLong(BlockPos.of(light)), key -> new LongOpenHashSet()).add(light);
+        }
+        return lights;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        ListTag list = new ListTag();
+        for (Long2IntMap.Entry entry : illuminators.long2IntEntrySet()) {
+            CompoundTag illuminator = new CompoundTag();
+            illuminator.putLong("Pos", entry.getLongKey());
+            illuminator.putInt("Radius", entry.getIntValue());
+            long[] claimed = claims.get(entry.getLongKey());
+            if (claimed != null) {
+                illuminator.putLongArray("Lights", claimed);
+            }
+            list.add(illuminator);
+        }
+        tag.put("Illuminators", list);
+        tag.putLongArray("Placed", placed.toLongArray());
+        LongArrayList pendingLights = new LongArrayList();
+        for (Long2ObjectMap.Entry<LongOpenHashSet> entry : pending.long2ObjectEntrySet()) {
+            pendingLights.addAll(entry.getValue());
+        }
+        tag.putLongArray("Pending", pendingLights.toLongArray());
+        return tag;
+    }
+}
@@ -1,7 +1,11 @@
 package art.boyko.fiatlux.init;
 
 import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.blockentity.ChargingPadBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.ChunkLoaderBlockEntity;
 import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.IlluminatorBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.ItemConduitBlockEntity;
 import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.level.block.entity.BlockEntityType;
@@ -26,6 +30,30 @@ public class ModBlockEntities {
             BlockEntityType.Builder.of(EnergyStorageBlockEntity::new, 
                 ModBlocks.ENERGY_STORAGE_BLOCK.get()).build(null));
 
+    // Area illuminator block entity
+    public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<IlluminatorBlockEntity>> ILLUMINATOR_BE = 
+        BLOCK_ENTITIES.register("illuminator_be", () -> 
+            BlockEntityType.Builder.of(IlluminatorBlockEntity::new, 
+                ModBlocks.ILLUMINATOR_BLOCK.get()).build(null));
+
+    // Item conduit block entity
+    public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<ItemConduitBlockEntity>> ITEM_CONDUIT_BE = 
+        BLOCK_ENTITIES.register("item_conduit_be", () -> 
+            BlockEntityType.Builder.of(ItemConduitBlockEntity::new, 
+                ModBlocks.ITEM_CONDUIT_BLOCK.get()).build(null));
+
+    // Charging pad block entity
+    public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<ChargingPadBlockEntity>> CHARGING_PAD_BE = 
+        BLOCK_ENTITIES.register("charging_pad_be", () -> 
+            BlockEntityType.Builder.of(ChargingPadBlockEntity::new, 
+                ModBlocks.CHARGING_PAD_BLOCK.get()).build(null));
+
+    // Chunk loader block entity
+    public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<ChunkLoaderBlockEntity>> CHUNK_LOADER_BE = 
+        BLOCK_ENTITIES.register("chunk_loader_be", () -> 
+            BlockEntityType.Builder.of(ChunkLoaderBlockEntity::new, 
+                ModBlocks.CHUNK_LOADER_BLOCK.get()).build(null));
+
     /**
      * Register all block entities to the event bus
      * This method should be called in the mod constructor
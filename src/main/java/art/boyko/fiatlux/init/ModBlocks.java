@@ -1,7 +1,11 @@
 package art.boyko.fiatlux.init;
 
 import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.block.ChargingPadBlock;
+import art.boyko.fiatlux.custom.block.ChunkLoaderBlock;
 import art.boyko.fiatlux.custom.block.EnergyStorageBlock;
+import art.boyko.fiatlux.custom.block.IlluminatorBlock;
+import art.boyko.fiatlux.custom.block.ItemConduitBlock;
 import art.boyko.fiatlux.custom.block.SimpleStorageBlock;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.SoundType;
@@ -74,6 +78,48 @@ public class ModBlocks {
         )
     );
 
+    // Area illuminator: suppresses monster spawns in a large radius without placing real light sources
+    public static final DeferredBlock<IlluminatorBlock> ILLUMINATOR_BLOCK = BLOCKS.register("illuminator_block",
+        () -> new IlluminatorBlock(BlockBehaviour.Properties.of()
+            .mapColor(MapColor.GOLD)
+            .strength(3.0f, 6.0f)
+            .sound(SoundType.GLASS)
+            .requiresCorrectToolForDrops()
+            .lightLevel(state -> 15)
+        )
+    );
+
+    // Item conduit: moves items between storage blocks along cached routes
+    public static final DeferredBlock<ItemConduitBlock> ITEM_CONDUIT_BLOCK = BLOCKS.register("item_conduit_block",
+        () -> new ItemConduitBlock(BlockBehaviour.Properties.of()
+            .mapColor(MapColor.METAL)
+            .strength(1.5f, 3.0f)
+            .sound(SoundType.COPPER)
+        )
+    );
+
+    // Charging pad: tops up energy items of nearby players from adjacent energy cells
+    public static final DeferredBlock<ChargingPadBlock> CHARGING_PAD_BLOCK = BLOCKS.register("charging_pad_block",
+        () -> new ChargingPadBlock(BlockBehaviour.Properties.of()
+            .mapColor(MapColor.METAL)
+            .strength(3.0f, 6.0f)
+            .sound(SoundType.METAL)
+            .requiresCorrectToolForDrops()
+            .lightLevel(state -> 4)
+        )
+    );
+
+    // Chunk loader: keeps a square of chunks loaded while adjacent energy storages pay for it
+    public static final DeferredBlock<ChunkLoaderBlock> CHUNK_LOADER_BLOCK = BLOCKS.register("chunk_loader_block",
+        () -> new ChunkLoaderBlock(BlockBehaviour.Properties.of()
+            .mapColor(MapColor.COLOR_PURPLE)
+            .strength(5.0f, 1200.0f)
+            .sound(SoundType.METAL)
+            .requiresCorrectToolForDrops()
+            .lightLevel(state -> 6)
+        )
+    );
+
     /**
      * Register all blocks to the event bus
      * This method should be called in the mod constructor
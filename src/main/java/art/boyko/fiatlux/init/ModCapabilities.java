@@ -0,0 +1,26 @@
+package art.boyko.fiatlux.init;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
+import net.neoforged.neoforge.energy.ComponentEnergyStorage;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.MOD)
+public class ModCapabilities {
+
+    @SubscribeEvent
+    public static void registerCapabilities(RegisterCapabilitiesEvent event) {
+        // Energy cell items expose their charge component, so charging pads and other mods can fill them
+        event.registerItem(Capabilities.EnergyStorage.ITEM,
+                (stack, context) -> new ComponentEnergyStorage(stack, ModDataComponents.ENERGY.get(),
+                        EnergyStorageBlockEntity.MAX_ENERGY, EnergyStorageBlockEntity.MAX_RECEIVE, EnergyStorageBlockEntity.MAX_EXTRACT),
+                ModItems.ENERGY_STORAGE_BLOCK_ITEM);
+
+        // Placed cells are energy storages themselves, on every side
+        event.registerBlockEntity(Capabilities.EnergyStorage.BLOCK, ModBlockEntities.ENERGY_STORAGE_BE.get(),
+                (cell, side) -> cell);
+    }
+}
@@ -27,6 +27,7 @@ public class ModCreativeTabs {
                 output.accept(ModItems.LIGHT_CRYSTAL.get());
                 output.accept(ModItems.COMPRESSED_COAL.get());
                 output.accept(ModItems.TORCH_ITEM.get());
+                output.accept(ModItems.VACUUM_UPGRADE.get());
                 
                 output.accept(ModItems.EXAMPLE_BLOCK_ITEM.get());
                 output.accept(ModItems.LIGHT_BLOCK_ITEM.get());
@@ -36,6 +37,10 @@ public class ModCreativeTabs {
                 // Add new blocks with BlockEntity
                 output.accept(ModItems.SIMPLE_STORAGE_BLOCK_ITEM.get());
                 output.accept(ModItems.ENERGY_STORAGE_BLOCK_ITEM.get());
+                output.accept(ModItems.ILLUMINATOR_BLOCK_ITEM.get());
+                output.accept(ModItems.ITEM_CONDUIT_BLOCK_ITEM.get());
+                output.accept(ModItems.CHARGING_PAD_BLOCK_ITEM.get());
+                output.accept(ModItems.CHUNK_LOADER_BLOCK_ITEM.get());
             }).build());
 
     // Alternative tab focused on blocks only 
@@ -54,6 +59,10 @@ public class ModCreativeTabs {
                 // Add new blocks with BlockEntity
                 output.accept(ModItems.SIMPLE_STORAGE_BLOCK_ITEM.get());
                 output.accept(ModItems.ENERGY_STORAGE_BLOCK_ITEM.get());
+                output.accept(ModItems.ILLUMINATOR_BLOCK_ITEM.get());
+                output.accept(ModItems.ITEM_CONDUIT_BLOCK_ITEM.get());
+                output.accept(ModItems.CHARGING_PAD_BLOCK_ITEM.get());
+                output.accept(ModItems.CHUNK_LOADER_BLOCK_ITEM.get());
             }).build());
 
     // Alternative tab focused on tools and materials 
@@ -69,6 +78,7 @@ public class ModCreativeTabs {
                 output.accept(ModItems.LIGHT_CRYSTAL.get());
                 output.accept(ModItems.COMPRESSED_COAL.get());
                 output.accept(ModItems.TORCH_ITEM.get());
+                output.accept(ModItems.VACUUM_UPGRADE.get());
                 output.accept(ModItems.EXAMPLE_ITEM.get());
             }).build());
 
@@ -0,0 +1,37 @@
+package art.boyko.fiatlux.init;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.storage.StorageContentsRef;
+import net.minecraft.core.component.DataComponentType;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.util.ExtraCodecs;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+public class ModDataComponents {
+    // Create a Deferred Register to hold DataComponentTypes which will all be registered under the "fiatlux" namespace
+    public static final DeferredRegister.DataComponents DATA_COMPONENTS =
+        DeferredRegister.createDataComponents(FiatLux.MODID);
+
+    // Energy held by an item, e.g. a picked-up energy cell
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ENERGY =
+        DATA_COMPONENTS.registerComponentType("energy", builder -> builder
+            .persistent(ExtraCodecs.NON_NEGATIVE_INT)
+            .networkSynchronized(ByteBufCodecs.VAR_INT));
+
+    // Id and summary of the items held by a broken storage block; the items themselves stay on the server
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<StorageContentsRef>> STORAGE_CONTENTS =
+        DATA_COMPONENTS.registerComponentType("storage_contents", builder -> builder
+            .persistent(StorageContentsRef.CODEC)
+            .networkSynchronized(StorageContentsRef.STREAM_CODEC));
+
+    /**
+     * Register all data components to the event bus
+     * This method should be called in the mod constructor
+     */
+    public static void register(IEventBus eventBus) {
+        DATA_COMPONENTS.register(eventBus);
+        FiatLux.LOGGER.info("Registering data components for " + FiatLux.MODID);
+    }
+}
@@ -1,6 +1,8 @@
 package art.boyko.fiatlux.init;
 
 import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.item.EnergyCellItem;
+import art.boyko.fiatlux.custom.item.LightSwordItem;
 import net.minecraft.world.food.FoodProperties;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
@@ -34,8 +36,22 @@ public class ModItems {
     public static final DeferredItem<BlockItem> SIMPLE_STORAGE_BLOCK_ITEM = 
         ITEMS.registerSimpleBlockItem("simple_storage_block", ModBlocks.SIMPLE_STORAGE_BLOCK);
     
-    public static final DeferredItem<BlockItem> ENERGY_STORAGE_BLOCK_ITEM = 
-        ITEMS.registerSimpleBlockItem("energy_storage_block", ModBlocks.ENERGY_STORAGE_BLOCK);
+    // Keeps its charge as a data component; unstackable so a stack never shares one charge
+    public static final DeferredItem<EnergyCellItem> ENERGY_STORAGE_BLOCK_ITEM = 
+        ITEMS.register("energy_storage_block", () -> new EnergyCellItem(ModBlocks.ENERGY_STORAGE_BLOCK.get(),
+            new Item.Properties().stacksTo(1)));
+
+    public static final DeferredItem<BlockItem> ILLUMINATOR_BLOCK_ITEM = 
+        ITEMS.registerSimpleBlockItem("illuminator_block", ModBlocks.ILLUMINATOR_BLOCK);
+
+    public static final DeferredItem<BlockItem> ITEM_CONDUIT_BLOCK_ITEM = 
+        ITEMS.registerSimpleBlockItem("item_conduit_block", ModBlocks.ITEM_CONDUIT_BLOCK);
+
+    public static final DeferredItem<BlockItem> CHARGING_PAD_BLOCK_ITEM = 
+        ITEMS.registerSimpleBlockItem("charging_pad_block", ModBlocks.CHARGING_PAD_BLOCK);
+
+    public static final DeferredItem<BlockItem> CHUNK_LOADER_BLOCK_ITEM = 
+        ITEMS.registerSimpleBlockItem("chunk_loader_block", ModBlocks.CHUNK_LOADER_BLOCK);
 
     // Regular Items
     // Example food item
@@ -56,9 +72,9 @@ public class ModItems {
             .fireResistant()
     );
 
-    // Custom sword
-    public static final DeferredItem<SwordItem> LIGHT_SWORD = ITEMS.register("light_sword",
-        () -> new SwordItem(Tiers.DIAMOND, 
+    // Custom sword with a right-click beam attack
+    public static final DeferredItem<LightSwordItem> LIGHT_SWORD = ITEMS.register("light_sword",
+        () -> new LightSwordItem(Tiers.DIAMOND, 
             new Item.Properties()
                 .attributes(SwordItem.createAttributes(Tiers.DIAMOND, 4, -2.0f))
                 .rarity(Rarity.UNCOMMON)
@@ -89,6 +105,13 @@ public class ModItems {
             .rarity(Rarity.UNCOMMON)
     );
 
+    // Storage upgrade: right-click a storage block to make it collect nearby item entities
+    public static final DeferredItem<Item> VACUUM_UPGRADE = ITEMS.registerSimpleItem("vacuum_upgrade",
+        new Item.Properties()
+            .stacksTo(16)
+            .rarity(Rarity.UNCOMMON)
+    );
+
     /**
      * Register all items to the event bus
      * This method should be called in the mod constructor
@@ -0,0 +1,29 @@
+package art.boyko.fiatlux.init;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.menu.StorageTerminalMenu;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.inventory.MenuType;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.common.extensions.IMenuTypeExtension;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+public class ModMenuTypes {
+    // Create a Deferred Register to hold MenuTypes which will all be registered under the "fiatlux" namespace
+    public static final DeferredRegister<MenuType<?>> MENU_TYPES = 
+        DeferredRegister.create(Registries.MENU, FiatLux.MODID);
+
+    // Paged storage browser
+    public static final DeferredHolder<MenuType<?>, MenuType<StorageTerminalMenu>> STORAGE_TERMINAL = 
+        MENU_TYPES.register("storage_terminal", () -> IMenuTypeExtension.create(StorageTerminalMenu::new));
+
+    /**
+     * Register all menu types to the event bus
+     * This method should be called in the mod constructor
+     */
+    public static void register(IEventBus eventBus) {
+        MENU_TYPES.register(eventBus);
+        FiatLux.LOGGER.info("Registering menu types for " + FiatLux.MODID);
+    }
+}
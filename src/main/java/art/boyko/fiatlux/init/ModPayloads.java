@@ -0,0 +1,31 @@
+package art.boyko.fiatlux.init;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.network.TerminalExtractPayload;
+import art.boyko.fiatlux.network.TerminalPagePayload;
+import art.boyko.fiatlux.network.TerminalViewPayload;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+public class ModPayloads {
+    private static final String PROTOCOL_VERSION = "1";
+
+    private static void registerPayloads(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+
+        // Storage terminal
+        registrar.playToClient(TerminalPagePayload.TYPE, TerminalPagePayload.STREAM_CODEC, TerminalPagePayload::handle);
+        registrar.playToServer(TerminalViewPayload.TYPE, TerminalViewPayload.STREAM_CODEC, TerminalViewPayload::handle);
+        registrar.playToServer(TerminalExtractPayload.TYPE, TerminalExtractPayload.STREAM_CODEC, TerminalExtractPayload::handle);
+    }
+
+    /**
+     * Register all network payloads to the event bus
+     * This method should be called in the mod constructor
+     */
+    public static void register(IEventBus eventBus) {
+        eventBus.addListener(ModPayloads::registerPayloads);
+        FiatLux.LOGGER.info("Registering payloads for " + FiatLux.MODID);
+    }
+}
@@ -0,0 +1,24 @@
+package art.boyko.fiatlux.journal;
+
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class JournalEvents {
+    private static final String JOURNAL_FOLDER = "fiatlux-journal";
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        TransactionJournal.start(event.getServer().getWorldPath(LevelResource.ROOT).resolve(JOURNAL_FOLDER));
+    }
+
+    // Drains the remaining records and flushes the current segment
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        TransactionJournal.stop();
+    }
+}
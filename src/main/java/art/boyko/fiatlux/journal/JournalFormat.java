@@ -0,0 +1,54 @@
+package art.boyko.fiatlux.journal;
+
+/**
+ * On-disk layout of the transaction journal. Kept free of Minecraft classes so the offline reader can use it.
+ * <p>
+ * A journal is a directory of fixed-size segment files {@code journal-NNNNNN.bin}, all little-endian. Each segment
+ * starts with a {@link #HEADER_SIZE}-byte header: {@link #MAGIC} (int), the number of dimensions (int), then per
+ * dimension its id (int), name length (short) and UTF-8 name. A sequence of 32-byte records follows: game tick
+ * (long), packed block position (long), amount (long), op (int) and dimension id (int). A record with op 0 marks the
+ * unused tail of a segment. Dimension ids are assigned sequentially per server run, and a segment's header lists
+ * every id its records use, so each segment can be read on its own.
+ */
+public final class JournalFormat {
+    public static final int RECORD_SIZE = 32;
+    public static final int HEADER_SIZE = 16384; // A multiple of RECORD_SIZE
+    public static final int MAGIC = 0x314A4C46; // "FLJ1"
+    public static final int DIMENSION_COUNT_OFFSET = 4;
+    public static final int DIMENSION_TABLE_OFFSET = 8;
+
+    public static final int OP_END = 0;
+    public static final int OP_RECEIVE_ENERGY = 1;
+    public static final int OP_EXTRACT_ENERGY = 2;
+    public static final int OP_BALANCE_ENERGY = 3; // Signed amount
+    public static final int OP_ADD_ITEM = 4;
+    public static final int OP_REMOVE_ITEM = 5;
+    public static final int OP_PASSIVE_ENERGY = 6; // Signed amount; passive generation and decay
+    public static final int OP_COUNT = 7;
+
+    private static final String[] OP_NAMES = {"end", "receive_fe", "extract_fe", "balance_fe", "add_item", "remove_item", "passive_fe"};
+
+    private JournalFormat() {
+    }
+
+    public static String segmentName(int index) {
+        return String.format("journal-%06d.bin", index);
+    }
+
+    public static String opName(int op) {
+        return op >= 0 && op < OP_NAMES.length ? OP_NAMES[op] : "op_" + op;
+    }
+
+    // Same packing as BlockPos.asLong: 26 bits x, 26 bits z, 12 bits y
+    public static int unpackX(long pos) {
+        return (int) (pos >> 38);
+    }
+
+    public static int unpackY(long pos) {
+        return (int) (pos << 52 >> 52);
+    }
+
+    public static int unpackZ(long pos) {
+        return (int) (pos << 26 >> 38);
+    }
+}
@@ -0,0 +1,155 @@
+package art.boyko.fiatlux.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Offline reader for the transaction journal. Uses only the JDK, so it runs against the mod jar without the game:
+ * <pre>
+ * java -cp fiatlux.jar art.boyko.fiatlux.journal.JournalReader &lt;journal dir&gt; [--window &lt;ticks&gt;]
+ *     [--from &lt;tick&gt;] [--to &lt;tick&gt;] [--pos &lt;x,y,z&gt;]
+ * </pre>
+ * Without {@code --window} totals are aggregated per block position, otherwise per time window.
+ */
+public final class JournalReader {
+    private final Path directory;
+
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long tick, long pos, long amount, int op, String dimension);
+    }
+
+    /**
+     * Visits every record in segment order, with its dimension resolved through the segment's header.
+     */
+    public void forEach(RecordVisitor visitor) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith("journal-") && name.endsWith(".bin");
+            }).sorted().toList();
+        }
+        for (Path segment : segments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                Map<Integer, String> dimensions = readHeader(segment, buffer);
+                buffer.position(JournalFormat.HEADER_SIZE);
+                while (buffer.remaining() >= JournalFormat.RECORD_SIZE) {
+                    long tick = buffer.getLong();
+                    long pos = buffer.getLong();
+                    long amount = buffer.getLong();
+                    int op = buffer.getInt();
+                    int dimension = buffer.getInt();
+                    if (op == JournalFormat.OP_END) {
+                        break;
+                    }
+                    visitor.visit(tick, pos, amount, op, dimensions.getOrDefault(dimension, Integer.toString(dimension)));
+                }
+            }
+        }
+    }
+
+    // Dimension id -> name, as listed in the segment's header
+    private static Map<Integer, String> readHeader(Path segment, MappedByteBuffer buffer) throws IOException {
+        if (buffer.limit() < JournalFormat.HEADER_SIZE || buffer.getInt(0) != JournalFormat.MAGIC) {
+            throw new IOException(segment + " is not a journal segment of this version");
+        }
+        Map<Integer, String> dimensions = new HashMap<>();
+        int count = buffer.getInt(JournalFormat.DIMENSION_COUNT_OFFSET);
+        int position = JournalFormat.DIMENSION_TABLE_OFFSET;
+        for (int i = 0; i < count; i++) {
+            int id = buffer.getInt(position);
+            byte[] name = new byte[buffer.getShort(position + 4)];
+            buffer.get(position + 6, name);
+            dimensions.put(id, new String(name, StandardCharsets.UTF_8));
+            position += 6 + name.length;
+        }
+        return dimensions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: JournalReader <journal dir> [--window <ticks>] [--from <tick>] [--to <tick>] [--pos <x,y,z>]");
+            System.exit(1);
+        }
+        long window = 0;
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        int[] filterPos = null;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--window" -> window = Long.parseLong(args[i + 1]);
+                case "--from" -> from = Long.parseLong(args[i + 1]);
+                case "--to" -> to = Long.parseLong(args[i + 1]);
+                case "--pos" -> {
+                    String[] parts = args[i + 1].split(",");
+                    filterPos = new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+                }
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+
+        JournalReader reader = new JournalReader(Paths.get(args[0]));
+        // Row key -> per-op totals followed by per-op record counts
+        Map<String, long[]> rows = new TreeMap<>();
+        long[] records = new long[1];
+        final long windowTicks = window;
+        final long fromTick = from;
+        final long toTick = to;
+        final int[] pos = filterPos;
+        reader.forEach((tick, packed, amount, op, dimension) -> {
+            if (tick < fromTick || tick > toTick || op >= JournalFormat.OP_COUNT) {
+                return;
+            }
+            int x = JournalFormat.unpackX(packed);
+            int y = JournalFormat.unpackY(packed);
+            int z = JournalFormat.unpackZ(packed);
+            if (pos != null && (pos[0] != x || pos[1] != y || pos[2] != z)) {
+                return;
+            }
+            String key = windowTicks > 0
+                    ? String.format("%012d", Math.floorDiv(tick, windowTicks) * windowTicks)
+                    : dimension + " " + x + "," + y + "," + z;
+            long[] totals = rows.computeIfAbsent(key, k -> new long[JournalFormat.OP_COUNT * 2]);
+            totals[op] += amount;
+            totals[JournalFormat.OP_COUNT + op]++;
+            records[0]++;
+        });
+
+        StringBuilder header = new StringBuilder(windowTicks > 0 ? "window_start" : "position");
+        for (int op = 1; op < JournalFormat.OP_COUNT; op++) {
+            header.append('\t').append(JournalFormat.opName(op));
+        }
+        System.out.println(header);
+        for (Map.Entry<String, long[]> row : rows.entrySet()) {
+            StringBuilder line = new StringBuilder(row.getKey());
+            long[] totals = row.getValue();
+            for (int op = 1; op < JournalFormat.OP_COUNT; op++) {
+                line.append('\t').append(totals[op]).append(" (").append(totals[JournalFormat.OP_COUNT + op]).append(')');
+            }
+            System.out.println(line);
+        }
+        System.out.println(records[0] + " records in " + rows.size() + " rows");
+    }
+}
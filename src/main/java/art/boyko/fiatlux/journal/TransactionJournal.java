@@ -0,0 +1,231 @@
+package art.boyko.fiatlux.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Opt-in binary journal of energy and item transactions.
+ * <p>
+ * The server thread is the only producer: {@link #record} writes into a fixed-size ring buffer and never blocks.
+ * When the ring is full the record is dropped and counted. A background thread drains the ring into
+ * memory-mapped segment files and rotates to a new segment when the current one is full.
+ */
+public class TransactionJournal {
+    private static final int RING_CAPACITY = 1 << 16;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private static volatile @Nullable TransactionJournal instance;
+
+    // Ring buffer, one slot per record field
+    private final long[] ticks = new long[RING_CAPACITY];
+    private final long[] positions = new long[RING_CAPACITY];
+    private final long[] amounts = new long[RING_CAPACITY];
+    private final int[] ops = new int[RING_CAPACITY];
+    private final int[] dimensions = new int[RING_CAPACITY];
+    private final AtomicLong head = new AtomicLong(); // Next slot the writer reads
+    private final AtomicLong tail = new AtomicLong(); // Next slot the server thread writes
+    private final LongAdder dropped = new LongAdder();
+    // Names of newly registered dimensions, queued in id order before any record uses them
+    private final ConcurrentLinkedQueue<String> newDimensions = new ConcurrentLinkedQueue<>();
+    // Dimension keys are interned, so ids are looked up by identity instead of hashing the name per record
+    private final Map<ResourceKey<Level>, Integer> dimensionIds = new IdentityHashMap<>(); // Server thread only
+    private final List<String> dimensionNames = new ArrayList<>(); // Writer thread only, indexed by id
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private @Nullable MappedByteBuffer segment;
+    private int segmentIndex;
+    // Dimensions listed in the current segment's header and where the next entry goes
+    private int headerDimensions;
+    private int headerPosition;
+
+    private TransactionJournal(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes - segmentBytes % JournalFormat.RECORD_SIZE;
+        Files.createDirectories(directory);
+        this.segmentIndex = nextSegmentIndex(directory);
+        this.writer = new Thread(this::runWriter, "FiatLux-Journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static void start(Path directory) {
+        if (!Config.JOURNAL_ENABLED.getAsBoolean() || instance != null) {
+            return;
+        }
+        try {
+            instance = new TransactionJournal(directory, Config.JOURNAL_SEGMENT_MB.getAsInt() * 1024L * 1024L);
+            FiatLux.LOGGER.info("Transaction journal writing to {}", directory);
+        } catch (IOException e) {
+            FiatLux.LOGGER.error("Could not start transaction journal in {}", directory, e);
+        }
+    }
+
+    public static void stop() {
+        TransactionJournal journal = instance;
+        instance = null;
+        if (journal != null) {
+            journal.running = false;
+            try {
+                journal.writer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return instance != null;
+    }
+
+    public static long getDroppedCount() {
+        TransactionJournal journal = instance;
+        return journal != null ? journal.dropped.sum() : 0;
+    }
+
+    /**
+     * Records one transaction. Called on the server thread only; returns immediately.
+     */
+    public static void record(Level level, BlockPos pos, int op, long amount) {
+        TransactionJournal journal = instance;
+        if (journal != null && !level.isClientSide()) {
+            journal.offer(level, pos, op, amount);
+        }
+    }
+
+    private void offer(Level level, BlockPos pos, int op, long amount) {
+        long t = tail.get();
+        if (t - head.get() >= RING_CAPACITY) {
+            dropped.increment();
+            return;
+        }
+        int dimension = dimensionIds.computeIfAbsent(level.dimension(), this::registerDimension);
+
+        int slot = (int) (t & (RING_CAPACITY - 1));
+        ticks[slot] = level.getGameTime();
+        positions[slot] = pos.asLong();
+        amounts[slot] = amount;
+        ops[slot] = op;
+        dimensions[slot] = dimension;
+        // Publishes the slot to the writer thread
+        tail.lazySet(t + 1);
+    }
+
+    // Ids are sequential; the writer adds each name to the segment headers
+    private int registerDimension(ResourceKey<Level> key) {
+        newDimensions.add(key.location().toString());
+        return dimensionIds.size();
+    }
+
+    private void runWriter() {
+        try {
+            while (running || head.get() != tail.get()) {
+                long h = head.get();
+                long t = tail.get();
+                if (h == t) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                for (; h < t; h++) {
+                    int slot = (int) (h & (RING_CAPACITY - 1));
+                    MappedByteBuffer buffer = currentSegment();
+                    // The name was queued before the record was published, so it is there to take
+                    while (dimensions[slot] >= dimensionNames.size()) {
+                        addDimension(buffer, newDimensions.remove());
+                    }
+                    buffer.putLong(ticks[slot]);
+                    buffer.putLong(positions[slot]);
+                    buffer.putLong(amounts[slot]);
+                    buffer.putInt(ops[slot]);
+                    buffer.putInt(dimensions[slot]);
+                }
+                // Frees the slots for the server thread
+                head.lazySet(h);
+            }
+            if (segment != null) {
+                segment.force();
+            }
+        } catch (IOException e) {
+            FiatLux.LOGGER.error("Transaction journal writer failed, journaling stopped", e);
+            instance = null;
+        }
+    }
+
+    private MappedByteBuffer currentSegment() throws IOException {
+        if (segment == null || segment.remaining() < JournalFormat.RECORD_SIZE) {
+            if (segment != null) {
+                segment.force();
+            }
+            Path path = directory.resolve(JournalFormat.segmentName(segmentIndex++));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            }
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            segment.putInt(0, JournalFormat.MAGIC);
+            headerDimensions = 0;
+            headerPosition = JournalFormat.DIMENSION_TABLE_OFFSET;
+            for (int id = 0; id < dimensionNames.size(); id++) {
+                writeHeaderEntry(segment, id, dimensionNames.get(id));
+            }
+            segment.position(JournalFormat.HEADER_SIZE);
+        }
+        return segment;
+    }
+
+    private void addDimension(MappedByteBuffer buffer, String name) {
+        dimensionNames.add(name);
+        writeHeaderEntry(buffer, dimensionNames.size() - 1, name);
+    }
+
+    // Written in place, so entries can be added to the header after records
+    private void writeHeaderEntry(MappedByteBuffer buffer, int id, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (headerPosition + 6 + bytes.length > JournalFormat.HEADER_SIZE) {
+            FiatLux.LOGGER.warn("Journal segment header is full, records of dimension {} will show its id {}", name, id);
+            return;
+        }
+        buffer.putInt(headerPosition, id);
+        buffer.putShort(headerPosition + 4, (short) bytes.length);
+        buffer.put(headerPosition + 6, bytes);
+        headerPosition += 6 + bytes.length;
+        // Counted last, so a reader never sees a partial entry
+        buffer.putInt(JournalFormat.DIMENSION_COUNT_OFFSET, ++headerDimensions);
+    }
+
+    // Continues after the highest existing segment so a restart never overwrites older records
+    private static int nextSegmentIndex(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("journal-") && name.endsWith(".bin"))
+                    .mapToInt(name -> Integer.parseInt(name.substring("journal-".length(), name.length() - ".bin".length())))
+                    .max()
+                    .orElse(-1) + 1;
+        }
+    }
+}
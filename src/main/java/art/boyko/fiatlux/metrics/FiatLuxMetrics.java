@@ -0,0 +1,184 @@
+package art.boyko.fiatlux.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import art.boyko.fiatlux.chunkloading.ChunkLoaderManager;
+import art.boyko.fiatlux.energy.EnergyNetworkManager;
+import art.boyko.fiatlux.registry.BlockEntityPositionRegistry;
+import art.boyko.fiatlux.scheduler.TickBudgetScheduler;
+import art.boyko.fiatlux.snapshot.StorageSnapshot;
+import art.boyko.fiatlux.snapshot.StorageSnapshotPublisher;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+
+/**
+ * Runtime metrics in OpenMetrics text format.
+ * <p>
+ * Counters are {@link LongAdder}s incremented on the server thread without locking. Gauges that need game
+ * state are rendered on the server thread every {@code metricsInterval} ticks into an immutable string, and
+ * storage and energy gauges are read from the published {@link StorageSnapshot}s, so exporters only ever read
+ * adders and immutable state and never wait on the server thread.
+ */
+public final class FiatLuxMetrics {
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    public static final LongAdder ENERGY_RECEIVED = new LongAdder();
+    public static final LongAdder ENERGY_EXTRACTED = new LongAdder();
+    public static final LongAdder ENERGY_BALANCED = new LongAdder();
+    public static final LongAdder ITEMS_INSERTED = new LongAdder();
+    public static final LongAdder ITEMS_EXTRACTED = new LongAdder();
+    public static final LongAdder CONDUIT_ITEMS_MOVED = new LongAdder();
+    public static final LongAdder VACUUM_ITEMS_COLLECTED = new LongAdder();
+    public static final LongAdder VACUUM_ENTITIES_REMOVED = new LongAdder();
+    public static final LongAdder BLOCK_ENTITY_SYNCS = new LongAdder();
+    public static final LongAdder BLOCK_ENTITY_SYNC_BYTES = new LongAdder();
+    public static final LongAdder TERMINAL_PAGE_PACKETS = new LongAdder();
+    public static final LongAdder STORAGE_SAVES_PRECOMPUTED = new LongAdder();
+    public static final LongAdder STORAGE_SAVES_INLINE = new LongAdder();
+    public static final LongAdder STORAGE_SAVE_NANOS = new LongAdder();
+
+    private static volatile String gauges = "";
+    private static volatile Map<ResourceKey<Level>, Long> ghostEnergy = Map.of();
+
+    private FiatLuxMetrics() {
+    }
+
+    /**
+     * Re-renders the gauges from game state. Server thread only.
+     */
+    public static void updateGauges(MinecraftServer server) {
+        StringBuilder out = new StringBuilder(1024);
+
+        header(out, "fiatlux_block_entities", "gauge", "Loaded Fiat Lux block entities.");
+        for (ServerLevel level : server.getAllLevels()) {
+            String dimension = level.dimension().location().toString();
+            for (Map.Entry<BlockEntityType<?>, BlockEntityPositionRegistry.TypeIndex> entry
+                    : BlockEntityPositionRegistry.get(level).getIndexes().entrySet()) {
+                out.append("fiatlux_block_entities{dimension=\"").append(dimension)
+                        .append("\",type=\"").append(BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(entry.getKey()).getPath())
+                        .append("\"} ").append(entry.getValue().size()).append('\n');
+            }
+        }
+
+        // Loaded cells and storage contents are read from snapshots at render time; only ghosts need the server thread
+        Map<ResourceKey<Level>, Long> ghosts = new HashMap<>();
+        for (ServerLevel level : server.getAllLevels()) {
+            ghosts.put(level.dimension(), EnergyNetworkManager.get(level).getGhostEnergyStored());
+        }
+        ghostEnergy = Map.copyOf(ghosts);
+
+        // For comparing farms with vacuum upgrades on and off
+        header(out, "fiatlux_item_entities", "gauge", "Item entities in loaded chunks.");
+        for (ServerLevel level : server.getAllLevels()) {
+            out.append("fiatlux_item_entities{dimension=\"").append(level.dimension().location()).append("\"} ")
+                    .append(countItemEntities(level)).append('\n');
+        }
+
+        header(out, "fiatlux_forced_chunks", "gauge", "Chunks force-loaded by Fiat Lux chunk loaders.");
+        for (ServerLevel level : server.getAllLevels()) {
+            out.append("fiatlux_forced_chunks{dimension=\"").append(level.dimension().location()).append("\"} ")
+                    .append(ChunkLoaderManager.get(level).getForcedChunkCount()).append('\n');
+        }
+
+        header(out, "fiatlux_server_tick_seconds", "gauge", "Average server tick time.");
+        out.append("fiatlux_server_tick_seconds ").append(server.getAverageTickTimeNanos() / 1e9).append('\n');
+        header(out, "fiatlux_budget_tick_seconds", "gauge", "Time spent on budgeted Fiat Lux work in the last tick.");
+        out.append("fiatlux_budget_tick_seconds ").append(TickBudgetScheduler.getLastTickNanos() / 1e9).append('\n');
+        header(out, "fiatlux_budget_queue_depth", "gauge", "Budgeted work items waiting for a later tick.");
+        out.append("fiatlux_budget_queue_depth ").append(TickBudgetScheduler.getQueueDepth()).append('\n');
+
+        gauges = out.toString();
+    }
+
+    // Counted while iterating, without collecting every item entity into a list
+    private static int countItemEntities(ServerLevel level) {
+        int count = 0;
+        for (Entity entity : level.getAllEntities()) {
+            if (entity.getType() == EntityType.ITEM) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void clearGauges() {
+        gauges = "";
+        ghostEnergy = Map.of();
+    }
+
+    /**
+     * Renders all metrics. Safe to call from any thread.
+     */
+    public static String render() {
+        StringBuilder out = new StringBuilder(2048);
+        out.append(gauges);
+
+        header(out, "fiatlux_energy_stored_fe", "gauge", "Energy stored in energy cells; unloaded cells report their last known charge.");
+        for (StorageSnapshot snapshot : StorageSnapshotPublisher.getSnapshots()) {
+            String dimension = snapshot.dimension().location().toString();
+            out.append("fiatlux_energy_stored_fe{dimension=\"").append(dimension).append("\",state=\"loaded\"} ")
+                    .append(snapshot.getTotalEnergy()).append('\n');
+            out.append("fiatlux_energy_stored_fe{dimension=\"").append(dimension).append("\",state=\"unloaded\"} ")
+                    .append(ghostEnergy.getOrDefault(snapshot.dimension(), 0L)).append('\n');
+        }
+        header(out, "fiatlux_items_stored", "gauge", "Items held by loaded storage blocks.");
+        for (StorageSnapshot snapshot : StorageSnapshotPublisher.getSnapshots()) {
+            out.append("fiatlux_items_stored{dimension=\"").append(snapshot.dimension().location())
+                    .append("\"} ").append(snapshot.getTotalItems()).append('\n');
+        }
+
+        header(out, "fiatlux_energy_transferred_fe", "counter", "Energy moved into, out of and between energy cells.");
+        counter(out, "fiatlux_energy_transferred_fe", "op", "received", ENERGY_RECEIVED);
+        counter(out, "fiatlux_energy_transferred_fe", "op", "extracted", ENERGY_EXTRACTED);
+        counter(out, "fiatlux_energy_transferred_fe", "op", "balanced", ENERGY_BALANCED);
+
+        header(out, "fiatlux_items_transferred", "counter", "Items inserted into and extracted from storage blocks.");
+        counter(out, "fiatlux_items_transferred", "op", "inserted", ITEMS_INSERTED);
+        counter(out, "fiatlux_items_transferred", "op", "extracted", ITEMS_EXTRACTED);
+
+        header(out, "fiatlux_conduit_items_moved", "counter", "Items moved by item conduits.");
+        counter(out, "fiatlux_conduit_items_moved", null, null, CONDUIT_ITEMS_MOVED);
+
+        header(out, "fiatlux_vacuum_items_collected", "counter", "Items collected into storage by vacuum upgrades.");
+        counter(out, "fiatlux_vacuum_items_collected", null, null, VACUUM_ITEMS_COLLECTED);
+        header(out, "fiatlux_vacuum_entities_removed", "counter", "Item entities removed by vacuum upgrades, collected or merged.");
+        counter(out, "fiatlux_vacuum_entities_removed", null, null, VACUUM_ENTITIES_REMOVED);
+
+        header(out, "fiatlux_sync_packets", "counter", "Client sync packets sent.");
+        counter(out, "fiatlux_sync_packets", "kind", "block_entity", BLOCK_ENTITY_SYNCS);
+        counter(out, "fiatlux_sync_packets", "kind", "terminal_page", TERMINAL_PAGE_PACKETS);
+        header(out, "fiatlux_sync_bytes", "counter", "Uncompressed NBT size of block entity syncs.");
+        counter(out, "fiatlux_sync_bytes", "kind", "block_entity", BLOCK_ENTITY_SYNC_BYTES);
+
+        header(out, "fiatlux_storage_saves", "counter", "Storage block saves, by whether the contents were encoded ahead of time.");
+        counter(out, "fiatlux_storage_saves", "encoding", "precomputed", STORAGE_SAVES_PRECOMPUTED);
+        counter(out, "fiatlux_storage_saves", "encoding", "inline", STORAGE_SAVES_INLINE);
+        header(out, "fiatlux_storage_save_seconds", "counter", "Server thread time spent saving storage block contents.");
+        out.append("fiatlux_storage_save_seconds_total ").append(STORAGE_SAVE_NANOS.sum() / 1e9).append('\n');
+
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    // OpenMetrics counter samples carry the _total suffix
+    private static void counter(StringBuilder out, String name, String label, String value, LongAdder adder) {
+        out.append(name).append("_total");
+        if (label != null) {
+            out.append('{').append(label).append("=\"").append(value).append("\"}");
+        }
+        out.append(' ').append(adder.sum()).append('\n');
+    }
+}
@@ -0,0 +1,31 @@
+package art.boyko.fiatlux.metrics;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class MetricsEvents {
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        MetricsExporter.start(event.getServer().getServerDirectory());
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (Config.METRICS_ENABLED.getAsBoolean()
+                && event.getServer().getTickCount() % Config.METRICS_INTERVAL.getAsInt() == 0) {
+            FiatLuxMetrics.updateGauges(event.getServer());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        MetricsExporter.stop();
+    }
+}
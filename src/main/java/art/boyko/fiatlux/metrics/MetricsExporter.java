@@ -0,0 +1,110 @@
+package art.boyko.fiatlux.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Serves {@link FiatLuxMetrics} over HTTP on localhost, or writes them to a file periodically.
+ * Both run on their own daemon thread and only read lock-free state.
+ */
+public class MetricsExporter {
+    public enum Mode {
+        HTTP,
+        FILE
+    }
+
+    private static @Nullable HttpServer httpServer;
+    // Not stopped by the server itself
+    private static @Nullable ExecutorService httpExecutor;
+    private static @Nullable ScheduledExecutorService fileWriter;
+
+    public static synchronized void start(Path serverDirectory) {
+        if (!Config.METRICS_ENABLED.getAsBoolean() || httpServer != null || fileWriter != null) {
+            return;
+        }
+        if (Config.METRICS_MODE.get() == Mode.HTTP) {
+            startHttp(Config.METRICS_PORT.getAsInt());
+        } else {
+            startFile(serverDirectory.resolve(Config.METRICS_FILE.get()));
+        }
+    }
+
+    public static synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            fileWriter = null;
+        }
+        FiatLuxMetrics.clearGauges();
+    }
+
+    private static void startHttp(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = FiatLuxMetrics.render().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", FiatLuxMetrics.CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "FiatLux-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.start();
+            httpServer = server;
+            httpExecutor = executor;
+            FiatLux.LOGGER.info("Serving metrics on http://127.0.0.1:{}/metrics", port);
+        } catch (IOException e) {
+            FiatLux.LOGGER.error("Could not start metrics server on port {}", port, e);
+        }
+    }
+
+    private static void startFile(Path file) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FiatLux-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // One game interval at 20 ticks per second
+        long periodMillis = Config.METRICS_INTERVAL.getAsInt() * 50L;
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                // Written next to the target and moved over it, so readers never see a partial file
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(temp, FiatLuxMetrics.render(), StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                FiatLux.LOGGER.warn("Could not write metrics to {}", file, e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        fileWriter = executor;
+        FiatLux.LOGGER.info("Writing metrics to {}", file);
+    }
+}
@@ -0,0 +1,35 @@
+package art.boyko.fiatlux.network;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.menu.StorageTerminalMenu;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Client to server: takes items from a slot of the visible terminal page into the player's inventory.
+ */
+public record TerminalExtractPayload(int containerId, int slot, boolean fullStack) implements CustomPacketPayload {
+    public static final Type<TerminalExtractPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(FiatLux.MODID, "terminal_extract"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, TerminalExtractPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, TerminalExtractPayload::containerId,
+            ByteBufCodecs.VAR_INT, TerminalExtractPayload::slot,
+            ByteBufCodecs.BOOL, TerminalExtractPayload::fullStack,
+            TerminalExtractPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    public static void handle(TerminalExtractPayload payload, IPayloadContext context) {
+        if (context.player().containerMenu instanceof StorageTerminalMenu menu && menu.containerId == payload.containerId()) {
+            menu.extract(payload.slot(), payload.fullStack());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package art.boyko.fiatlux.network;
+
+import java.util.List;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.menu.StorageTerminalMenu;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Server to client: the visible page of an open storage terminal. Only entries that changed since the
+ * last payload are included.
+ */
+public record TerminalPagePayload(int containerId, int page, int pageCount, int totalEntries, List<Entry> entries)
+        implements CustomPacketPayload {
+
+    public static final Type<TerminalPagePayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(FiatLux.MODID, "terminal_page"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, TerminalPagePayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, TerminalPagePayload::containerId,
+            ByteBufCodecs.VAR_INT, TerminalPagePayload::page,
+            ByteBufCodecs.VAR_INT, TerminalPagePayload::pageCount,
+            ByteBufCodecs.VAR_INT, TerminalPagePayload::totalEntries,
+            Entry.STREAM_CODEC.apply(ByteBufCodecs.list()), TerminalPagePayload::entries,
+            TerminalPagePayload::new);
+
+    /**
+     * One slot of the page. An empty stack clears the slot.
+     */
+    public record Entry(int slot, ItemStack stack, long count) {
+        public static final StreamCodec<RegistryFriendlyByteBuf, Entry> STREAM_CODEC = StreamCodec.composite(
+                ByteBufCodecs.VAR_INT, Entry::slot,
+                ItemStack.OPTIONAL_STREAM_CODEC, Entry::stack,
+                ByteBufCodecs.VAR_LONG, Entry::count,
+                Entry::new);
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    public static void handle(TerminalPagePayload payload, IPayloadContext context) {
+        if (context.player().containerMenu instanceof StorageTerminalMenu menu && menu.containerId == payload.containerId()) {
+            menu.applyPage(payload);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package art.boyko.fiatlux.network;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.custom.menu.StorageTerminalMenu;
+import art.boyko.fiatlux.custom.menu.TerminalSortMode;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Client to server: changes the search query, sort order or page of an open storage terminal.
+ */
+public record TerminalViewPayload(int containerId, String query, int sortMode, int page) implements CustomPacketPayload {
+    public static final int MAX_QUERY_LENGTH = 64;
+
+    public static final Type<TerminalViewPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(FiatLux.MODID, "terminal_view"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, TerminalViewPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, TerminalViewPayload::containerId,
+            ByteBufCodecs.stringUtf8(MAX_QUERY_LENGTH), TerminalViewPayload::query,
+            ByteBufCodecs.VAR_INT, TerminalViewPayload::sortMode,
+            ByteBufCodecs.VAR_INT, TerminalViewPayload::page,
+            TerminalViewPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    public static void handle(TerminalViewPayload payload, IPayloadContext context) {
+        if (context.player().containerMenu instanceof StorageTerminalMenu menu && menu.containerId == payload.containerId()) {
+            menu.setView(payload.query(), TerminalSortMode.byId(payload.sortMode()), payload.page());
+        }
+    }
+}
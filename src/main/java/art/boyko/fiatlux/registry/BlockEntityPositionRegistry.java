@@ -0,0 +1,143 @@
+package art.boyko.fiatlux.registry;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+
+/**
+ * Per-level index of loaded Fiat Lux block entities, grouped by type and chunk.
+ * Block entities register themselves in {@code onLoad} and unregister in {@code setRemoved},
+ * which covers placing, breaking and chunk load/unload. Only used on the server.
+ */
+public class BlockEntityPositionRegistry {
+    private static final Map<LevelAccessor, BlockEntityPositionRegistry> REGISTRIES = new IdentityHashMap<>();
+
+    private final Map<BlockEntityType<?>, TypeIndex> types = new IdentityHashMap<>();
+
+    /**
+     * Positions of one block entity type: chunk position (packed) -> block positions (packed).
+     */
+    public static class TypeIndex {
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> chunks = new Long2ObjectOpenHashMap<>();
+        private int size;
+
+        private void add(long pos) {
+            long chunk = ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+            if (chunks.computeIfAbsent(chunk, key -> new LongOpenHashSet()).add(pos)) {
+                size++;
+            }
+        }
+
+        private void remove(long pos) {
+            long chunk = ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+            LongOpenHashSet positions = chunks.get(chunk);
+            if (positions != null && positions.remove(pos)) {
+                size--;
+                if (positions.isEmpty()) {
+                    chunks.remove(chunk);
+                }
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getChunkCount() {
+            return chunks.size();
+        }
+
+        public void forEach(LongConsumer consumer) {
+            for (LongOpenHashSet positions : chunks.values()) {
+                LongIterator iterator = positions.iterator();
+                while (iterator.hasNext()) {
+                    consumer.accept(iterator.nextLong());
+                }
+            }
+        }
+
+        /**
+         * Visits every position within {@code radius} blocks (spherical) of the center.
+         * Looks up only the chunks the radius overlaps, or walks the index if that is smaller.
+         */
+        public void forEachWithin(BlockPos center, int radius, LongConsumer consumer) {
+            long radiusSq = (long) radius * radius;
+            LongConsumer filter = pos -> {
+                long dx = BlockPos.getX(pos) - center.getX();
+                long dy = BlockPos.getY(pos) - center.getY();
+                long dz = BlockPos.getZ(pos) - center.getZ();
+                if (dx * dx + dy * dy + dz * dz <= radiusSq) {
+                    consumer.accept(pos);
+                }
+            };
+
+            int minChunkX = (center.getX() - radius) >> 4;
+            int maxChunkX = (center.getX() + radius) >> 4;
+            int minChunkZ = (center.getZ() - radius) >> 4;
+            int maxChunkZ = (center.getZ() + radius) >> 4;
+            long area = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+            if (area > chunks.size()) {
+                for (Long2ObjectMap.Entry<LongOpenHashSet> entry : chunks.long2ObjectEntrySet()) {
+                    int chunkX = ChunkPos.getX(entry.getLongKey());
+                    int chunkZ = ChunkPos.getZ(entry.getLongKey());
+                    if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                        entry.getValue().forEach(filter);
+                    }
+                }
+                return;
+            }
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    LongOpenHashSet positions = chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+                    if (positions != null) {
+                        positions.forEach(filter);
+                    }
+                }
+            }
+        }
+    }
+
+    public static BlockEntityPositionRegistry get(LevelAccessor level) {
+        return REGISTRIES.computeIfAbsent(level, key -> new BlockEntityPositionRegistry());
+    }
+
+    public static void remove(LevelAccessor level) {
+        REGISTRIES.remove(level);
+    }
+
+    public static void onLoad(BlockEntity blockEntity) {
+        if (blockEntity.getLevel() != null && !blockEntity.getLevel().isClientSide()) {
+            get(blockEntity.getLevel()).types
+                    .computeIfAbsent(blockEntity.getType(), key -> new TypeIndex())
+                    .add(blockEntity.getBlockPos().asLong());
+        }
+    }
+
+    public static void onRemoved(BlockEntity blockEntity) {
+        if (blockEntity.getLevel() != null && !blockEntity.getLevel().isClientSide()) {
+            BlockEntityPositionRegistry registry = REGISTRIES.get(blockEntity.getLevel());
+            TypeIndex index = registry != null ? registry.types.get(blockEntity.getType()) : null;
+            if (index != null) {
+                index.remove(blockEntity.getBlockPos().asLong());
+            }
+        }
+    }
+
+    public TypeIndex getIndex(BlockEntityType<?> type) {
+        return types.computeIfAbsent(type, key -> new TypeIndex());
+    }
+
+    public Map<BlockEntityType<?>, TypeIndex> getIndexes() {
+        return types;
+    }
+}
@@ -0,0 +1,15 @@
+package art.boyko.fiatlux.registry;
+
+import art.boyko.fiatlux.FiatLux;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class PositionRegistryEvents {
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        BlockEntityPositionRegistry.remove(event.getLevel());
+    }
+}
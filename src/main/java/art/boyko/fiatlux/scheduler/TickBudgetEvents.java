@@ -0,0 +1,28 @@
+package art.boyko.fiatlux.scheduler;
+
+import art.boyko.fiatlux.FiatLux;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class TickBudgetEvents {
+
+    // Runs after all levels have ticked, so work submitted this tick is included
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        TickBudgetScheduler.runTick();
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        TickBudgetScheduler.clear(event.getLevel());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        TickBudgetScheduler.clear();
+    }
+}
@@ -0,0 +1,127 @@
+package art.boyko.fiatlux.scheduler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import art.boyko.fiatlux.Config;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.LevelAccessor;
+
+/**
+ * Runs deferrable mod-side work (sync sends, network solves) within a per-tick time budget.
+ * Work that doesn't fit stays queued in FIFO order, so every submitter is served in turn on later ticks.
+ * Submitting work that is already queued keeps the existing entry and its place in line.
+ * <p>
+ * Per-level jobs such as the energy network solve are keyed on one position, so while one is queued the level's
+ * later submissions are dropped rather than piling up: a deferred solve balances once when it runs, and the ticks
+ * it waited are not made up. To bound that, work that has waited {@link #MAX_DEFERRAL_TICKS} ticks runs even when
+ * the budget is spent.
+ */
+public class TickBudgetScheduler {
+    public enum WorkType {
+        SYNC,
+        NETWORK_SOLVE,
+        CONDUIT_TRANSFER,
+        CHARGING,
+        CHUNK_LOADING,
+        VACUUM
+    }
+
+    // Ticks queued work may wait before it runs regardless of the budget
+    public static final int MAX_DEFERRAL_TICKS = 10;
+
+    private record WorkKey(LevelAccessor level, long pos, WorkType type) {
+    }
+
+    private record Work(Runnable runnable, long submittedTick) {
+    }
+
+    private static final LinkedHashMap<WorkKey, Work> QUEUE = new LinkedHashMap<>();
+    private static long currentTick = 0;
+    // Entries at the head of the queue that were already counted as deferred on an earlier tick
+    private static int carriedOver = 0;
+
+    // Metrics
+    private static long executedTotal = 0;
+    private static long deferredTotal = 0;
+    private static int lastDeferred = 0;
+    private static long lastTickNanos = 0;
+
+    /**
+     * Queues work for the given owner position. Runs it immediately when budgeting is disabled.
+     */
+    public static void submit(LevelAccessor level, BlockPos pos, WorkType type, Runnable work) {
+        if (!Config.TICK_BUDGET_ENABLED.getAsBoolean()) {
+            work.run();
+            executedTotal++;
+            return;
+        }
+        QUEUE.putIfAbsent(new WorkKey(level, pos.asLong(), type), new Work(work, currentTick));
+    }
+
+    /**
+     * Runs queued work until the budget is spent. At least one item runs every tick so the queue always drains,
+     * and work that has waited {@link #MAX_DEFERRAL_TICKS} ticks runs regardless of the budget.
+     */
+    public static void runTick() {
+        long start = System.nanoTime();
+        long deadline = start + Config.TICK_BUDGET_NANOS.get();
+        int executed = 0;
+
+        while (!QUEUE.isEmpty()) {
+            // Take the head before running, since the work itself may submit more work
+            Iterator<Map.Entry<WorkKey, Work>> head = QUEUE.entrySet().iterator();
+            Work work = head.next().getValue();
+            // The queue is in submission order, so once the head is not overdue nothing behind it is either
+            if (executed > 0 && System.nanoTime() >= deadline && currentTick - work.submittedTick() < MAX_DEFERRAL_TICKS) {
+                break;
+            }
+            head.remove();
+            work.runnable().run();
+            executed++;
+        }
+
+        executedTotal += executed;
+        lastDeferred = QUEUE.size();
+        // Each entry counts once, on the tick it is first deferred; carried-over entries are the ones run first
+        carriedOver = Math.max(0, carriedOver - executed);
+        deferredTotal += Math.max(0, lastDeferred - carriedOver);
+        carriedOver = lastDeferred;
+        currentTick++;
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    public static void clear() {
+        QUEUE.clear();
+        carriedOver = 0;
+    }
+
+    public static void clear(LevelAccessor level) {
+        QUEUE.keySet().removeIf(key -> key.level() == level);
+        carriedOver = Math.min(carriedOver, QUEUE.size());
+    }
+
+    public static int getQueueDepth() {
+        return QUEUE.size();
+    }
+
+    public static long getExecutedTotal() {
+        return executedTotal;
+    }
+
+    /**
+     * Number of work items that did not fit in the budget of the tick they were submitted for.
+     */
+    public static long getDeferredTotal() {
+        return deferredTotal;
+    }
+
+    public static int getLastDeferred() {
+        return lastDeferred;
+    }
+
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+}
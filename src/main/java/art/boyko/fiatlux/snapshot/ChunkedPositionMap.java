@@ -0,0 +1,116 @@
+package art.boyko.fiatlux.snapshot;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable map from packed block position to value, split by chunk.
+ * <p>
+ * {@link #with} copies only the chunk table and the chunks that actually change, so consecutive versions share
+ * every untouched chunk. Instances are never modified after construction and can be read from any thread once
+ * safely published.
+ */
+public final class ChunkedPositionMap<V> {
+    private static final ChunkedPositionMap<?> EMPTY = new ChunkedPositionMap<>(new Long2ObjectOpenHashMap<>(), 0);
+
+    // Chunk position (packed) -> block position (packed) -> value; neither level is modified once built
+    private final Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<V>> chunks;
+    private final int size;
+
+    @FunctionalInterface
+    public interface PositionConsumer<V> {
+        void accept(long pos, V value);
+    }
+
+    private ChunkedPositionMap(Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<V>> chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> ChunkedPositionMap<V> empty() {
+        return (ChunkedPositionMap<V>) EMPTY;
+    }
+
+    public @Nullable V get(long pos) {
+        Long2ObjectOpenHashMap<V> chunk = chunks.get(chunkKey(pos));
+        return chunk == null ? null : chunk.get(pos);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    public void forEach(PositionConsumer<? super V> consumer) {
+        for (Long2ObjectOpenHashMap<V> chunk : chunks.values()) {
+            for (Long2ObjectMap.Entry<V> entry : chunk.long2ObjectEntrySet()) {
+                consumer.accept(entry.getLongKey(), entry.getValue());
+            }
+        }
+    }
+
+    public void forEachInChunk(ChunkPos chunkPos, PositionConsumer<? super V> consumer) {
+        Long2ObjectOpenHashMap<V> chunk = chunks.get(chunkPos.toLong());
+        if (chunk != null) {
+            for (Long2ObjectMap.Entry<V> entry : chunk.long2ObjectEntrySet()) {
+                consumer.accept(entry.getLongKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns a map with the given changes applied, sharing all unchanged chunks with this one.
+     * A null value removes the position.
+     */
+    public ChunkedPositionMap<V> with(Long2ObjectMap<V> changes) {
+        Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<V>> copiedChunks = new Long2ObjectOpenHashMap<>();
+        int newSize = size;
+        for (Long2ObjectMap.Entry<V> change : changes.long2ObjectEntrySet()) {
+            long pos = change.getLongKey();
+            long key = chunkKey(pos);
+            V value = change.getValue();
+            Long2ObjectOpenHashMap<V> chunk = copiedChunks.get(key);
+            if (chunk == null) {
+                Long2ObjectOpenHashMap<V> shared = chunks.get(key);
+                // Removing an absent position must not cost a chunk copy
+                if (value == null && (shared == null || !shared.containsKey(pos))) {
+                    continue;
+                }
+                chunk = shared == null ? new Long2ObjectOpenHashMap<>() : new Long2ObjectOpenHashMap<>(shared);
+                copiedChunks.put(key, chunk);
+            }
+            if (value == null) {
+                if (chunk.containsKey(pos)) {
+                    chunk.remove(pos);
+                    newSize--;
+                }
+            } else if (chunk.put(pos, value) == null) {
+                newSize++;
+            }
+        }
+        if (copiedChunks.isEmpty()) {
+            return this;
+        }
+
+        Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<V>> newChunks = new Long2ObjectOpenHashMap<>(chunks);
+        for (Long2ObjectMap.Entry<Long2ObjectOpenHashMap<V>> entry : copiedChunks.long2ObjectEntrySet()) {
+            if (entry.getValue().isEmpty()) {
+                newChunks.remove(entry.getLongKey());
+            } else {
+                newChunks.put(entry.getLongKey(), entry.getValue());
+            }
+        }
+        return new ChunkedPositionMap<>(newChunks, newSize);
+    }
+
+    private static long chunkKey(long pos) {
+        return ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+    }
+}
@@ -0,0 +1,118 @@
+package art.boyko.fiatlux.snapshot;
+
+import java.util.function.ObjLongConsumer;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+/**
+ * Immutable map from key to count, split into buckets by key hash.
+ * <p>
+ * Like {@link ChunkedPositionMap}, {@link #with} copies only the bucket table and the buckets that actually change,
+ * so consecutive versions of a storage's counts share every untouched bucket. Iteration order is unspecified.
+ * Instances are never modified after construction and can be read from any thread once safely published.
+ */
+public final class PersistentCounts<K> {
+    private static final int BUCKETS = 32;
+    private static final PersistentCounts<?> EMPTY = new PersistentCounts<>(newBuckets(), 0);
+
+    // Null for empty buckets; no bucket is modified once built
+    private final Object2LongOpenHashMap<K>[] buckets;
+    private final int size;
+
+    private PersistentCounts(Object2LongOpenHashMap<K>[] buckets, int size) {
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K> PersistentCounts<K> empty() {
+        return (PersistentCounts<K>) EMPTY;
+    }
+
+    public static <K> PersistentCounts<K> of(Object2LongMap<K> counts) {
+        return PersistentCounts.<K>empty().with(counts);
+    }
+
+    public long getLong(K key) {
+        Object2LongOpenHashMap<K> bucket = buckets[bucket(key)];
+        return bucket == null ? 0 : bucket.getLong(key);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(ObjLongConsumer<? super K> consumer) {
+        for (Object2LongOpenHashMap<K> bucket : buckets) {
+            if (bucket != null) {
+                for (Object2LongMap.Entry<K> entry : bucket.object2LongEntrySet()) {
+                    consumer.accept(entry.getKey(), entry.getLongValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns counts with the given ones set, sharing all unchanged buckets with these. A count of zero or less
+     * removes the key.
+     */
+    public PersistentCounts<K> with(Object2LongMap<K> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        Object2LongOpenHashMap<K>[] newBuckets = null;
+        boolean[] copied = new boolean[BUCKETS];
+        int newSize = size;
+        for (Object2LongMap.Entry<K> change : changes.object2LongEntrySet()) {
+            K key = change.getKey();
+            long count = change.getLongValue();
+            int index = bucket(key);
+            Object2LongOpenHashMap<K> bucket = newBuckets == null ? buckets[index] : newBuckets[index];
+            long before = bucket == null ? 0 : bucket.getLong(key);
+            if (before == Math.max(count, 0)) {
+                continue;
+            }
+            if (newBuckets == null) {
+                newBuckets = buckets.clone();
+            }
+            if (!copied[index]) {
+                bucket = bucket == null ? new Object2LongOpenHashMap<>() : new Object2LongOpenHashMap<>(bucket);
+                newBuckets[index] = bucket;
+                copied[index] = true;
+            }
+            if (count <= 0) {
+                bucket.removeLong(key);
+                newSize--;
+            } else {
+                bucket.put(key, count);
+                if (before == 0) {
+                    newSize++;
+                }
+            }
+        }
+        if (newBuckets == null) {
+            return this;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            if (newBuckets[i] != null && newBuckets[i].isEmpty()) {
+                newBuckets[i] = null;
+            }
+        }
+        return new PersistentCounts<>(newBuckets, newSize);
+    }
+
+    private static int bucket(Object key) {
+        return HashCommon.mix(key.hashCode()) & (BUCKETS - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Object2LongOpenHashMap<K>[] newBuckets() {
+        return (Object2LongOpenHashMap<K>[]) new Object2LongOpenHashMap[BUCKETS];
+    }
+}
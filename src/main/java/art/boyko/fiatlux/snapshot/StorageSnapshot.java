@@ -0,0 +1,59 @@
+package art.boyko.fiatlux.snapshot;
+
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import art.boyko.fiatlux.storage.ItemKey;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * Immutable view of the loaded storage blocks and energy cells of one level, as of the end of a server tick.
+ * Obtained from {@link StorageSnapshotPublisher#getSnapshot} and safe to read from any thread.
+ *
+ * @param version     increases by one with every published snapshot of the level
+ * @param gameTime    game time of the tick the snapshot was published in
+ * @param storages    storage blocks by packed position
+ * @param energyCells energy cells by packed position
+ */
+public record StorageSnapshot(ResourceKey<Level> dimension, long version, long gameTime,
+                              ChunkedPositionMap<ItemStorageView> storages,
+                              ChunkedPositionMap<EnergyCellView> energyCells) {
+
+    /**
+     * Contents of one storage block. The item keys are shared with the live storage and must not be modified.
+     *
+     * @param counts item counts, sharing unchanged buckets with the storage's previous views
+     */
+    public record ItemStorageView(long total, long capacity, PersistentCounts<ItemKey> counts) {
+    }
+
+    /**
+     * Charge of one energy cell.
+     *
+     * @param evaluatedAt game time the charge was read at
+     */
+    public record EnergyCellView(int stored, int capacity, long evaluatedAt) {
+
+        /**
+         * Charge at a later game time, including passive generation and decay since it was read.
+         */
+        public int storedAt(long gameTime) {
+            return gameTime <= evaluatedAt ? stored
+                    : EnergyStorageBlockEntity.getPassiveModel().evaluate(stored, evaluatedAt, gameTime);
+        }
+    }
+
+    public long getTotalItems() {
+        long[] total = new long[1];
+        storages.forEach((pos, view) -> total[0] += view.total());
+        return total[0];
+    }
+
+    /**
+     * Total charge of all cells at the snapshot's game time.
+     */
+    public long getTotalEnergy() {
+        long[] total = new long[1];
+        energyCells.forEach((pos, view) -> total[0] += view.storedAt(gameTime));
+        return total[0];
+    }
+}
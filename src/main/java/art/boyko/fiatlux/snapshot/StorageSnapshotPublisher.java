@@ -0,0 +1,140 @@
+package art.boyko.fiatlux.snapshot;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import art.boyko.fiatlux.custom.blockentity.EnergyStorageBlockEntity;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.storage.ItemKey;
+import art.boyko.fiatlux.storage.StorageInventory;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Publishes a {@link StorageSnapshot} of each server level at the end of every tick in which a storage block or
+ * energy cell changed.
+ * <p>
+ * Block entities report changes as they happen; publishing then re-reads only those and derives the new snapshot
+ * from the previous one, so unchanged blocks and chunks are shared rather than copied. Within a changed storage
+ * only the item types that changed are written, so its unchanged counts are shared too. Snapshots are handed to
+ * other threads through a concurrent map and are never modified afterwards, so readers see a consistent view
+ * without locking the server thread.
+ */
+public class StorageSnapshotPublisher {
+    private static final Map<LevelAccessor, StorageSnapshotPublisher> PUBLISHERS = new IdentityHashMap<>();
+    private static final Map<ResourceKey<Level>, StorageSnapshot> PUBLISHED = new ConcurrentHashMap<>();
+
+    // Positions changed since the last publish -> block entity to re-read, or null if it was removed
+    private final Long2ObjectOpenHashMap<BlockEntity> changed = new Long2ObjectOpenHashMap<>();
+    private @Nullable StorageSnapshot current;
+
+    public static StorageSnapshotPublisher get(LevelAccessor level) {
+        return PUBLISHERS.computeIfAbsent(level, key -> new StorageSnapshotPublisher());
+    }
+
+    public static void remove(Level level) {
+        PUBLISHERS.remove(level);
+        PUBLISHED.remove(level.dimension());
+    }
+
+    /**
+     * Latest snapshot of a level, or null if none was published yet. Safe to call from any thread.
+     */
+    public static @Nullable StorageSnapshot getSnapshot(ResourceKey<Level> dimension) {
+        return PUBLISHED.get(dimension);
+    }
+
+    /**
+     * Latest snapshots of all levels. Safe to call from any thread.
+     */
+    public static Collection<StorageSnapshot> getSnapshots() {
+        return Collections.unmodifiableCollection(PUBLISHED.values());
+    }
+
+    /**
+     * Called when a storage block or energy cell loads or its contents change.
+     */
+    public static void onChanged(BlockEntity blockEntity) {
+        Level level = blockEntity.getLevel();
+        if (level != null && !level.isClientSide()) {
+            get(level).changed.put(blockEntity.getBlockPos().asLong(), blockEntity);
+        }
+    }
+
+    /**
+     * Called when a storage block or energy cell is removed or its chunk unloads.
+     */
+    public static void onRemoved(BlockEntity blockEntity) {
+        Level level = blockEntity.getLevel();
+        if (level != null && !level.isClientSide()) {
+            StorageSnapshotPublisher publisher = get(level);
+            long pos = blockEntity.getBlockPos().asLong();
+            // A replacement may already have loaded at the same position
+            if (publisher.changed.get(pos) == blockEntity || !publisher.changed.containsKey(pos)) {
+                publisher.changed.put(pos, null);
+            }
+        }
+    }
+
+    public void publish(ServerLevel level) {
+        if (current != null && changed.isEmpty()) {
+            return;
+        }
+        long gameTime = level.getGameTime();
+        Long2ObjectOpenHashMap<StorageSnapshot.ItemStorageView> storageChanges = new Long2ObjectOpenHashMap<>();
+        Long2ObjectOpenHashMap<StorageSnapshot.EnergyCellView> cellChanges = new Long2ObjectOpenHashMap<>();
+        for (Long2ObjectMap.Entry<BlockEntity> entry : changed.long2ObjectEntrySet()) {
+            long pos = entry.getLongKey();
+            BlockEntity blockEntity = entry.getValue();
+            // Clearing both sides first also covers one kind of block replacing the other
+            storageChanges.put(pos, null);
+            cellChanges.put(pos, null);
+            if (blockEntity == null || blockEntity.isRemoved()) {
+                continue;
+            }
+            if (blockEntity instanceof SimpleStorageBlockEntity storage) {
+                storageChanges.put(pos, view(storage.getInventory(), current == null ? null : current.storages().get(pos)));
+            } else if (blockEntity instanceof EnergyStorageBlockEntity cell) {
+                cellChanges.put(pos, new StorageSnapshot.EnergyCellView(cell.getEnergyStored(), cell.getMaxEnergyStored(), gameTime));
+            }
+        }
+        changed.clear();
+
+        StorageSnapshot previous = current;
+        current = previous == null
+                ? new StorageSnapshot(level.dimension(), 0, gameTime,
+                        ChunkedPositionMap.<StorageSnapshot.ItemStorageView>empty().with(storageChanges),
+                        ChunkedPositionMap.<StorageSnapshot.EnergyCellView>empty().with(cellChanges))
+                : new StorageSnapshot(level.dimension(), previous.version() + 1, gameTime,
+                        previous.storages().with(storageChanges),
+                        previous.energyCells().with(cellChanges));
+        PUBLISHED.put(level.dimension(), current);
+    }
+
+    // Patches the storage's previous view with the types that changed since, so unchanged counts are shared
+    private static StorageSnapshot.ItemStorageView view(StorageInventory inventory, @Nullable StorageSnapshot.ItemStorageView previous) {
+        Set<ItemKey> changedKeys = inventory.takeChangedKeys();
+        PersistentCounts<ItemKey> counts;
+        if (previous == null || changedKeys == null) {
+            counts = PersistentCounts.of(inventory.getCounts());
+        } else {
+            Object2LongOpenHashMap<ItemKey> changes = new Object2LongOpenHashMap<>(changedKeys.size());
+            for (ItemKey key : changedKeys) {
+                changes.put(key, inventory.getCount(key));
+            }
+            counts = previous.counts().with(changes);
+        }
+        return new StorageSnapshot.ItemStorageView(inventory.getTotal(), inventory.getCapacity(), counts);
+    }
+}
@@ -0,0 +1,93 @@
+package art.boyko.fiatlux.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Server-wide record of the contents of storage blocks that are currently items.
+ * <p>
+ * Breaking a storage moves its contents here and puts only their id on the dropped item, so a storage with
+ * thousands of item types never travels to clients. Placing the item takes the contents back out. An id can be
+ * taken only once, so copies of a stack, e.g. from creative mode, never duplicate contents. Contents of items that
+ * are destroyed stay here, as there is no event for a stack ceasing to exist.
+ */
+public class DetachedStorageContents extends SavedData {
+    private static final String NAME = "fiatlux_storage_contents";
+
+    private final Map<UUID, StorageContents> contents = new HashMap<>();
+
+    // Kept with the overworld, since the item can move between dimensions
+    public static DetachedStorageContents get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(
+                new SavedData.Factory<>(DetachedStorageContents::new, DetachedStorageContents::load, null), NAME);
+    }
+
+    /**
+     * Stores the contents and returns the id to put on the item.
+     */
+    public UUID put(StorageContents storageContents) {
+        UUID id = UUID.randomUUID();
+        contents.put(id, storageContents);
+        setDirty();
+        return id;
+    }
+
+    /**
+     * Removes and returns the contents, or returns null if they were already taken.
+     */
+    public @Nullable StorageContents take(UUID id) {
+        StorageContents taken = contents.remove(id);
+        if (taken != null) {
+            setDirty();
+        }
+        return taken;
+    }
+
+    public int size() {
+        return contents.size();
+    }
+
+    private static DetachedStorageContents load(CompoundTag tag, HolderLookup.Provider registries) {
+        DetachedStorageContents detached = new DetachedStorageContents();
+        RegistryOps<Tag> ops = registries.createSerializationContext(NbtOps.INSTANCE);
+        ListTag list = tag.getList("Contents", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag entry = list.getCompound(i);
+            UUID id = entry.getUUID("Id");
+            StorageContents.CODEC.parse(ops, entry.get("Items"))
+                    .resultOrPartial(error -> FiatLux.LOGGER.warn("Dropping unreadable storage contents {}: {}", id, error))
+                    .ifPresent(parsed -> detached.contents.put(id, parsed));
+        }
+        return detached;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        RegistryOps<Tag> ops = registries.createSerializationContext(NbtOps.INSTANCE);
+        ListTag list = new ListTag();
+        for (Map.Entry<UUID, StorageContents> entry : contents.entrySet()) {
+            StorageContents.CODEC.encodeStart(ops, entry.getValue())
+                    .resultOrPartial(error -> FiatLux.LOGGER.warn("Could not save storage contents {}: {}", entry.getKey(), error))
+                    .ifPresent(items -> {
+                        CompoundTag contentsTag = new CompoundTag();
+                        contentsTag.putUUID("Id", entry.getKey());
+                        contentsTag.put("Items", items);
+                        list.add(contentsTag);
+                    });
+        }
+        tag.put("Contents", list);
+        return tag;
+    }
+}
@@ -0,0 +1,50 @@
+package art.boyko.fiatlux.storage;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Identifies one stored item type: the item plus its data components, ignoring count.
+ */
+public final class ItemKey {
+    private final ItemStack prototype;
+    private final int hash;
+
+    private ItemKey(ItemStack prototype) {
+        this.prototype = prototype;
+        this.hash = ItemStack.hashItemAndComponents(prototype);
+    }
+
+    public static ItemKey of(ItemStack stack) {
+        return new ItemKey(stack.copyWithCount(1));
+    }
+
+    public Item getItem() {
+        return prototype.getItem();
+    }
+
+    /**
+     * Returns the single-count stack this key was created from. Must not be modified.
+     */
+    public ItemStack getPrototype() {
+        return prototype;
+    }
+
+    public ItemStack toStack(int count) {
+        return prototype.copyWithCount(count);
+    }
+
+    public boolean matches(ItemStack stack) {
+        return ItemStack.isSameItemSameComponents(prototype, stack);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof ItemKey other && hash == other.hash && matches(other.prototype);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
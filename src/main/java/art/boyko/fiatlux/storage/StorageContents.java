@@ -0,0 +1,53 @@
+package art.boyko.fiatlux.storage;
+
+import java.util.List;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Contents of a storage block while it is an item, so breaking a full storage keeps what is in it. Held on the
+ * server by {@link DetachedStorageContents}; the item itself only carries a {@link StorageContentsRef}.
+ */
+public record StorageContents(List<Entry> entries) {
+    public static final StorageContents EMPTY = new StorageContents(List.of());
+
+    public record Entry(ItemStack stack, long count) {
+        public static final Codec<Entry> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                ItemStack.SINGLE_ITEM_CODEC.fieldOf("stack").forGetter(Entry::stack),
+                Codec.LONG.fieldOf("count").forGetter(Entry::count)
+        ).apply(instance, Entry::new));
+
+        // Keys compare by item and components, so entries do too
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || obj instanceof Entry other && count == other.count
+                    && ItemStack.isSameItemSameComponents(stack, other.stack);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * ItemStack.hashItemAndComponents(stack) + Long.hashCode(count);
+        }
+    }
+
+    public static final Codec<StorageContents> CODEC = Entry.CODEC.listOf()
+            .xmap(StorageContents::new, StorageContents::entries);
+
+    public StorageContents {
+        entries = List.copyOf(entries);
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.count();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package art.boyko.fiatlux.storage;
+
+import java.util.UUID;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+
+/**
+ * What a broken storage block's item carries: the id of its contents in {@link DetachedStorageContents} and a
+ * summary for tooltips. The contents themselves stay on the server, so the stack is small wherever it is synced.
+ */
+public record StorageContentsRef(UUID id, long total, int types) {
+    public static final Codec<StorageContentsRef> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            UUIDUtil.CODEC.fieldOf("id").forGetter(StorageContentsRef::id),
+            Codec.LONG.fieldOf("total").forGetter(StorageContentsRef::total),
+            Codec.INT.fieldOf("types").forGetter(StorageContentsRef::types)
+    ).apply(instance, StorageContentsRef::new));
+
+    public static final StreamCodec<ByteBuf, StorageContentsRef> STREAM_CODEC = StreamCodec.composite(
+            UUIDUtil.STREAM_CODEC, StorageContentsRef::id,
+            ByteBufCodecs.VAR_LONG, StorageContentsRef::total,
+            ByteBufCodecs.VAR_INT, StorageContentsRef::types,
+            StorageContentsRef::new);
+}
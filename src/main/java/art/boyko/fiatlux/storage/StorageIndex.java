@@ -0,0 +1,94 @@
+package art.boyko.fiatlux.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+
+/**
+ * Search index over the item types of one storage. Each type is split into lowercase tokens:
+ * the words of its name, {@code @namespace} and {@code #tag} ids. Queries match token prefixes.
+ * The index is updated incrementally when a type is added or removed.
+ */
+public class StorageIndex {
+    private final Map<ItemKey, String> names = new HashMap<>();
+    private final Map<ItemKey, List<String>> tokensByKey = new HashMap<>();
+    private final TreeMap<String, Set<ItemKey>> keysByToken = new TreeMap<>();
+
+    void add(ItemKey key) {
+        if (names.containsKey(key)) {
+            return;
+        }
+        String name = key.getPrototype().getHoverName().getString();
+        names.put(key, name.toLowerCase(Locale.ROOT));
+
+        List<String> tokens = new ArrayList<>();
+        for (String word : name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+        tokens.add("@" + BuiltInRegistries.ITEM.getKey(key.getItem()).getNamespace());
+        key.getPrototype().getTags().forEach(tag -> tokens.add("#" + tag.location()));
+
+        tokensByKey.put(key, tokens);
+        for (String token : tokens) {
+            keysByToken.computeIfAbsent(token, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    void remove(ItemKey key) {
+        names.remove(key);
+        List<String> tokens = tokensByKey.remove(key);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<ItemKey> keys = keysByToken.get(token);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByToken.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Returns the lowercase display name used for searching and sorting.
+     */
+    public String getName(ItemKey key) {
+        return names.getOrDefault(key, "");
+    }
+
+    /**
+     * Returns all indexed types matching every whitespace-separated term of the query.
+     */
+    public Collection<ItemKey> search(String query) {
+        String[] terms = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return names.keySet();
+        }
+
+        Set<ItemKey> result = null;
+        for (String term : terms) {
+            Set<ItemKey> matches = new HashSet<>();
+            for (Set<ItemKey> keys : keysByToken.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                matches.addAll(keys);
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+}
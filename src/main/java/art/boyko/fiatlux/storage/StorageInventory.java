@@ -0,0 +1,289 @@
+package art.boyko.fiatlux.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import art.boyko.fiatlux.FiatLux;
+import art.boyko.fiatlux.core.storage.CountStore;
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.Util;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Item counts of one storage, keyed by item type. The counting itself is done by the core {@link CountStore};
+ * this adds the conversion from and to item stacks, saving, and a search index built only once something asks for it.
+ * <p>
+ * When the level saves, large storages have their contents encoded to NBT in parallel on background threads first;
+ * the chunk save then takes the finished tag instead of encoding every item type on the server thread. The encoding
+ * is dropped once the contents change or the level's save is done, so it never outlives its use.
+ */
+public class StorageInventory {
+    // Item types encoded per background task
+    private static final int ENCODE_PART = 2048;
+
+    private final CountStore<ItemKey> store;
+    private @Nullable StorageIndex index;
+    // Contents encoded off-thread and the store version they were captured at; null once stale or saved
+    private volatile @Nullable Encoded encoded;
+    // Types whose count changed since the last takeChangedKeys; null means all of them, until first taken
+    private @Nullable ObjectOpenHashSet<ItemKey> changedKeys;
+
+    private record Encoded(int version, ListTag items) {
+    }
+
+    public StorageInventory(long capacity) {
+        this.store = new CountStore<>(capacity);
+        this.store.setListener(new CountStore.TypeListener<>() {
+            @Override
+            public void onTypeAdded(ItemKey key) {
+                if (index != null) {
+                    index.add(key);
+                }
+            }
+
+            @Override
+            public void onTypeRemoved(ItemKey key) {
+                if (index != null) {
+                    index.remove(key);
+                }
+            }
+        });
+    }
+
+    public long getTotal() {
+        return store.getTotal();
+    }
+
+    public long getCapacity() {
+        return store.getCapacity();
+    }
+
+    public int getTypeCount() {
+        return store.getTypeCount();
+    }
+
+    public long getCount(ItemKey key) {
+        return store.getCount(key);
+    }
+
+    public int getVersion() {
+        return store.getVersion();
+    }
+
+    public int getTypesVersion() {
+        return store.getTypesVersion();
+    }
+
+    public Object2LongMap<ItemKey> getCounts() {
+        return store.getCounts();
+    }
+
+    /**
+     * Returns the search index, building it on first use.
+     */
+    public StorageIndex getIndex() {
+        if (index == null) {
+            index = new StorageIndex();
+            for (ItemKey key : store.getCounts().keySet()) {
+                index.add(key);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Inserts as much of the stack as fits. The stack itself is not modified.
+     *
+     * @return the number of items accepted
+     */
+    public int insert(ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) {
+            return 0;
+        }
+        if (simulate) {
+            // Acceptance only depends on free space, so no key is needed
+            return (int) Math.min(stack.getCount(), store.getFree());
+        }
+        ItemKey key = ItemKey.of(stack);
+        int accepted = (int) store.insert(key, stack.getCount(), false);
+        if (accepted > 0) {
+            markChanged(key);
+        }
+        return accepted;
+    }
+
+    /**
+     * Inserts up to {@code amount} items of one type at once.
+     *
+     * @return the number of items accepted
+     */
+    public long insert(ItemKey key, long amount, boolean simulate) {
+        long accepted = amount <= 0 ? 0 : store.insert(key, amount, simulate);
+        if (accepted > 0 && !simulate) {
+            markChanged(key);
+        }
+        return accepted;
+    }
+
+    /**
+     * Extracts up to {@code amount} items of the given type.
+     *
+     * @return the extracted stack, or {@link ItemStack#EMPTY} if none were available
+     */
+    public ItemStack extract(ItemKey key, int amount, boolean simulate) {
+        int extracted = (int) store.extract(key, amount, simulate);
+        if (extracted > 0 && !simulate) {
+            markChanged(key);
+        }
+        return extracted > 0 ? key.toStack(extracted) : ItemStack.EMPTY;
+    }
+
+    /**
+     * Returns the types whose count changed since the previous call, so a copy of the counts can be patched instead
+     * of rebuilt. Returns null on the first call and after the contents were replaced, meaning every type.
+     */
+    public @Nullable Set<ItemKey> takeChangedKeys() {
+        Set<ItemKey> taken = changedKeys;
+        changedKeys = new ObjectOpenHashSet<>();
+        return taken;
+    }
+
+    private void markChanged(ItemKey key) {
+        if (changedKeys != null) {
+            changedKeys.add(key);
+        }
+        encoded = null;
+    }
+
+    /**
+     * Whether the last background encoding still matches the contents, so {@link #save} only has to take it.
+     */
+    public boolean isEncoded() {
+        Encoded current = encoded;
+        return current != null && current.version() == store.getVersion();
+    }
+
+    /**
+     * Captures the current counts and encodes them to NBT on background threads, split into parts of
+     * {@link #ENCODE_PART} types that are encoded in parallel. Server thread only.
+     *
+     * @return the encoding, completed once the result is available to {@link #save}, or null if the last encoding
+     * is still current
+     */
+    public @Nullable CompletableFuture<Void> encodeAsync(HolderLookup.Provider registries) {
+        if (isEncoded()) {
+            return null;
+        }
+        int version = store.getVersion();
+        // Keys are immutable, so copying the references and counts is the whole snapshot
+        ItemKey[] keys = new ItemKey[store.getTypeCount()];
+        long[] counts = new long[keys.length];
+        int i = 0;
+        for (Object2LongMap.Entry<ItemKey> entry : store.getCounts().object2LongEntrySet()) {
+            keys[i] = entry.getKey();
+            counts[i++] = entry.getLongValue();
+        }
+        List<CompletableFuture<ListTag>> parts = new ArrayList<>();
+        for (int from = 0; from < keys.length; from += ENCODE_PART) {
+            int start = from;
+            int end = Math.min(keys.length, from + ENCODE_PART);
+            parts.add(CompletableFuture.supplyAsync(() -> encode(keys, counts, start, end, registries), Util.backgroundExecutor()));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).handle((ignored, error) -> {
+            if (error != null) {
+                FiatLux.LOGGER.warn("Failed to encode storage contents in the background", error);
+                return null;
+            }
+            ListTag items = new ListTag();
+            for (CompletableFuture<ListTag> part : parts) {
+                items.addAll(part.join());
+            }
+            encoded = new Encoded(version, items);
+            return null;
+        });
+    }
+
+    /**
+     * Drops the background encoding once the save it was made for is done.
+     */
+    public void dropEncoding() {
+        encoded = null;
+    }
+
+    public void save(CompoundTag tag, HolderLookup.Provider registries) {
+        Encoded current = encoded;
+        if (current != null && current.version() == store.getVersion()) {
+            // Shared with other saves until the encoding is dropped; saved tags are never modified
+            tag.put("Items", current.items());
+            return;
+        }
+        ItemKey[] keys = store.getCounts().keySet().toArray(new ItemKey[0]);
+        long[] counts = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            counts[i] = store.getCount(keys[i]);
+        }
+        tag.put("Items", encode(keys, counts, 0, keys.length, registries));
+    }
+
+    private static ListTag encode(ItemKey[] keys, long[] counts, int start, int end, HolderLookup.Provider registries) {
+        ListTag items = new ListTag();
+        for (int i = start; i < end; i++) {
+            CompoundTag itemTag = new CompoundTag();
+            itemTag.put("Stack", keys[i].getPrototype().save(registries));
+            itemTag.putLong("Count", counts[i]);
+            items.add(itemTag);
+        }
+        return items;
+    }
+
+    public void load(CompoundTag tag, HolderLookup.Provider registries) {
+        Object2LongLinkedOpenHashMap<ItemKey> loaded = new Object2LongLinkedOpenHashMap<>();
+        ListTag items = tag.getList("Items", Tag.TAG_COMPOUND);
+        for (int i = 0; i < items.size(); i++) {
+            CompoundTag itemTag = items.getCompound(i);
+            ItemStack stack = ItemStack.parseOptional(registries, itemTag.getCompound("Stack"));
+            long count = itemTag.getLong("Count");
+            if (!stack.isEmpty() && count > 0) {
+                loaded.addTo(ItemKey.of(stack), count);
+            }
+        }
+        replaceAll(loaded);
+    }
+
+    /**
+     * Returns the contents for carrying them on the storage block's item.
+     */
+    public StorageContents toContents() {
+        List<StorageContents.Entry> entries = new ArrayList<>(store.getTypeCount());
+        for (Object2LongMap.Entry<ItemKey> entry : store.getCounts().object2LongEntrySet()) {
+            entries.add(new StorageContents.Entry(entry.getKey().getPrototype().copy(), entry.getLongValue()));
+        }
+        return new StorageContents(entries);
+    }
+
+    public void load(StorageContents contents) {
+        Object2LongLinkedOpenHashMap<ItemKey> loaded = new Object2LongLinkedOpenHashMap<>();
+        for (StorageContents.Entry entry : contents.entries()) {
+            if (!entry.stack().isEmpty() && entry.count() > 0) {
+                loaded.addTo(ItemKey.of(entry.stack()), entry.count());
+            }
+        }
+        replaceAll(loaded);
+    }
+
+    private void replaceAll(Object2LongLinkedOpenHashMap<ItemKey> contents) {
+        store.replaceAll(contents);
+        index = null;
+        changedKeys = null;
+        encoded = null;
+    }
+}
@@ -0,0 +1,81 @@
+package art.boyko.fiatlux.storage;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.LevelAccessor;
+
+/**
+ * Encodes the contents of large storages for a level save.
+ * <p>
+ * Storages with at least {@code storageAsyncSaveThreshold} item types report changes here. Right before the level
+ * saves its chunks, every storage changed since the last save encodes its contents on background threads, all of
+ * them in parallel, and the save waits for them; {@code saveAdditional} then only takes the finished tags. Storages
+ * that did not change are not in a dirty chunk and are not saved, so nothing is encoded between saves. Once the save
+ * is done the encodings are dropped again.
+ */
+public class StorageSaveEncoder {
+    private static final Map<LevelAccessor, StorageSaveEncoder> ENCODERS = new IdentityHashMap<>();
+
+    private final LongOpenHashSet changed = new LongOpenHashSet();
+    // Encoded for the save in progress, dropped once it is done
+    private final List<StorageInventory> encodedForSave = new ArrayList<>();
+
+    public static StorageSaveEncoder get(LevelAccessor level) {
+        return ENCODERS.computeIfAbsent(level, key -> new StorageSaveEncoder());
+    }
+
+    public static void remove(LevelAccessor level) {
+        ENCODERS.remove(level);
+    }
+
+    public void onChanged(BlockPos pos) {
+        changed.add(pos.asLong());
+    }
+
+    public void onRemoved(BlockPos pos) {
+        changed.remove(pos.asLong());
+    }
+
+    /**
+     * Encodes every changed large storage and waits until all of them are done. Called right before the level
+     * saves its chunks.
+     */
+    public void encodeForSave(ServerLevel level) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> encodings = new ArrayList<>();
+        for (long pos : changed) {
+            BlockPos blockPos = BlockPos.of(pos);
+            if (level.isLoaded(blockPos) && level.getBlockEntity(blockPos) instanceof SimpleStorageBlockEntity storage) {
+                StorageInventory inventory = storage.getInventory();
+                CompletableFuture<Void> encoding = inventory.encodeAsync(level.registryAccess());
+                if (encoding != null) {
+                    encodings.add(encoding);
+                }
+                encodedForSave.add(inventory);
+            }
+        }
+        changed.clear();
+        // Failures are logged by the encoding itself; those storages are encoded inline by the save
+        CompletableFuture.allOf(encodings.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Drops the encodings made for the last save, so no storage keeps a copy of its contents after it.
+     */
+    public void afterSave() {
+        for (StorageInventory inventory : encodedForSave) {
+            inventory.dropEncoding();
+        }
+        encodedForSave.clear();
+    }
+}
@@ -0,0 +1,34 @@
+package art.boyko.fiatlux.storage;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.FiatLux;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+@EventBusSubscriber(modid = FiatLux.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class StorageSaveEvents {
+
+    // Posted by the level right before it saves its chunks
+    @SubscribeEvent
+    public static void onLevelSave(LevelEvent.Save event) {
+        if (event.getLevel() instanceof ServerLevel level && Config.STORAGE_ASYNC_SAVE.getAsBoolean()) {
+            StorageSaveEncoder.get(level).encodeForSave(level);
+        }
+    }
+
+    // Saves run between ticks, so the first tick after one sees it finished
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Pre event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            StorageSaveEncoder.get(level).afterSave();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        StorageSaveEncoder.remove(event.getLevel());
+    }
+}
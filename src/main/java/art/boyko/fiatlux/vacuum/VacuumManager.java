@@ -0,0 +1,107 @@
+package art.boyko.fiatlux.vacuum;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import art.boyko.fiatlux.Config;
+import art.boyko.fiatlux.custom.blockentity.SimpleStorageBlockEntity;
+import art.boyko.fiatlux.metrics.FiatLuxMetrics;
+import art.boyko.fiatlux.storage.ItemKey;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Sweeps item entities around storages with a vacuum upgrade into the storage.
+ * <p>
+ * Each storage makes one entity query per sweep. Matching stacks are grouped by item type and every type is
+ * inserted with a single call; what does not fit is collapsed into as few entities as the stack size allows,
+ * so a full storage still cuts the number of ticking item entities.
+ */
+public class VacuumManager {
+    private static final Map<LevelAccessor, VacuumManager> MANAGERS = new IdentityHashMap<>();
+
+    private final LongOpenHashSet storages = new LongOpenHashSet();
+
+    public static VacuumManager get(LevelAccessor level) {
+        return MANAGERS.computeIfAbsent(level, key -> new VacuumManager());
+    }
+
+    public static void remove(LevelAccessor level) {
+        MANAGERS.remove(level);
+    }
+
+    public void add(BlockPos pos) {
+        storages.add(pos.asLong());
+    }
+
+    public void remove(BlockPos pos) {
+        storages.remove(pos.asLong());
+    }
+
+    public int getVacuumCount() {
+        return storages.size();
+    }
+
+    public void tick(ServerLevel level) {
+        if (storages.isEmpty()) {
+            return;
+        }
+        int radius = Config.VACUUM_RADIUS.getAsInt();
+        for (long pos : storages.toLongArray()) {
+            BlockPos blockPos = BlockPos.of(pos);
+            if (level.getBlockEntity(blockPos) instanceof SimpleStorageBlockEntity storage) {
+                sweep(level, storage, new AABB(blockPos).inflate(radius));
+            }
+        }
+    }
+
+    private static void sweep(ServerLevel level, SimpleStorageBlockEntity storage, AABB area) {
+        // Entities still on pickup delay (fresh drops, display items) are left for a later sweep
+        List<ItemEntity> entities = level.getEntitiesOfClass(ItemEntity.class, area,
+                entity -> entity.isAlive() && !entity.hasPickUpDelay());
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        Map<ItemKey, List<ItemEntity>> groups = new LinkedHashMap<>();
+        for (ItemEntity entity : entities) {
+            groups.computeIfAbsent(ItemKey.of(entity.getItem()), key -> new ArrayList<>(1)).add(entity);
+        }
+
+        long collected = 0;
+        long removed = 0;
+        for (Map.Entry<ItemKey, List<ItemEntity>> group : groups.entrySet()) {
+            ItemKey key = group.getKey();
+            long total = 0;
+            for (ItemEntity entity : group.getValue()) {
+                total += entity.getItem().getCount();
+            }
+            long accepted = storage.addItems(key, total);
+            collected += accepted;
+
+            long left = total - accepted;
+            int maxStackSize = key.getPrototype().getMaxStackSize();
+            for (ItemEntity entity : group.getValue()) {
+                int keep = (int) Math.min(left, maxStackSize);
+                if (keep <= 0) {
+                    entity.discard();
+                    removed++;
+                } else {
+                    if (keep != entity.getItem().getCount()) {
+                        entity.setItem(key.toStack(keep));
+                    }
+                    left -= keep;
+                }
+            }
+        }
+        FiatLuxMetrics.VACUUM_ITEMS_COLLECTED.add(collected);
+        FiatLuxMetrics.VACUUM_ENTITIES_REMOVED.add(removed);
+    }
+}